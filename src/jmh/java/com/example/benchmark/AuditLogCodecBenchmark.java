@@ -0,0 +1,115 @@
+package com.example.benchmark;
+
+import com.example.config.MongoConfig;
+import com.example.model.entity.ApiAuditLog;
+import com.example.repository.nosql.ApiAuditLogCodec;
+import com.mongodb.MongoClientSettings;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.Document;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.convert.DefaultMongoTypeMapper;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares encoding an audit log to BSON bytes, and decoding it back, through the mapping converter
+ * configured in {@link MongoConfig} (entity to {@link Document}, then the driver's document codec)
+ * against {@link ApiAuditLogCodec}.
+ * <p>
+ * Run with allocation profiling: {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="AuditLogCodec -prof gc"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuditLogCodecBenchmark {
+
+    private final Codec<Document> documentCodec = MongoClientSettings.getDefaultCodecRegistry().get(Document.class);
+    private final ApiAuditLogCodec auditLogCodec = new ApiAuditLogCodec();
+
+    private MappingMongoConverter converter;
+    private ApiAuditLog auditLog;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        MongoCustomConversions conversions = new MongoConfig().mongoCustomConversions();
+        MongoMappingContext context = new MongoMappingContext();
+        context.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        context.afterPropertiesSet();
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, context);
+        converter.setTypeMapper(new DefaultMongoTypeMapper(null));
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+
+        auditLog = ApiAuditLog.builder()
+                .id(new ObjectId().toHexString())
+                .action("get_user_by_id")
+                .requestPayload("[1]")
+                .responsePayload("{\"id\":1,\"firstName\":\"John\",\"lastName\":\"Doe\",\"email\":\"john.doe@example.com\"}")
+                .httpMethod("GET")
+                .endpoint("/api/v1/users/1")
+                .clientIp("127.0.0.1")
+                .status("SUCCESS")
+                .durationMicros(1250L)
+                .responseSize(78L)
+                .dbStatements(1)
+                .timings(Map.of("db", 0.8, "mapping", 0.05, "serialization", 0.1))
+                .createdBy("SYSTEM")
+                .createdAt(LocalDateTime.now())
+                .build();
+        encoded = codecEncode();
+    }
+
+    @Benchmark
+    public byte[] converterEncode() {
+        Document document = new Document();
+        converter.write(auditLog, document);
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        documentCodec.encode(new BsonBinaryWriter(buffer), document, EncoderContext.builder().build());
+        return buffer.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] codecEncode() {
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        auditLogCodec.encode(new BsonBinaryWriter(buffer), auditLog, EncoderContext.builder().build());
+        return buffer.toByteArray();
+    }
+
+    @Benchmark
+    public ApiAuditLog converterDecode() {
+        Document document = documentCodec.decode(new BsonBinaryReader(ByteBuffer.wrap(encoded)),
+                DecoderContext.builder().build());
+        return converter.read(ApiAuditLog.class, document);
+    }
+
+    @Benchmark
+    public ApiAuditLog codecDecode() {
+        return auditLogCodec.decode(new BsonBinaryReader(ByteBuffer.wrap(encoded)), DecoderContext.builder().build());
+    }
+}
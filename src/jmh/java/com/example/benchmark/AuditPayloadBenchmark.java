@@ -0,0 +1,70 @@
+package com.example.benchmark;
+
+import com.example.model.dto.UserDto;
+import com.example.utilities.AuditPayloadEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares audit serialization of a {@code get_all_users} response: the previous implementation
+ * (full byte array, then a String copy) against {@link AuditPayloadEncoder} with redaction and the default cap.
+ * <p>
+ * Run with allocation profiling: {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="AuditPayload -prof gc"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuditPayloadBenchmark {
+
+    @Param({"1000"})
+    private int users;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private AuditPayloadEncoder encoder;
+    private List<UserDto> response;
+
+    @Setup
+    public void setUp() {
+        encoder = new AuditPayloadEncoder(objectMapper, List.of("password", "secret", "token"), 16384);
+        response = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            response.add(UserDto.builder()
+                    .id((long) i)
+                    .firstName("First" + i)
+                    .lastName("Last" + i)
+                    .email("user" + i + "@example.com")
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public String fullSerialization() throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(response);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public AuditPayloadEncoder.Payload cappedEncoder() throws IOException {
+        return encoder.encode(response);
+    }
+}
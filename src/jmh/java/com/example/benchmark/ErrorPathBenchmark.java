@@ -0,0 +1,124 @@
+package com.example.benchmark;
+
+import com.example.exception.ErrorResponse;
+import com.example.exception.GlobalExceptionHandler;
+import com.example.exception.ResourceNotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Compares the 404 and 400 error paths of {@link GlobalExceptionHandler} against the previous
+ * implementation (stack-capturing exception, {@link ErrorResponse} or HashMaps serialized by the ObjectMapper).
+ * Exceptions are created {@code stackDepth} frames deep to approximate a Spring MVC call stack.
+ * <p>
+ * Run with allocation profiling: {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="ErrorPath -prof gc"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ErrorPathBenchmark {
+
+    @Param({"100"})
+    private int stackDepth;
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private MockHttpServletRequest request;
+    private ServletWebRequest webRequest;
+    private MethodArgumentNotValidException validationException;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        request = new MockHttpServletRequest("GET", "/api/v1/users/99");
+        webRequest = new ServletWebRequest(request);
+
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(new Object(), "userDto");
+        bindingResult.addError(new FieldError("userDto", "firstName", "First name is required"));
+        bindingResult.addError(new FieldError("userDto", "email", "Email should be valid"));
+        bindingResult.addError(new FieldError("userDto", "password", "Password must be at least 8 characters long"));
+        validationException = new MethodArgumentNotValidException(
+                new MethodParameter(ErrorPathBenchmark.class.getDeclaredMethod("setUp"), -1), bindingResult);
+    }
+
+    @Benchmark
+    public byte[] notFoundBaseline() throws Exception {
+        RuntimeException ex = atDepth(stackDepth, () -> new LegacyNotFoundException("User not found with id: 99"));
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.NOT_FOUND.value())
+                .error(HttpStatus.NOT_FOUND.getReasonPhrase())
+                .message(ex.getMessage())
+                .path(webRequest.getDescription(false).replace("uri=", ""))
+                .build();
+        ResponseEntity<ErrorResponse> response = new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+        return objectMapper.writeValueAsBytes(response.getBody());
+    }
+
+    @Benchmark
+    public byte[] notFound() {
+        ResourceNotFoundException ex = atDepth(stackDepth, () -> new ResourceNotFoundException("User not found with id: 99"));
+        return handler.handleResourceNotFoundException(ex, request).getBody();
+    }
+
+    @Benchmark
+    public byte[] validationBaseline() throws Exception {
+        Map<String, String> errors = new HashMap<>();
+        validationException.getBindingResult().getAllErrors().forEach(error ->
+                errors.put(((FieldError) error).getField(), error.getDefaultMessage()));
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", HttpStatus.BAD_REQUEST.value());
+        response.put("error", HttpStatus.BAD_REQUEST.getReasonPhrase());
+        response.put("message", "Validation failed");
+        response.put("errors", errors);
+        ResponseEntity<Map<String, Object>> entity = new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+        return objectMapper.writeValueAsBytes(entity.getBody());
+    }
+
+    @Benchmark
+    public byte[] validation() {
+        return handler.handleValidationExceptions(validationException).getBody();
+    }
+
+    private static <T> T atDepth(int depth, Supplier<T> supplier) {
+        return depth == 0 ? supplier.get() : atDepth(depth - 1, supplier);
+    }
+
+    /**
+     * The previous ResourceNotFoundException, which captured a full stack trace.
+     */
+    private static class LegacyNotFoundException extends RuntimeException {
+        LegacyNotFoundException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.benchmark;
+
+import com.example.Application;
+import com.example.mapper.UserMapper;
+import com.example.model.dto.UserDto;
+import com.example.model.entity.User;
+import com.example.repository.UserRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the user read paths: managed {@link User} entities mapped to DTOs (the previous
+ * implementation) against constructor-expression projections of the exposed columns.
+ * Boots the application against the H2 test profile with {@code users} rows.
+ * <p>
+ * Run with allocation profiling: {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="UserRead -prof gc"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserReadBenchmark {
+
+    @Param({"1000"})
+    private int users;
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private UserMapper userMapper;
+    private Long userId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--logging.level.root=WARN",
+                        // The statement counter of the test profile would dominate the measurement
+                        "--spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                                + NoopStatementInspector.class.getName());
+        userRepository = context.getBean(UserRepository.class);
+        userMapper = context.getBean(UserMapper.class);
+        List<User> batch = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            batch.add(User.builder()
+                    .firstName("First" + i)
+                    .lastName("Last" + i)
+                    .email("user" + i + "@example.com")
+                    .password("password" + i)
+                    .build());
+        }
+        userId = userRepository.saveAll(batch).get(users / 2).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<UserDto> findAllEntities() {
+        return userRepository.findAll().stream().map(userMapper::toDto).toList();
+    }
+
+    @Benchmark
+    public List<UserDto> findAllProjections() {
+        return userRepository.findAllSummaries().stream().map(userMapper::toDto).toList();
+    }
+
+    @Benchmark
+    public UserDto findByIdEntity() {
+        return userMapper.toDto(userRepository.findById(userId).orElseThrow());
+    }
+
+    @Benchmark
+    public UserDto findByIdProjection() {
+        return userMapper.toDto(userRepository.findSummaryById(userId).orElseThrow());
+    }
+
+    /**
+     * Replaces the recording statement inspector of the test profile.
+     */
+    public static class NoopStatementInspector implements StatementInspector {
+
+        @Override
+        public String inspect(String sql) {
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.benchmark;
+
+import com.example.Application;
+import com.example.exception.ConflictingUpdateException;
+import com.example.mapper.UserMapper;
+import com.example.model.dto.UserDto;
+import com.example.repository.UserRepository;
+import com.example.service.UserService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Four writers updating different fields of the same user through {@link UserService#update},
+ * with and without server-side optimistic locking retries. Boots the application against the
+ * H2 test profile; every writer reads the user, changes its own field and sends the full DTO back.
+ * The {@code succeeded} counter shows how many updates reached the database; {@code versionConflicts}
+ * (retries disabled or exhausted) and {@code overlapping} (a concurrent write changed a field the request
+ * also changes, typically because the writer read a stale user) would have been returned to the client as 409.
+ * <p>
+ * Run with: {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="UserUpdateContention"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class UserUpdateContentionBenchmark {
+
+    @Param({"false", "true"})
+    private boolean retry;
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private UserRepository userRepository;
+    private UserMapper userMapper;
+    private Long userId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--app.optimistic-retry.enabled=" + retry, "--logging.level.root=WARN");
+        userService = context.getBean(UserService.class);
+        userRepository = context.getBean(UserRepository.class);
+        userMapper = context.getBean(UserMapper.class);
+        userId = userService.save(UserDto.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("john.doe@example.com")
+                .password("password123")
+                .build()).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Writer {
+
+        public long succeeded;
+        public long versionConflicts;
+        public long overlapping;
+
+        private int field;
+        private long sequence;
+
+        @Setup(Level.Trial)
+        public void setUp(ThreadParams threadParams) {
+            field = threadParams.getThreadIndex() % 4;
+        }
+
+        UserDto change(UserDto current) {
+            String value = Long.toString(++sequence);
+            UserDto dto = UserDto.builder()
+                    .firstName(current.getFirstName())
+                    .lastName(current.getLastName())
+                    .email(current.getEmail())
+                    .password(current.getPassword())
+                    .build();
+            switch (field) {
+                case 0 -> dto.setFirstName("John" + value);
+                case 1 -> dto.setLastName("Doe" + value);
+                case 2 -> dto.setEmail("john" + value + "@example.com");
+                default -> dto.setPassword("password" + value);
+            }
+            return dto;
+        }
+    }
+
+    @Benchmark
+    public UserDto update(Writer writer) {
+        try {
+            // Read through the entity, as user reads no longer return the password
+            UserDto current = userMapper.toDto(userRepository.findById(userId).orElseThrow());
+            UserDto updated = userService.update(userId, writer.change(current));
+            writer.succeeded++;
+            return updated;
+        } catch (OptimisticLockingFailureException ex) {
+            writer.versionConflicts++;
+        } catch (ConflictingUpdateException ex) {
+            writer.overlapping++;
+        }
+        return null;
+    }
+}
@@ -3,12 +3,14 @@ package com.example;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main Spring Boot application entry point.
  */
 @SpringBootApplication
 @EnableJpaAuditing(auditorAwareRef = "currentAuditorProvider")
+@EnableScheduling
 public class Application {
 
     public static void main(String[] args) {
@@ -0,0 +1,41 @@
+package com.example.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation to run API methods, or all API methods of a controller, inside a named bulkhead.
+ * Each bulkhead has its own concurrency limit, queue and queue timeout, configured under
+ * {@code app.bulkhead.<name>}; a method annotation takes precedence over the controller's.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Bulkhead {
+
+    /**
+     * User CRUD: short, latency-sensitive requests.
+     */
+    String CRUD = "crud";
+
+    /**
+     * Audit log queries and analytics.
+     */
+    String AUDIT = "audit";
+
+    /**
+     * Health checks.
+     */
+    String HEALTH = "health";
+
+    /**
+     * Bulk exports and import uploads: few, long-running requests.
+     */
+    String BULK = "bulk";
+
+    /**
+     * The name of the bulkhead.
+     */
+    String value();
+}
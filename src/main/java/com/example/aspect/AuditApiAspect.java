@@ -1,30 +1,66 @@
 package com.example.aspect;
 
 import com.example.annotation.AuditableApi;
+import com.example.model.entity.ApiAuditLog;
 import com.example.service.AuditService;
+import com.example.service.LatencyAnalyticsService;
+import com.example.utilities.AuditPayloadEncoder;
+import com.example.utilities.RequestTimings;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletRequest;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.io.InputStream;
+import java.io.Reader;
 import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
+/**
+ * Records an audit log for every {@link AuditableApi} handler.
+ * Payloads are written by an {@link AuditPayloadEncoder}: configured sensitive properties are dropped
+ * and each payload is capped at {@code app.audit.max-payload-bytes}, without building the full JSON first.
+ * With {@code app.audit.payload-format=document} payloads are stored as embedded documents rather than
+ * JSON strings, so their fields can be indexed and queried.
+ * The audit log is saved before the handler returns, whether or not request timing is enabled, so a
+ * failed audit write fails the request either way.
+ */
 @Aspect
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class AuditApiAspect {
 
-    private final ObjectMapper objectMapper;
     private final AuditService auditService;
+    private final LatencyAnalyticsService latencyAnalyticsService;
+    private final AuditPayloadEncoder payloadEncoder;
+    private final boolean documentFormat;
+
+    public AuditApiAspect(ObjectMapper objectMapper,
+                          AuditService auditService,
+                          LatencyAnalyticsService latencyAnalyticsService,
+                          @Value("${app.audit.redacted-fields:password}") List<String> redactedFields,
+                          @Value("${app.audit.max-payload-bytes:16384}") int maxPayloadBytes,
+                          @Value("${app.audit.payload-format:string}") String payloadFormat) {
+        this.auditService = auditService;
+        this.latencyAnalyticsService = latencyAnalyticsService;
+        this.payloadEncoder = new AuditPayloadEncoder(objectMapper, redactedFields, maxPayloadBytes);
+        this.documentFormat = "document".equalsIgnoreCase(payloadFormat);
+    }
 
     @Around("@annotation(com.example.annotation.AuditableApi)")
     public Object logRequestAndResponse(ProceedingJoinPoint joinPoint) throws Throwable {
@@ -42,74 +78,185 @@ public class AuditApiAspect {
         String endpoint = request.getRequestURI();
         String clientIp = request.getRemoteAddr();
         
+        ApiAuditLog.ApiAuditLogBuilder auditLog = ApiAuditLog.builder()
+                .action(action)
+                .clientIp(clientIp)
+                .httpMethod(httpMethod)
+                .endpoint(endpoint);
+
+        // Phase timings, only collected when request timing is enabled
+        RequestTimings timings = RequestTimings.current();
+
         // Get request payload
-        Object[] args = joinPoint.getArgs();
-        String requestPayload = serializeRequestPayload(args);
+        boolean requestTruncated = timed(timings, RequestTimings.Phase.AUDIT_ENCODE,
+                () -> recordRequestPayload(auditLog, signature, joinPoint.getArgs()));
 
+        // Time only the handler itself, on the monotonic clock
+        long startNanos = System.nanoTime();
         try {
             // Proceed with actual method execution
             Object result = joinPoint.proceed();
+            long durationNanos = System.nanoTime() - startNanos;
+            latencyAnalyticsService.record(action, durationNanos);
 
             // Log successful response
-            String responsePayload = serializeResponsePayload(result);
+            boolean responseTruncated = timed(timings, RequestTimings.Phase.AUDIT_ENCODE,
+                    () -> recordResponsePayload(auditLog, result));
 
             // Save audit log
-            auditService.saveDetailedAuditLog(
-                action,
-                clientIp,
-                requestPayload,
-                responsePayload,
-                httpMethod,
-                endpoint,
-                "SUCCESS"
-            );
+            auditLog.status("SUCCESS")
+                    .durationMicros(TimeUnit.NANOSECONDS.toMicros(durationNanos))
+                    .payloadTruncated(requestTruncated || responseTruncated ? Boolean.TRUE : null);
+            auditService.saveAuditLog(auditLog.build());
 
             return result;
 
         } catch (Exception ex) {
-            // Log exception as response
-            auditService.saveDetailedAuditLog(
-                action,
-                clientIp,
-                requestPayload,
-                ex.getMessage(),  // Or serialize exception details
-                httpMethod,
-                endpoint,
-                "FAILED"
-            );
+            long durationNanos = System.nanoTime() - startNanos;
+            latencyAnalyticsService.record(action, durationNanos);
+
+            // Log the exception message as response, capped like any other payload
+            boolean responseTruncated = ex.getMessage() != null && timed(timings, RequestTimings.Phase.AUDIT_ENCODE,
+                    () -> recordExceptionPayload(auditLog, ex.getMessage()));
+            auditLog.status("FAILED")
+                    .durationMicros(TimeUnit.NANOSECONDS.toMicros(durationNanos))
+                    .payloadTruncated(requestTruncated || responseTruncated ? Boolean.TRUE : null);
+            auditService.saveAuditLog(auditLog.build());
 
             throw ex; // rethrow so GlobalExceptionHandler can handle it
         }
     }
     
     /**
-     * Serialize request payload to string
+     * Record the request payload, redacted and capped: as a JSON string of the arguments, or in document
+     * format as a document of the serializable arguments by parameter name
+     * 
+     * @param auditLog The audit log being built
+     * @param signature The handler signature
+     * @param args Method arguments
+     * @return Whether the payload was truncated
+     */
+    private boolean recordRequestPayload(ApiAuditLog.ApiAuditLogBuilder auditLog, MethodSignature signature,
+                                         Object[] args) {
+        if (documentFormat) {
+            try {
+                AuditPayloadEncoder.StructuredPayload payload =
+                        payloadEncoder.encodeStructured(namedArguments(signature.getParameterNames(), args));
+                auditLog.requestData(payload.data());
+                return payload.truncated();
+            } catch (Exception e) {
+                // Fall back to the text representation below
+            }
+        }
+        AuditPayloadEncoder.Payload payload = serializeRequestPayload(args);
+        auditLog.requestPayload(payload.json());
+        return payload.truncated();
+    }
+
+    /**
+     * Record the response payload, redacted and capped: as a JSON string, or in document format as the
+     * response body. Its size is only known when it fits under the cap, and is estimated in document format
+     * 
+     * @param auditLog The audit log being built
+     * @param result Method result
+     * @return Whether the payload was truncated
+     */
+    private boolean recordResponsePayload(ApiAuditLog.ApiAuditLogBuilder auditLog, Object result) {
+        if (documentFormat) {
+            try {
+                Object body = result instanceof HttpEntity<?> entity ? entity.getBody() : result;
+                AuditPayloadEncoder.StructuredPayload payload = payloadEncoder.encodeStructured(body);
+                auditLog.responseData(payload.data())
+                        .responseSize(payload.truncated() ? null : payload.size());
+                return payload.truncated();
+            } catch (Exception e) {
+                // Fall back to the text representation below
+            }
+        }
+        AuditPayloadEncoder.Payload payload = serializeResponsePayload(result);
+        auditLog.responsePayload(payload.json())
+                .responseSize(payload.truncated() ? null : payload.size());
+        return payload.truncated();
+    }
+
+    /**
+     * Record the message of a failed request as the response payload, capped
+     * 
+     * @param auditLog The audit log being built
+     * @param message The exception message
+     * @return Whether the payload was truncated
+     */
+    private boolean recordExceptionPayload(ApiAuditLog.ApiAuditLogBuilder auditLog, String message) {
+        AuditPayloadEncoder.Payload payload = payloadEncoder.encodeText(message);
+        auditLog.responsePayload(payload.json());
+        return payload.truncated();
+    }
+
+    /**
+     * Map arguments to their parameter names, leaving out servlet and stream arguments that are not request data
+     * 
+     * @param names Parameter names
+     * @param args Method arguments
+     * @return The arguments by parameter name
+     */
+    private static Map<String, Object> namedArguments(String[] names, Object[] args) {
+        Map<String, Object> named = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            Object arg = args[i];
+            if (arg instanceof ServletRequest || arg instanceof ServletResponse
+                    || arg instanceof InputStream || arg instanceof Reader) {
+                continue;
+            }
+            named.put(names != null ? names[i] : "arg" + i, arg);
+        }
+        return named;
+    }
+
+    /**
+     * Serialize request payload, redacted and capped
      * 
      * @param args Method arguments
-     * @return Serialized string representation
+     * @return Serialized representation
      */
-    private String serializeRequestPayload(Object[] args) {
+    private AuditPayloadEncoder.Payload serializeRequestPayload(Object[] args) {
         try {
-            return objectMapper.writeValueAsString(args);
+            return payloadEncoder.encode(args);
         } catch (Exception e) {
-            return Arrays.toString(args);
+            return payloadEncoder.encodeText(Arrays.toString(args));
         }
     }
     
     /**
-     * Serialize response payload to string
+     * Serialize response payload, redacted and capped; its size is only known when it fits under the cap
      * 
      * @param result Method result
-     * @return Serialized string representation
+     * @return Serialized representation
      */
-    private String serializeResponsePayload(Object result) {
-        if (result == null) {
-            return "null";
-        }
+    private AuditPayloadEncoder.Payload serializeResponsePayload(Object result) {
         try {
-            return objectMapper.writeValueAsString(result);
+            return payloadEncoder.encode(result);
         } catch (Exception e) {
-            return result.toString();
+            return payloadEncoder.encodeText(result.toString());
+        }
+    }
+
+    /**
+     * Run a call and add its duration to a phase of the current request, if timings are collected
+     * 
+     * @param timings The timings of the current request, or null
+     * @param phase The phase to add the duration to
+     * @param call The call to run
+     * @return The result of the call
+     */
+    private static <T> T timed(RequestTimings timings, RequestTimings.Phase phase, Supplier<T> call) {
+        if (timings == null) {
+            return call.get();
+        }
+        long start = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            timings.add(phase, System.nanoTime() - start);
         }
     }
 }
@@ -0,0 +1,103 @@
+package com.example.aspect;
+
+import com.example.annotation.Bulkhead;
+import com.example.utilities.SemaphoreBulkhead;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Runs methods annotated with {@link Bulkhead}, or declared in an annotated
+ * controller, inside their bulkhead. Runs first, so a rejected request is neither audited nor
+ * checked for an idempotency key, and is answered with 503.
+ * <p>
+ * Bulkheads are configured with {@code app.bulkhead.<name>.max-concurrent}, {@code max-queued} and
+ * {@code max-wait-ms}. The permit covers the handler call and, for a {@link StreamingResponseBody}, the
+ * writing of the body that follows on an async thread, so a bulkhead bounds streamed exports too. Exposes the {@code app.bulkhead.active} and {@code app.bulkhead.queued}
+ * gauges and the {@code app.bulkhead.rejected} counter, tagged by bulkhead.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class BulkheadAspect {
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, SemaphoreBulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    @Around("@within(com.example.annotation.Bulkhead) || @annotation(com.example.annotation.Bulkhead)")
+    public Object runInBulkhead(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        Bulkhead annotation = AnnotatedElementUtils.findMergedAnnotation(
+                signature.getMethod(), Bulkhead.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(
+                    signature.getDeclaringType(), Bulkhead.class);
+        }
+        SemaphoreBulkhead bulkhead = bulkheads.computeIfAbsent(annotation.value(), this::create);
+        bulkhead.acquire();
+        boolean streaming = false;
+        try {
+            Object result = joinPoint.proceed();
+            if (result instanceof ResponseEntity<?> entity && entity.getBody() instanceof StreamingResponseBody body) {
+                streaming = true;
+                return ResponseEntity.status(entity.getStatusCode())
+                        .headers(entity.getHeaders())
+                        .body(releasingAfter(body, bulkhead));
+            }
+            return result;
+        } finally {
+            if (!streaming) {
+                bulkhead.release();
+            }
+        }
+    }
+
+    /**
+     * Hand the permit over to a streamed response body, which releases it once the body has been written.
+     */
+    private static StreamingResponseBody releasingAfter(StreamingResponseBody body, SemaphoreBulkhead bulkhead) {
+        return out -> {
+            try {
+                body.writeTo(out);
+            } finally {
+                bulkhead.release();
+            }
+        };
+    }
+
+    private SemaphoreBulkhead create(String name) {
+        String prefix = "app.bulkhead." + name + ".";
+        SemaphoreBulkhead bulkhead = new SemaphoreBulkhead(name,
+                environment.getProperty(prefix + "max-concurrent", Integer.class, 16),
+                environment.getProperty(prefix + "max-queued", Integer.class, 16),
+                Duration.ofMillis(environment.getProperty(prefix + "max-wait-ms", Long.class, 1000L)));
+        Gauge.builder("app.bulkhead.active", bulkhead, SemaphoreBulkhead::getActive)
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        Gauge.builder("app.bulkhead.queued", bulkhead, SemaphoreBulkhead::getQueued)
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        FunctionCounter.builder("app.bulkhead.rejected", bulkhead, SemaphoreBulkhead::getRejected)
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        return bulkhead;
+    }
+}
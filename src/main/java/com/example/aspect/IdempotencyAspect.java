@@ -0,0 +1,152 @@
+package com.example.aspect;
+
+import com.example.model.dto.IdempotentResponse;
+import com.example.service.IdempotencyService;
+import com.example.utilities.StringUtils;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.UncheckedIOException;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Arrays;
+
+/**
+ * Honours the {@code Idempotency-Key} header on methods annotated with
+ * {@link com.example.annotation.Idempotent}. Runs after {@link BulkheadAspect} and before
+ * {@link AuditApiAspect}, so a replayed response is neither audited nor executed again.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class IdempotencyAspect {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper requestHashMapper;
+    private final IdempotencyService idempotencyService;
+
+    public IdempotencyAspect(ObjectMapper objectMapper, IdempotencyService idempotencyService) {
+        this.objectMapper = objectMapper;
+        // Hash write-only properties such as the password as well, so a reused key with a
+        // different password is still detected as a different request
+        this.requestHashMapper = objectMapper.copy().setAnnotationIntrospector(new JacksonAnnotationIntrospector() {
+            @Override
+            public JsonProperty.Access findPropertyAccess(Annotated annotated) {
+                return null;
+            }
+        });
+        this.idempotencyService = idempotencyService;
+    }
+
+    @Around("@annotation(com.example.annotation.Idempotent)")
+    public Object handleIdempotencyKey(ProceedingJoinPoint joinPoint) throws Throwable {
+        HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest();
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (StringUtils.isEmpty(idempotencyKey)) {
+            return joinPoint.proceed();
+        }
+
+        // Scope the key to the caller and the endpoint, so the same key sent by different callers
+        // or to different endpoints never returns another request's response
+        String keyHash = StringUtils.sha256Hex(callerOf(request) + " " + request.getMethod() + " "
+                + request.getRequestURI() + " " + idempotencyKey);
+        String requestHash = StringUtils.sha256Hex(serializeRequestPayload(joinPoint.getArgs()));
+
+        Object[] executed = new Object[1];
+        IdempotentResponse response;
+        try {
+            response = idempotencyService.execute(keyHash, requestHash, () -> {
+                Object result = proceed(joinPoint);
+                executed[0] = result;
+                return toIdempotentResponse(requestHash, result);
+            });
+        } catch (UndeclaredThrowableException ex) {
+            throw ex.getUndeclaredThrowable();
+        }
+
+        if (executed[0] != null) {
+            return executed[0];
+        }
+        return ResponseEntity.status(response.getStatus())
+                .header(IDEMPOTENT_REPLAYED_HEADER, "true")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(response.getBody());
+    }
+
+    /**
+     * Identify the caller: the authenticated principal, or the client address for anonymous requests
+     *
+     * @param request The current request
+     * @return The caller identity
+     */
+    private static String callerOf(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return "client:" + request.getRemoteAddr();
+    }
+
+    private static Object proceed(ProceedingJoinPoint joinPoint) {
+        try {
+            return joinPoint.proceed();
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new UndeclaredThrowableException(ex);
+        }
+    }
+
+    private IdempotentResponse toIdempotentResponse(String requestHash, Object result) {
+        int status = 200;
+        Object body = result;
+        if (result instanceof ResponseEntity<?> entity) {
+            status = entity.getStatusCode().value();
+            body = entity.getBody();
+        }
+        try {
+            return IdempotentResponse.builder()
+                    .requestHash(requestHash)
+                    .status(status)
+                    .body(body != null ? objectMapper.writeValueAsBytes(body) : new byte[0])
+                    .build();
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Serialize the request arguments, leaving out servlet objects but keeping write-only properties
+     *
+     * @param args Method arguments
+     * @return Serialized representation
+     */
+    private byte[] serializeRequestPayload(Object[] args) throws JsonProcessingException {
+        Object[] payload = Arrays.stream(args)
+                .filter(arg -> !(arg instanceof ServletRequest) && !(arg instanceof ServletResponse))
+                .toArray();
+        return requestHashMapper.writeValueAsBytes(payload);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.aspect;
+
+import com.example.utilities.RequestTimings;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds the time spent in MapStruct mappers to the timings of the current request.
+ * Only registered when {@code app.timing.enabled=true}, so mappers are not proxied otherwise.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(prefix = "app.timing", name = "enabled", havingValue = "true")
+public class MappingTimingAspect {
+
+    @Around("execution(* com.example.mapper..*(..))")
+    public Object timeMapping(ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestTimings timings = RequestTimings.current();
+        if (timings == null) {
+            return joinPoint.proceed();
+        }
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            timings.add(RequestTimings.Phase.MAPPING, System.nanoTime() - start);
+        }
+    }
+}
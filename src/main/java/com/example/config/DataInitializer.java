@@ -1,15 +1,19 @@
 package com.example.config;
 
+import com.example.model.dto.DataGenerationPlan;
 import com.example.model.entity.User;
 import com.example.repository.UserRepository;
+import com.example.service.DataGeneratorService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 
-import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Configuration for initializing sample data.
@@ -57,4 +61,60 @@ public class DataInitializer {
             }
         };
     }
+
+    /**
+     * Load a synthetic data set at production scale on startup, see {@code application-datagen.properties}.
+     * Every start adds another data set next to the existing data.
+     *
+     * @param dataGeneratorService the data generator
+     * @param users the number of users
+     * @param updatesPerUserMean the mean number of updates per user
+     * @param auditLogs the number of audit log documents
+     * @param actionWeights comma separated {@code action:weight} pairs
+     * @param durationMedianMs the median request duration
+     * @param durationSigma the spread of the log-normal request duration
+     * @param errorRate the share of failed requests
+     * @param spreadDays the number of days timestamps are spread over
+     * @param batchSize the rows or documents per write
+     * @param threads the number of parallel writers
+     * @param seed the random seed
+     * @return CommandLineRunner
+     */
+    @Bean
+    @Profile("datagen")
+    public CommandLineRunner generateData(DataGeneratorService dataGeneratorService,
+                                          @Value("${app.datagen.users}") long users,
+                                          @Value("${app.datagen.updates-per-user-mean}") double updatesPerUserMean,
+                                          @Value("${app.datagen.audit-logs}") long auditLogs,
+                                          @Value("${app.datagen.action-weights}") String actionWeights,
+                                          @Value("${app.datagen.duration-median-ms}") double durationMedianMs,
+                                          @Value("${app.datagen.duration-sigma}") double durationSigma,
+                                          @Value("${app.datagen.error-rate}") double errorRate,
+                                          @Value("${app.datagen.spread-days}") int spreadDays,
+                                          @Value("${app.datagen.batch-size}") int batchSize,
+                                          @Value("${app.datagen.threads}") int threads,
+                                          @Value("${app.datagen.seed}") long seed) {
+        return args -> dataGeneratorService.generate(DataGenerationPlan.builder()
+                .users(users)
+                .updatesPerUserMean(updatesPerUserMean)
+                .auditLogs(auditLogs)
+                .actionWeights(parseWeights(actionWeights))
+                .durationMedianMs(durationMedianMs)
+                .durationSigma(durationSigma)
+                .errorRate(errorRate)
+                .spreadDays(spreadDays)
+                .batchSize(batchSize)
+                .threads(threads)
+                .seed(seed)
+                .build());
+    }
+
+    private static Map<String, Integer> parseWeights(String weights) {
+        Map<String, Integer> parsed = new LinkedHashMap<>();
+        for (String pair : weights.split(",")) {
+            String[] parts = pair.trim().split(":");
+            parsed.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+        return parsed;
+    }
 }
@@ -0,0 +1,41 @@
+package com.example.config;
+
+import com.example.utilities.RequestTimings;
+import org.hibernate.SessionEventListener;
+
+/**
+ * Hibernate session listener that adds the count and duration of executed JDBC statements
+ * and batches to the timings of the current request.
+ * Registered for every session through {@code hibernate.session.events.auto} by {@link RequestTimingConfig}.
+ */
+public class JdbcTimingSessionListener implements SessionEventListener {
+
+    private transient long executeStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record();
+    }
+
+    private void record() {
+        RequestTimings timings = RequestTimings.current();
+        if (timings != null) {
+            timings.addStatement(System.nanoTime() - executeStart);
+        }
+    }
+}
@@ -1,7 +1,15 @@
 package com.example.config;
 
+import com.example.repository.nosql.ApiAuditLogCodec;
+import com.mongodb.MongoClientSettings;
+import org.bson.codecs.configuration.CodecRegistries;
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.mongodb.MongoDatabaseFactory;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.convert.DefaultDbRefResolver;
@@ -9,36 +17,79 @@ import org.springframework.data.mongodb.core.convert.DefaultMongoTypeMapper;
 import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
 import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
 import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
+import org.springframework.data.mongodb.repository.config.EnableReactiveMongoRepositories;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.data.convert.ReadingConverter;
 import org.springframework.data.convert.WritingConverter;
 import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
 
 import java.time.LocalDateTime;
-import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 @EnableMongoRepositories(basePackages = "com.example.repository.nosql")
+@EnableReactiveMongoRepositories(basePackages = "com.example.repository.nosql")
 public class MongoConfig {
 
     /**
-     * Custom MongoTemplate to remove _class field from MongoDB documents
+     * Custom MongoTemplate to remove _class field from MongoDB documents.
+     * Every operation run through the template, including the repositories, is limited to
+     * {@code app.bulkhead.audit.query-timeout-ms}: the driver sends the remaining time as {@code maxTimeMS},
+     * so the server abandons them as well. Only the codec based audit inserts, streams and deletes of
+     * {@code ApiAuditLogRepositoryCustom}, which use the collection directly, are not limited.
      */
     @Bean
-    public MongoTemplate mongoTemplate(MongoDatabaseFactory mongoDatabaseFactory, MongoMappingContext context) {
+    @Primary
+    public MongoTemplate mongoTemplate(MongoDatabaseFactory mongoDatabaseFactory, MongoMappingContext context,
+                                       @Value("${app.bulkhead.audit.query-timeout-ms:10000}") long queryTimeoutMs) {
+        MappingMongoConverter converter = mappingConverter(mongoDatabaseFactory, context);
+        if (queryTimeoutMs <= 0) {
+            return new MongoTemplate(mongoDatabaseFactory, converter);
+        }
+        return new MongoTemplate(mongoDatabaseFactory, converter) {
+            @Override
+            protected MongoCollection<Document> prepareCollection(MongoCollection<Document> collection) {
+                return super.prepareCollection(collection).withTimeout(queryTimeoutMs, TimeUnit.MILLISECONDS);
+            }
+        };
+    }
+
+    /**
+     * MongoTemplate without the query timeout, for background bulk writes such as data generation
+     * and latency histogram flushes, which may run longer than any interactive query should.
+     */
+    @Bean
+    public MongoTemplate bulkMongoTemplate(MongoDatabaseFactory mongoDatabaseFactory, MongoMappingContext context) {
+        return new MongoTemplate(mongoDatabaseFactory, mappingConverter(mongoDatabaseFactory, context));
+    }
+
+    private MappingMongoConverter mappingConverter(MongoDatabaseFactory mongoDatabaseFactory, MongoMappingContext context) {
         MappingMongoConverter converter = new MappingMongoConverter(new DefaultDbRefResolver(mongoDatabaseFactory), context);
         // Remove _class field from MongoDB documents
         converter.setTypeMapper(new DefaultMongoTypeMapper(null));
         // Register custom converters
         converter.setCustomConversions(mongoCustomConversions());
         converter.afterPropertiesSet();
-        return new MongoTemplate(mongoDatabaseFactory, converter);
+        return converter;
     }
     
     /**
-     * Custom MongoDB converters for Java 8 date/time types
+     * Register the hand-written codecs with the MongoDB clients, ahead of the driver defaults
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer codecRegistryCustomizer() {
+        return builder -> builder.codecRegistry(CodecRegistries.fromRegistries(
+                CodecRegistries.fromCodecs(new ApiAuditLogCodec()),
+                MongoClientSettings.getDefaultCodecRegistry()));
+    }
+
+    /**
+     * Custom MongoDB converters for Java 8 date/time types.
+     * Times are stored as UTC instants, matching {@link ApiAuditLogCodec} and the driver's own
+     * {@code LocalDateTime} codec, without a time zone lookup per value.
      */
     @Bean
     public MongoCustomConversions mongoCustomConversions() {
@@ -55,7 +106,7 @@ public class MongoConfig {
     static class LocalDateTimeToDateConverter implements Converter<LocalDateTime, Date> {
         @Override
         public Date convert(LocalDateTime source) {
-            return source == null ? null : Date.from(source.atZone(ZoneId.systemDefault()).toInstant());
+            return source == null ? null : new Date(source.toInstant(ZoneOffset.UTC).toEpochMilli());
         }
     }
     
@@ -66,7 +117,7 @@ public class MongoConfig {
     static class DateToLocalDateTimeConverter implements Converter<Date, LocalDateTime> {
         @Override
         public LocalDateTime convert(Date source) {
-            return source == null ? null : LocalDateTime.ofInstant(source.toInstant(), ZoneId.systemDefault());
+            return source == null ? null : LocalDateTime.ofInstant(source.toInstant(), ZoneOffset.UTC);
         }
     }
 }
@@ -0,0 +1,66 @@
+package com.example.config;
+
+import com.example.exception.ErrorResponse;
+import com.example.model.dto.UserDto;
+import com.example.model.entity.ApiAuditLog;
+import com.example.model.entity.RevisionInfo;
+import com.example.model.entity.User;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Runtime hints for AOT processed and GraalVM native builds.
+ * Only registers what Spring's own AOT processing cannot infer from the bean definitions.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.ApplicationRuntimeHints.class)
+public class NativeHintsConfig {
+
+    static class ApplicationRuntimeHints implements RuntimeHintsRegistrar {
+
+        private static final MemberCategory[] BEAN_MEMBERS = {
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                MemberCategory.INVOKE_DECLARED_METHODS,
+                MemberCategory.DECLARED_FIELDS
+        };
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // MapStruct generated implementation, only known by name at compile time
+            hints.reflection().registerType(TypeReference.of("com.example.mapper.UserMapperImpl"),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+
+            // Models and their Lombok builders, used by Jackson, Hibernate and Spring Data mapping
+            hints.reflection()
+                    .registerType(User.class, BEAN_MEMBERS)
+                    .registerType(User.UserBuilder.class, BEAN_MEMBERS)
+                    .registerType(UserDto.class, BEAN_MEMBERS)
+                    .registerType(UserDto.UserDtoBuilder.class, BEAN_MEMBERS)
+                    .registerType(ApiAuditLog.class, BEAN_MEMBERS)
+                    .registerType(ApiAuditLog.ApiAuditLogBuilder.class, BEAN_MEMBERS)
+                    .registerType(ErrorResponse.class, BEAN_MEMBERS)
+                    .registerType(ErrorResponse.ErrorResponseBuilder.class, BEAN_MEMBERS);
+
+            // Hibernate Envers revision entity and integrator
+            hints.reflection()
+                    .registerType(RevisionInfo.class, BEAN_MEMBERS)
+                    .registerType(TypeReference.of("org.hibernate.envers.boot.internal.EnversIntegrator"),
+                            MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+            hints.resources().registerPattern("META-INF/services/org.hibernate.integrator.spi.Integrator");
+
+            // Session listener instantiated by class name through hibernate.session.events.auto
+            hints.reflection().registerType(JdbcTimingSessionListener.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+
+            // MongoConfig converters, whose generic signatures are resolved reflectively
+            hints.reflection()
+                    .registerType(MongoConfig.LocalDateTimeToDateConverter.class,
+                            MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS)
+                    .registerType(MongoConfig.DateToLocalDateTimeConverter.class,
+                            MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.config;
+
+import com.example.utilities.RequestTimings;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request phase timing (JDBC statements, mapping, audit payload encoding and write, and response serialization).
+ * Nothing in this configuration is registered unless {@code app.timing.enabled=true}, so when
+ * disabled the only remaining cost is the {@link RequestTimings#current()} lookup at each probe.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.timing", name = "enabled", havingValue = "true")
+public class RequestTimingConfig {
+
+    /**
+     * Register {@link JdbcTimingSessionListener} on every Hibernate session.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer jdbcTimingCustomizer() {
+        return properties -> properties.put(
+                AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, JdbcTimingSessionListener.class.getName());
+    }
+
+    /**
+     * Track every request and, for responses without a body, emit the {@code Server-Timing} header
+     * once the handler has completed. Responses with a body get the header from {@link ServerTimingResponseAdvice}.
+     * The request is completed once the chain returns, which measures serialization; as the audit log has
+     * been saved by then, serialization is recorded by the {@code app.request.serialization} timer instead.
+     */
+    @Bean
+    public OncePerRequestFilter requestTimingFilter(
+            @Value("${app.timing.server-timing-header:true}") boolean serverTimingHeader,
+            MeterRegistry meterRegistry) {
+        Timer serialization = Timer.builder("app.request.serialization").register(meterRegistry);
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain filterChain) throws ServletException, IOException {
+                RequestTimings timings = RequestTimings.start();
+                try {
+                    filterChain.doFilter(request, response);
+                    if (serverTimingHeader && !response.isCommitted()
+                            && !response.containsHeader(RequestTimings.SERVER_TIMING_HEADER)) {
+                        response.setHeader(RequestTimings.SERVER_TIMING_HEADER, timings.toServerTiming());
+                    }
+                } finally {
+                    RequestTimings.clear();
+                    timings.complete();
+                    long serializationNanos = timings.getNanos(RequestTimings.Phase.SERIALIZATION);
+                    if (serializationNanos > 0) {
+                        serialization.record(serializationNanos, TimeUnit.NANOSECONDS);
+                    }
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.config;
+
+import com.example.utilities.RequestTimings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Marks the start of response serialization and adds the {@code Server-Timing} header right before
+ * the message converter writes the body, which is the last point at which headers can still be set.
+ */
+@RestControllerAdvice
+@ConditionalOnProperty(prefix = "app.timing", name = "enabled", havingValue = "true")
+public class ServerTimingResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    private final boolean serverTimingHeader;
+
+    public ServerTimingResponseAdvice(@Value("${app.timing.server-timing-header:true}") boolean serverTimingHeader) {
+        this.serverTimingHeader = serverTimingHeader;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestTimings timings = RequestTimings.current();
+        if (timings != null) {
+            if (serverTimingHeader) {
+                response.getHeaders().set(RequestTimings.SERVER_TIMING_HEADER, timings.toServerTiming());
+            }
+            timings.markBodyWrite();
+        }
+        return body;
+    }
+}
@@ -1,27 +1,47 @@
 package com.example.controller;
 
+import com.example.annotation.Bulkhead;
+import com.example.model.dto.AuditLogFilter;
+import com.example.model.dto.LatencyStats;
 import com.example.model.entity.ApiAuditLog;
 import com.example.repository.nosql.ApiAuditLogRepository;
+import com.example.repository.nosql.AuditLogQueries;
+import com.example.repository.nosql.AuditSearchTerms;
+import com.example.repository.nosql.ReactiveApiAuditLogRepository;
+import com.example.service.AuditService;
+import com.example.service.AuditTailService;
+import com.example.service.AuditTieringService;
+import com.example.service.LatencyAnalyticsService;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
 @RestController
+@Bulkhead(Bulkhead.AUDIT)
 @RequestMapping("/audit-logs")
 @RequiredArgsConstructor
 public class AuditLogController {
 
     private final ApiAuditLogRepository auditLogRepository;
+    private final ReactiveApiAuditLogRepository reactiveAuditLogRepository;
+    private final AuditService auditService;
+    private final AuditTailService auditTailService;
+    private final AuditTieringService auditTieringService;
+    private final LatencyAnalyticsService latencyAnalyticsService;
 
     @GetMapping
     public ResponseEntity<Page<ApiAuditLog>> getAllAuditLogs(
@@ -37,6 +57,16 @@ public class AuditLogController {
         return ResponseEntity.ok(auditLogRepository.findByAction(action));
     }
 
+    /**
+     * Stream audit logs by action as NDJSON or Server-Sent Events, selected through the Accept header.
+     * Documents are read from the cursor only as fast as the client consumes them.
+     */
+    @GetMapping(value = "/action/{action}",
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<ApiAuditLog> streamAuditLogsByAction(@PathVariable String action) {
+        return reactiveAuditLogRepository.findByActionOrderByCreatedAtAsc(action);
+    }
+
     @GetMapping("/endpoint/{endpoint}")
     public ResponseEntity<List<ApiAuditLog>> getAuditLogsByEndpoint(@PathVariable String endpoint) {
         return ResponseEntity.ok(auditLogRepository.findByEndpoint(endpoint));
@@ -52,11 +82,78 @@ public class AuditLogController {
         return ResponseEntity.ok(auditLogRepository.findByStatus(status));
     }
 
+    /**
+     * Get audit logs by date range, including those moved to segment files by audit tiering.
+     */
     @GetMapping("/date-range")
     public ResponseEntity<List<ApiAuditLog>> getAuditLogsByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
-        return ResponseEntity.ok(auditLogRepository.findByCreatedAtBetween(start, end));
+        return ResponseEntity.ok(auditTieringService.findByCreatedAtBetween(start, end));
+    }
+
+    /**
+     * Stream audit logs by date range as NDJSON or Server-Sent Events, selected through the Accept header.
+     * Documents and segment files are read only as fast as the client consumes them, merged in creation order.
+     */
+    @GetMapping(value = "/date-range",
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<ApiAuditLog> streamAuditLogsByDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        return auditTieringService.streamByCreatedAtBetween(start, end);
+    }
+
+    /**
+     * Search audit logs, newest first. Every filter is optional; userId and email match payloads stored
+     * with app.audit.payload-format=document and are served by indexes on the payload paths.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<Page<ApiAuditLog>> searchAuditLogs(
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String email,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        AuditLogFilter filter = AuditLogFilter.builder()
+                .action(action)
+                .status(status)
+                .userId(userId)
+                .email(email)
+                .build();
+        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+        return ResponseEntity.ok(auditLogRepository.findDecoded(AuditLogQueries.of(filter), pageable));
+    }
+
+    /**
+     * Search the endpoints and payloads of audit logs for the terms of a free-text query, such as an
+     * e-mail address or a user id. Entries holding more of the terms rank first, newest first among equals.
+     * Returns a slice rather than a page, as counting every match of a common term would not stay interactive.
+     */
+    @GetMapping("/text-search")
+    public ResponseEntity<Slice<ApiAuditLog>> textSearchAuditLogs(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(auditLogRepository.searchTerms(AuditSearchTerms.parse(q), PageRequest.of(page, size)));
+    }
+
+    /**
+     * Tail the audit logs saved by this node from now on as Server-Sent Events, optionally filtered by
+     * action, endpoint and status. A client that falls behind receives a {@code dropped} event with the
+     * number of audit logs it missed.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> streamAuditLogs(
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String endpoint,
+            @RequestParam(required = false) String status) {
+        return auditTailService.subscribe(AuditLogFilter.builder()
+                .action(action)
+                .endpoint(endpoint)
+                .status(status)
+                .build());
     }
 
     @GetMapping("/{id}")
@@ -68,15 +165,19 @@ public class AuditLogController {
 
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getAuditStats() {
-        long totalCount = auditLogRepository.count();
-        long successCount = auditLogRepository.findByStatus("SUCCESS").size();
-        long failedCount = auditLogRepository.findByStatus("FAILED").size();
-        
-        return ResponseEntity.ok(Map.of(
-                "totalCount", totalCount,
-                "successCount", successCount,
-                "failedCount", failedCount,
-                "successRate", totalCount > 0 ? (double) successCount / totalCount * 100 : 0
-        ));
+        return ResponseEntity.ok(auditService.getAuditStats());
+    }
+
+    /**
+     * Get latency percentiles per action for a time window, defaulting to the last hour.
+     * Computed from per-minute histograms, so the cost does not grow with request volume.
+     */
+    @GetMapping("/latency")
+    public ResponseEntity<List<LatencyStats>> getLatencyStats(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        LocalDateTime to = end != null ? end : LocalDateTime.now();
+        LocalDateTime from = start != null ? start : to.minusHours(1);
+        return ResponseEntity.ok(latencyAnalyticsService.getLatencyStats(from, to));
     }
 }
@@ -0,0 +1,109 @@
+package com.example.controller;
+
+import com.example.annotation.Bulkhead;
+import com.example.model.dto.AuditLogFilter;
+import com.example.service.ExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+
+/**
+ * REST controller for bulk NDJSON exports of users and audit logs.
+ * The response is written on an async thread while rows are read from the database cursor;
+ * it is gzip-compressed when the client sends {@code Accept-Encoding: gzip}. Exports run in the bulk
+ * bulkhead, which holds its permit until the response has been written.
+ */
+@RestController
+@Bulkhead(Bulkhead.BULK)
+@RequiredArgsConstructor
+public class ExportController {
+
+    private static final String GZIP = "gzip";
+
+    private final ExportService exportService;
+
+    /**
+     * GET /users/export : Export every user as newline delimited JSON, ordered by id
+     *
+     * @param acceptEncoding the Accept-Encoding header
+     * @return the ResponseEntity with status 200 (OK) and the streamed users
+     */
+    @GetMapping(value = "/users/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        return stream(gzip, out -> exportService.exportUsers(out, gzip));
+    }
+
+    /**
+     * GET /audit-logs/export : Export audit logs as newline delimited JSON, ordered by creation time.
+     * Every filter is optional and matches the corresponding {@code /audit-logs} query endpoint.
+     *
+     * @param action the action to export
+     * @param endpoint the endpoint to export
+     * @param method the HTTP method to export
+     * @param status the status to export
+     * @param start the exclusive lower bound of the creation time
+     * @param end the exclusive upper bound of the creation time
+     * @param userId the user id in payloads stored as documents
+     * @param email the user email in payloads stored as documents
+     * @param acceptEncoding the Accept-Encoding header
+     * @return the ResponseEntity with status 200 (OK) and the streamed audit logs
+     */
+    @GetMapping(value = "/audit-logs/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAuditLogs(
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String endpoint,
+            @RequestParam(required = false) String method,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String email,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        AuditLogFilter filter = AuditLogFilter.builder()
+                .action(action)
+                .endpoint(endpoint)
+                .httpMethod(method)
+                .status(status)
+                .start(start)
+                .end(end)
+                .userId(userId)
+                .email(email)
+                .build();
+        boolean gzip = acceptsGzip(acceptEncoding);
+        return stream(gzip, out -> exportService.exportAuditLogs(filter, out, gzip));
+    }
+
+    private static ResponseEntity<StreamingResponseBody> stream(boolean gzip, StreamingResponseBody body) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+        return response.body(body);
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase(GZIP)) {
+                return parts.length < 2 || !parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
@@ -1,32 +1,58 @@
 package com.example.controller;
 
+import com.example.annotation.Bulkhead;
+import com.example.model.dto.HealthReport;
+import com.example.service.HealthService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * Controller for health check endpoints.
  */
 @RestController
+@Bulkhead(Bulkhead.HEALTH)
 @RequestMapping("/health")
+@RequiredArgsConstructor
 public class HealthCheckController {
 
+    private final HealthService healthService;
+
     /**
-     * Simple health check endpoint.
+     * Health check endpoint, reporting the status of every dependency.
      *
-     * @return health status
+     * @return the ResponseEntity with status 200 (OK) when ready, or with status 503 (Service Unavailable)
      */
     @GetMapping
-    public ResponseEntity<Map<String, Object>> healthCheck() {
-        Map<String, Object> response = new HashMap<>();
-        response.put("status", "UP");
-        response.put("timestamp", LocalDateTime.now());
-        
-        return ResponseEntity.ok(response);
+    public ResponseEntity<HealthReport> healthCheck() {
+        return toResponse(healthService.readiness());
+    }
+
+    /**
+     * Liveness endpoint, which never touches a dependency.
+     *
+     * @return the ResponseEntity with status 200 (OK) when alive, or with status 503 (Service Unavailable)
+     */
+    @GetMapping("/live")
+    public ResponseEntity<HealthReport> liveness() {
+        return toResponse(healthService.liveness());
+    }
+
+    /**
+     * Readiness endpoint, reporting UP only after warm-up and while all dependencies are reachable.
+     * Dependency probes are cached for a short TTL.
+     *
+     * @return the ResponseEntity with status 200 (OK) when ready, or with status 503 (Service Unavailable)
+     */
+    @GetMapping("/ready")
+    public ResponseEntity<HealthReport> readiness() {
+        return toResponse(healthService.readiness());
+    }
+
+    private ResponseEntity<HealthReport> toResponse(HealthReport report) {
+        return ResponseEntity.status(report.isUp() ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE).body(report);
     }
 }
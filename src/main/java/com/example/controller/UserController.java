@@ -1,13 +1,21 @@
 package com.example.controller;
 
 import com.example.annotation.AuditableApi;
+import com.example.annotation.Bulkhead;
+import com.example.annotation.Idempotent;
+import com.example.model.dto.UserChangesPage;
 import com.example.model.dto.UserDto;
+import com.example.model.dto.UserLookupRequest;
+import com.example.model.dto.UserLookupResult;
+import com.example.service.UserChangeService;
 import com.example.service.UserService;
+import com.fasterxml.jackson.databind.JsonNode;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -17,11 +25,15 @@ import java.util.List;
  * REST controller for managing user operations.
  */
 @RestController
+@Bulkhead(Bulkhead.CRUD)
 @RequestMapping("/users")
 @RequiredArgsConstructor
 public class UserController {
 
+    private static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
     private final UserService userService;
+    private final UserChangeService userChangeService;
 
     /**
      * GET /users : Get all users
@@ -35,6 +47,48 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
 
+    /**
+     * GET /users?ids=1,2,3 : Get several users by id in one request
+     *
+     * @param ids the ids of the users
+     * @return the ResponseEntity with status 200 (OK) and one result per id, in request order,
+     * or with status 400 (Bad Request) for no ids or too many
+     */
+    @GetMapping(params = "ids")
+    @AuditableApi(action = "lookup_users")
+    public ResponseEntity<List<UserLookupResult>> getUsersByIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(userService.findByIds(ids));
+    }
+
+    /**
+     * POST /users/lookup : Get several users by id, for id lists too long for a query string
+     *
+     * @param lookup the ids of the users
+     * @return the ResponseEntity with status 200 (OK) and one result per id, in request order,
+     * or with status 400 (Bad Request) for no ids or too many
+     */
+    @PostMapping("/lookup")
+    @AuditableApi(action = "lookup_users")
+    public ResponseEntity<List<UserLookupResult>> lookupUsers(@Valid @RequestBody UserLookupRequest lookup) {
+        return ResponseEntity.ok(userService.findByIds(lookup.getIds()));
+    }
+
+    /**
+     * GET /users/changes : Get the users created, modified or deleted since a token
+     * Deleted users are returned as tombstones; the response carries the token to continue from.
+     *
+     * @param since the token of the previous response, or none to start from the first change
+     * @param size the maximum number of changes to read
+     * @return the ResponseEntity with status 200 (OK) and the page of changes, or with status 400 (Bad Request)
+     */
+    @GetMapping("/changes")
+    @AuditableApi(action = "get_user_changes")
+    public ResponseEntity<UserChangesPage> getUserChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "100") int size) {
+        return ResponseEntity.ok(userChangeService.findChanges(since, size));
+    }
+
     /**
      * GET /users/{id} : Get user by id
      *
@@ -50,11 +104,13 @@ public class UserController {
 
     /**
      * POST /users : Create a new user
+     * A retry carrying the same {@code Idempotency-Key} header replays the original response.
      *
      * @param userDto the user to create
      * @return the ResponseEntity with status 201 (Created) and the new user
      */
     @PostMapping
+    @Idempotent
     @AuditableApi(action = "create_user")
     public ResponseEntity<UserDto> createUser(@Valid @RequestBody UserDto userDto, HttpServletRequest request) {
         
@@ -76,6 +132,21 @@ public class UserController {
         return ResponseEntity.ok(updatedUser);
     }
 
+    /**
+     * PATCH /users/{id} : Partially update an existing user with a JSON Merge Patch
+     * Only the members present in the patch are changed; a patch that changes nothing is not written.
+     *
+     * @param id the id of the user to patch
+     * @param patch the merge patch document
+     * @return the ResponseEntity with status 200 (OK) and the patched user
+     */
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @AuditableApi(action = "patch_user")
+    public ResponseEntity<UserDto> patchUser(@PathVariable Long id, @RequestBody JsonNode patch) {
+        UserDto patchedUser = userService.patch(id, patch);
+        return ResponseEntity.ok(patchedUser);
+    }
+
     /**
      * DELETE /users/{id} : Delete a user
      *
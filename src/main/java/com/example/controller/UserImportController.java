@@ -0,0 +1,77 @@
+package com.example.controller;
+
+import com.example.annotation.AuditableApi;
+import com.example.annotation.Bulkhead;
+import com.example.model.dto.UserImportStatus;
+import com.example.service.UserImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.InputStream;
+
+/**
+ * REST controller for bulk user imports. Uploads run in the bulk bulkhead while they are spooled to disk.
+ */
+@RestController
+@RequestMapping("/users/imports")
+@RequiredArgsConstructor
+public class UserImportController {
+
+    private static final String TEXT_CSV = "text/csv";
+
+    private final UserImportService userImportService;
+
+    /**
+     * POST /users/imports : Import users from a CSV file with a header row
+     * (firstName, lastName, email, password in any order)
+     *
+     * @param body the CSV body, streamed to disk
+     * @return the ResponseEntity with status 202 (Accepted), the job status and its location
+     */
+    @PostMapping(consumes = TEXT_CSV)
+    @Bulkhead(Bulkhead.BULK)
+    @AuditableApi(action = "import_users")
+    public ResponseEntity<UserImportStatus> importCsv(InputStream body) {
+        return accepted(userImportService.submit(body, UserImportStatus.Format.CSV));
+    }
+
+    /**
+     * POST /users/imports : Import users from newline delimited JSON, one user object per line
+     *
+     * @param body the NDJSON body, streamed to disk
+     * @return the ResponseEntity with status 202 (Accepted), the job status and its location
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Bulkhead(Bulkhead.BULK)
+    @AuditableApi(action = "import_users")
+    public ResponseEntity<UserImportStatus> importNdjson(InputStream body) {
+        return accepted(userImportService.submit(body, UserImportStatus.Format.NDJSON));
+    }
+
+    /**
+     * GET /users/imports/{jobId} : Get the progress of an import job
+     *
+     * @param jobId the id of the job
+     * @return the ResponseEntity with status 200 (OK) and the job status, or with status 404 (Not Found)
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<UserImportStatus> getImportStatus(@PathVariable String jobId) {
+        return ResponseEntity.ok(userImportService.getStatus(jobId));
+    }
+
+    private static ResponseEntity<UserImportStatus> accepted(UserImportStatus status) {
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequestUri()
+                        .path("/{jobId}")
+                        .buildAndExpand(status.getJobId())
+                        .toUri())
+                .body(status);
+    }
+}
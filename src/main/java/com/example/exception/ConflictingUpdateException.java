@@ -0,0 +1,31 @@
+package com.example.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Exception thrown when a concurrent update changed the same fields as the current one,
+ * so the two cannot be merged.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ConflictingUpdateException extends DomainException {
+
+    private final List<String> fields;
+
+    public ConflictingUpdateException(String message, Collection<String> fields) {
+        super(message);
+        this.fields = fields.stream().sorted().toList();
+    }
+
+    /**
+     * Get the fields changed by both updates.
+     *
+     * @return the field names, sorted
+     */
+    public List<String> getFields() {
+        return fields;
+    }
+}
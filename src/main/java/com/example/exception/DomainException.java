@@ -0,0 +1,17 @@
+package com.example.exception;
+
+/**
+ * Base class for expected domain conditions (missing resources, overload, ...).
+ * These are part of normal control flow and are fully described by their message,
+ * so no stack trace is captured when they are created.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    protected DomainException(String message) {
+        super(message, null, false, false);
+    }
+
+    protected DomainException(String message, Throwable cause) {
+        super(message, cause, false, false);
+    }
+}
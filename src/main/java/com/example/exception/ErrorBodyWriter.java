@@ -0,0 +1,164 @@
+package com.example.exception;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.util.BufferRecycler;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes error bodies with the same shape as {@link ErrorResponse} straight to UTF-8 bytes.
+ * Field names and the status/reason fragment of every HTTP status are encoded once,
+ * so an error response costs a single generator pass and no intermediate objects.
+ */
+final class ErrorBodyWriter {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final SerializedString TIMESTAMP = new SerializedString("timestamp");
+    private static final SerializedString MESSAGE = new SerializedString("message");
+    private static final SerializedString PATH = new SerializedString("path");
+    private static final SerializedString ERRORS = new SerializedString("errors");
+    private static final SerializedString FIELDS = new SerializedString("fields");
+    private static final SerializedString VALIDATION_FAILED = new SerializedString("Validation failed");
+
+    /**
+     * Pre-encoded {@code ,"status":404,"error":"Not Found"} fragment per status, written raw after the timestamp.
+     */
+    private static final Map<HttpStatus, SerializedString> STATUS_FRAGMENTS = new EnumMap<>(HttpStatus.class);
+
+    static {
+        for (HttpStatus status : HttpStatus.values()) {
+            STATUS_FRAGMENTS.put(status, new SerializedString(
+                    ",\"status\":" + status.value() + ",\"error\":\"" + status.getReasonPhrase() + "\""));
+        }
+    }
+
+    private ErrorBodyWriter() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Write an error body with a message and the request path.
+     *
+     * @param status the HTTP status
+     * @param message the error message
+     * @param path the request path
+     * @return the UTF-8 encoded JSON body
+     */
+    static byte[] error(HttpStatus status, String message, String path) {
+        return write(generator -> {
+            writeHeader(generator, status);
+            generator.writeFieldName(MESSAGE);
+            generator.writeString(message);
+            generator.writeFieldName(PATH);
+            generator.writeString(path);
+            generator.writeEndObject();
+        });
+    }
+
+    /**
+     * Write a conflict error body listing the fields that could not be merged.
+     *
+     * @param message the error message
+     * @param path the request path
+     * @param fields the conflicting field names
+     * @return the UTF-8 encoded JSON body
+     */
+    static byte[] conflict(String message, String path, List<String> fields) {
+        return write(generator -> {
+            writeHeader(generator, HttpStatus.CONFLICT);
+            generator.writeFieldName(MESSAGE);
+            generator.writeString(message);
+            generator.writeFieldName(PATH);
+            generator.writeString(path);
+            generator.writeFieldName(FIELDS);
+            generator.writeStartArray();
+            for (String field : fields) {
+                generator.writeString(field);
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        });
+    }
+
+    /**
+     * Write a validation error body with one message per rejected field.
+     * Only the first message is kept for a field rejected by several constraints.
+     *
+     * @param errors the field and global errors
+     * @return the UTF-8 encoded JSON body
+     */
+    static byte[] validation(List<ObjectError> errors) {
+        return write(generator -> {
+            writeHeader(generator, HttpStatus.BAD_REQUEST);
+            generator.writeFieldName(MESSAGE);
+            generator.writeString(VALIDATION_FAILED);
+            generator.writeFieldName(ERRORS);
+            generator.writeStartObject();
+            for (int i = 0; i < errors.size(); i++) {
+                String name = nameOf(errors.get(i));
+                if (!seenBefore(errors, i, name)) {
+                    generator.writeFieldName(name);
+                    generator.writeString(errors.get(i).getDefaultMessage());
+                }
+            }
+            generator.writeEndObject();
+            generator.writeEndObject();
+        });
+    }
+
+    /**
+     * Run the body writer against a generator backed by Jackson's recycled buffers,
+     * so the only allocation that outlives the call is the returned array.
+     */
+    private static byte[] write(BodyContent content) {
+        BufferRecycler recycler = JSON_FACTORY._getBufferRecycler();
+        try (ByteArrayBuilder buffer = new ByteArrayBuilder(recycler)) {
+            try (JsonGenerator generator = JSON_FACTORY.createGenerator(buffer)) {
+                content.write(generator);
+            }
+            return buffer.getClearAndRelease();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            recycler.releaseToPool();
+        }
+    }
+
+    private static void writeHeader(JsonGenerator generator, HttpStatus status) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(TIMESTAMP);
+        generator.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(LocalDateTime.now()));
+        generator.writeRaw(STATUS_FRAGMENTS.get(status));
+    }
+
+    private static String nameOf(ObjectError error) {
+        return error instanceof FieldError fieldError ? fieldError.getField() : error.getObjectName();
+    }
+
+    private static boolean seenBefore(List<ObjectError> errors, int index, String name) {
+        for (int i = 0; i < index; i++) {
+            if (nameOf(errors.get(i)).equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @FunctionalInterface
+    private interface BodyContent {
+        void write(JsonGenerator generator) throws IOException;
+    }
+}
@@ -1,8 +1,14 @@
 package com.example.exception;
 
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -10,17 +16,35 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
 
 import jakarta.persistence.OptimisticLockException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
 
 import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Global exception handler for the application.
+ * Expected errors (404, 400, 409, 413, 422, 503) are written through {@link ErrorBodyWriter},
+ * so they cost no more than a successful response under scanner or stale client traffic.
  */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final String CONFLICT_MESSAGE =
+            "The record was updated by another user. Please refresh and try again.";
+
+    private static final String DATA_CONFLICT_MESSAGE =
+            "The request conflicts with existing data.";
+
+    private static final HttpHeaders JSON_HEADERS;
+
+    static {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        JSON_HEADERS = HttpHeaders.readOnlyHttpHeaders(headers);
+    }
+
     /**
      * Handle ResourceNotFoundException.
      *
@@ -30,18 +54,25 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(ResourceNotFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
-    public ResponseEntity<ErrorResponse> handleResourceNotFoundException(
-            ResourceNotFoundException ex, WebRequest request) {
+    public ResponseEntity<byte[]> handleResourceNotFoundException(
+            ResourceNotFoundException ex, HttpServletRequest request) {
 
-        ErrorResponse errorResponse = ErrorResponse.builder()
-                .timestamp(LocalDateTime.now())
-                .status(HttpStatus.NOT_FOUND.value())
-                .error(HttpStatus.NOT_FOUND.getReasonPhrase())
-                .message(ex.getMessage())
-                .path(request.getDescription(false).replace("uri=", ""))
-                .build();
+        return errorResponse(HttpStatus.NOT_FOUND, ex.getMessage(), request.getRequestURI());
+    }
 
-        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+    /**
+     * Handle ServiceUnavailableException.
+     *
+     * @param ex      the exception
+     * @param request the current request
+     * @return the error response
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ResponseEntity<byte[]> handleServiceUnavailableException(
+            ServiceUnavailableException ex, HttpServletRequest request) {
+
+        return errorResponse(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), request.getRequestURI());
     }
 
     /**
@@ -52,24 +83,54 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(MethodArgumentNotValidException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
-    public ResponseEntity<Map<String, Object>> handleValidationExceptions(
+    public ResponseEntity<byte[]> handleValidationExceptions(
             MethodArgumentNotValidException ex) {
 
-        Map<String, String> errors = new HashMap<>();
-        ex.getBindingResult().getAllErrors().forEach(error -> {
-            String fieldName = ((FieldError) error).getField();
-            String errorMessage = error.getDefaultMessage();
-            errors.put(fieldName, errorMessage);
-        });
-
-        Map<String, Object> response = new HashMap<>();
-        response.put("timestamp", LocalDateTime.now());
-        response.put("status", HttpStatus.BAD_REQUEST.value());
-        response.put("error", HttpStatus.BAD_REQUEST.getReasonPhrase());
-        response.put("message", "Validation failed");
-        response.put("errors", errors);
-
-        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+        return new ResponseEntity<>(ErrorBodyWriter.validation(ex.getBindingResult().getAllErrors()),
+                JSON_HEADERS, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handle constraint violations raised by programmatic validation, such as a patched user.
+     *
+     * @param ex the exception
+     * @return the error response with validation errors
+     */
+    @ExceptionHandler(ConstraintViolationException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<byte[]> handleConstraintViolation(ConstraintViolationException ex) {
+        List<ObjectError> errors = new ArrayList<>(ex.getConstraintViolations().size());
+        for (ConstraintViolation<?> violation : ex.getConstraintViolations()) {
+            errors.add(new FieldError(violation.getRootBeanClass().getSimpleName(),
+                    violation.getPropertyPath().toString(), violation.getMessage()));
+        }
+        return new ResponseEntity<>(ErrorBodyWriter.validation(errors), JSON_HEADERS, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handle InvalidPatchException.
+     *
+     * @param ex      the exception
+     * @param request the current request
+     * @return the error response
+     */
+    @ExceptionHandler(InvalidPatchException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<byte[]> handleInvalidPatch(InvalidPatchException ex, HttpServletRequest request) {
+        return errorResponse(HttpStatus.BAD_REQUEST, ex.getMessage(), request.getRequestURI());
+    }
+
+    /**
+     * Handle InvalidChangeTokenException and InvalidLookupException.
+     *
+     * @param ex      the exception
+     * @param request the current request
+     * @return the error response
+     */
+    @ExceptionHandler({InvalidChangeTokenException.class, InvalidLookupException.class})
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<byte[]> handleInvalidRequest(DomainException ex, HttpServletRequest request) {
+        return errorResponse(HttpStatus.BAD_REQUEST, ex.getMessage(), request.getRequestURI());
     }
 
     /**
@@ -95,9 +156,88 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
-    @ExceptionHandler(OptimisticLockException.class)
-    public ResponseEntity<String> handleOptimisticLock(OptimisticLockException ex) {
-        return ResponseEntity.status(HttpStatus.CONFLICT)
-                .body("Conflict detected: The record was updated by another user. Please refresh and try again.");
+    /**
+     * Handle optimistic locking conflicts, raised either by JPA directly or translated by Spring.
+     *
+     * @param request the current request
+     * @return the error response
+     */
+    @ExceptionHandler({OptimisticLockException.class, ObjectOptimisticLockingFailureException.class})
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ResponseEntity<byte[]> handleOptimisticLock(HttpServletRequest request) {
+        return errorResponse(HttpStatus.CONFLICT, CONFLICT_MESSAGE, request.getRequestURI());
+    }
+
+    /**
+     * Handle concurrent updates to the same fields that could not be merged, listing those fields.
+     *
+     * @param ex      the exception
+     * @param request the current request
+     * @return the error response
+     */
+    @ExceptionHandler(ConflictingUpdateException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ResponseEntity<byte[]> handleConflictingUpdate(ConflictingUpdateException ex, HttpServletRequest request) {
+        return new ResponseEntity<>(ErrorBodyWriter.conflict(ex.getMessage(), request.getRequestURI(), ex.getFields()),
+                JSON_HEADERS, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handle constraint violations such as a duplicate email, which a retried create would otherwise hit.
+     *
+     * @param request the current request
+     * @return the error response
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ResponseEntity<byte[]> handleDataIntegrityViolation(HttpServletRequest request) {
+        return errorResponse(HttpStatus.CONFLICT, DATA_CONFLICT_MESSAGE, request.getRequestURI());
+    }
+
+    /**
+     * Handle PayloadTooLargeException.
+     *
+     * @param ex      the exception
+     * @param request the current request
+     * @return the error response
+     */
+    @ExceptionHandler(PayloadTooLargeException.class)
+    @ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+    public ResponseEntity<byte[]> handlePayloadTooLarge(PayloadTooLargeException ex, HttpServletRequest request) {
+        return errorResponse(HttpStatus.PAYLOAD_TOO_LARGE, ex.getMessage(), request.getRequestURI());
+    }
+
+    /**
+     * Handle IdempotencyKeyReuseException.
+     *
+     * @param ex      the exception
+     * @param request the current request
+     * @return the error response
+     */
+    @ExceptionHandler(IdempotencyKeyReuseException.class)
+    @ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+    public ResponseEntity<byte[]> handleIdempotencyKeyReuse(
+            IdempotencyKeyReuseException ex, HttpServletRequest request) {
+
+        return errorResponse(HttpStatus.UNPROCESSABLE_ENTITY, ex.getMessage(), request.getRequestURI());
+    }
+
+    /**
+     * Handle IdempotencyKeyInProgressException.
+     *
+     * @param ex      the exception
+     * @param request the current request
+     * @return the error response
+     */
+    @ExceptionHandler(IdempotencyKeyInProgressException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ResponseEntity<byte[]> handleIdempotencyKeyInProgress(
+            IdempotencyKeyInProgressException ex, HttpServletRequest request) {
+
+        return errorResponse(HttpStatus.CONFLICT, ex.getMessage(), request.getRequestURI());
+    }
+
+    private static ResponseEntity<byte[]> errorResponse(HttpStatus status, String message, String path) {
+        return new ResponseEntity<>(ErrorBodyWriter.error(status, message, path), JSON_HEADERS, status);
     }
 }
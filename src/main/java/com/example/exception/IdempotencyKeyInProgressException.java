@@ -0,0 +1,15 @@
+package com.example.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a request with the same idempotency key is still running on another instance.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class IdempotencyKeyInProgressException extends DomainException {
+
+    public IdempotencyKeyInProgressException(String message) {
+        super(message);
+    }
+}
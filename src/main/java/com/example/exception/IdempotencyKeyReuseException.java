@@ -0,0 +1,15 @@
+package com.example.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when an idempotency key is reused for a request with a different payload.
+ */
+@ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+public class IdempotencyKeyReuseException extends DomainException {
+
+    public IdempotencyKeyReuseException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a change feed continuation token cannot be read.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidChangeTokenException extends DomainException {
+
+    public InvalidChangeTokenException(String message) {
+        super(message);
+    }
+}
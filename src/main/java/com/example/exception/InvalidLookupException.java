@@ -0,0 +1,15 @@
+package com.example.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a batch lookup asks for no ids or for more than the configured maximum.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidLookupException extends DomainException {
+
+    public InvalidLookupException(String message) {
+        super(message);
+    }
+}
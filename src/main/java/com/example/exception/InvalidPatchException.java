@@ -0,0 +1,15 @@
+package com.example.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a merge patch document cannot be applied to a resource.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidPatchException extends DomainException {
+
+    public InvalidPatchException(String message) {
+        super(message);
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.mapper;
 
 import com.example.model.dto.UserDto;
+import com.example.model.dto.UserSummary;
 import com.example.model.entity.User;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -20,6 +21,15 @@ public interface UserMapper {
      */
     UserDto toDto(User user);
 
+    /**
+     * Convert a read-only projection to DTO.
+     *
+     * @param summary the projection
+     * @return the DTO, without a password
+     */
+    @Mapping(target = "password", ignore = true)
+    UserDto toDto(UserSummary summary);
+
     /**
      * Convert DTO to entity.
      *
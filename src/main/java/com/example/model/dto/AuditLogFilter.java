@@ -0,0 +1,29 @@
+package com.example.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Criteria for selecting audit logs; fields left null do not restrict the selection.
+ * The fields mirror the query endpoints of {@code /audit-logs}; {@code userId} and {@code email} match
+ * the user id and email inside payloads stored as documents, in the request or the response.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditLogFilter {
+
+    private String action;
+    private String endpoint;
+    private String httpMethod;
+    private String status;
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private Long userId;
+    private String email;
+}
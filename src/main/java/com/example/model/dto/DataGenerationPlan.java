@@ -0,0 +1,74 @@
+package com.example.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Size and shape of a synthetic data set.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DataGenerationPlan {
+
+    /**
+     * Number of users to add.
+     */
+    private long users;
+
+    /**
+     * Mean number of updates per user; every user also gets its creation revision.
+     * Update counts are geometrically distributed, so most users have few and some have many.
+     */
+    private double updatesPerUserMean;
+
+    /**
+     * Number of audit log documents to add.
+     */
+    private long auditLogs;
+
+    /**
+     * Relative weight of each audited action.
+     */
+    private Map<String, Integer> actionWeights;
+
+    /**
+     * Median request duration; durations are log-normally distributed around it.
+     */
+    private double durationMedianMs;
+
+    /**
+     * Standard deviation of the logarithm of the duration; larger values give a longer tail.
+     */
+    private double durationSigma;
+
+    /**
+     * Share of audited requests that failed, between 0 and 1.
+     */
+    private double errorRate;
+
+    /**
+     * Number of days before now over which creation and audit timestamps are spread.
+     */
+    private int spreadDays;
+
+    /**
+     * Number of rows or documents written per COPY, batch or bulk insert.
+     */
+    private int batchSize;
+
+    /**
+     * Number of batches written in parallel.
+     */
+    private int threads;
+
+    /**
+     * Seed of the random generators, so a data set can be reproduced.
+     */
+    private long seed;
+}
@@ -0,0 +1,22 @@
+package com.example.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Counts of the rows and documents written by a synthetic data run.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DataGenerationResult {
+
+    private long users;
+    private long revisions;
+    private long auditLogs;
+    private boolean copyProtocol;
+    private long elapsedMs;
+}
@@ -0,0 +1,29 @@
+package com.example.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of probing a single dependency.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DependencyHealth {
+
+    public static final String UP = "UP";
+    public static final String DOWN = "DOWN";
+
+    private String status;
+    private long latencyMs;
+    private String details;
+
+    @JsonIgnore
+    public boolean isUp() {
+        return UP.equals(status);
+    }
+}
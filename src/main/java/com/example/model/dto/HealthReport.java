@@ -0,0 +1,29 @@
+package com.example.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Health status of the application and its dependencies.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HealthReport {
+
+    private String status;
+    private LocalDateTime timestamp;
+    private Map<String, DependencyHealth> checks;
+
+    @JsonIgnore
+    public boolean isUp() {
+        return DependencyHealth.UP.equals(status);
+    }
+}
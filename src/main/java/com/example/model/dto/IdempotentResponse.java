@@ -0,0 +1,20 @@
+package com.example.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response of an idempotent request, as stored for replay.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotentResponse {
+
+    private String requestHash;
+    private int status;
+    private byte[] body;
+}
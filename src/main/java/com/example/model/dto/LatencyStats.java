@@ -0,0 +1,25 @@
+package com.example.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Latency percentiles of one action over a time window, in milliseconds.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LatencyStats {
+
+    private String action;
+    private long count;
+    private double meanMs;
+    private double p50Ms;
+    private double p90Ms;
+    private double p95Ms;
+    private double p99Ms;
+    private double maxMs;
+}
@@ -0,0 +1,29 @@
+package com.example.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * The latest state of a user changed since a change feed token, or a tombstone for a deleted user.
+ * A tombstone carries only the id; the password is never included.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserChange {
+
+    private Long id;
+    private boolean deleted;
+    private long revision;
+    private LocalDateTime changedAt;
+    private String firstName;
+    private String lastName;
+    private String email;
+}
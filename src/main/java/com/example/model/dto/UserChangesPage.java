@@ -0,0 +1,24 @@
+package com.example.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A page of the user change feed.
+ * {@code nextToken} is passed as {@code since} to get the following page; when {@code hasMore}
+ * is false the client is up to date and polls again later with the same token.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserChangesPage {
+
+    private List<UserChange> changes;
+    private String nextToken;
+    private boolean hasMore;
+}
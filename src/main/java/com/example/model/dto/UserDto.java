@@ -1,5 +1,6 @@
 package com.example.model.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -33,7 +34,11 @@ public class UserDto {
     @Email(message = "Email should be valid")
     private String email;
 
+    /**
+     * Accepted in requests but never written to responses or audit payloads.
+     */
     @NotBlank(message = "Password is required")
     @Size(min = 8, message = "Password must be at least 8 characters long")
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String password;
 }
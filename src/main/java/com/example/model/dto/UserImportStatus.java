@@ -0,0 +1,63 @@
+package com.example.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Progress of a background user import job.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportStatus {
+
+    /**
+     * Format of an uploaded user file.
+     */
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    /**
+     * Lifecycle of an import job.
+     */
+    public enum State {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    private String jobId;
+    private Format format;
+    private State state;
+    private long rowsRead;
+    private long rowsImported;
+    private long rowsRejected;
+    private double rowsPerSecond;
+    private long elapsedMs;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+
+    /**
+     * The first rejected rows; {@link #rowsRejected} counts all of them.
+     */
+    private List<RowRejection> rejections;
+
+    /**
+     * A rejected row and the reason.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowRejection {
+
+        private long line;
+        private String reason;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.model.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The ids to resolve in a batch user lookup.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserLookupRequest {
+
+    @NotEmpty(message = "At least one id is required")
+    private List<@NotNull(message = "Ids must not be null") Long> ids;
+}
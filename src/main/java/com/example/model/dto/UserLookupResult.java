@@ -0,0 +1,22 @@
+package com.example.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The outcome of one id of a batch user lookup; {@code user} is left out when no user has the id.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserLookupResult {
+
+    private Long id;
+    private boolean found;
+    private UserDto user;
+}
@@ -0,0 +1,14 @@
+package com.example.model.dto;
+
+/**
+ * Read-only projection of the user columns exposed by the API.
+ * Selected with a JPQL constructor expression, so it is never managed by the persistence
+ * context and never carries the password.
+ *
+ * @param id the id of the user
+ * @param firstName the first name
+ * @param lastName the last name
+ * @param email the email
+ */
+public record UserSummary(Long id, String firstName, String lastName, String email) {
+}
@@ -1,19 +1,37 @@
 package com.example.model.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "api_audit_logs")
+@CompoundIndex(name = "action_createdAt", def = "{'action': 1, 'createdAt': 1}")
+// Payload paths searched by AuditLogFilter; partial, so entries stored as strings are not indexed
+@CompoundIndex(name = "requestData_id_createdAt", def = "{'requestData.id': 1, 'createdAt': -1}",
+        partialFilter = "{'requestData.id': {$exists: true}}")
+@CompoundIndex(name = "responseData_id_createdAt", def = "{'responseData.id': 1, 'createdAt': -1}",
+        partialFilter = "{'responseData.id': {$exists: true}}")
+@CompoundIndex(name = "requestData_email_createdAt", def = "{'requestData.userDto.email': 1, 'createdAt': -1}",
+        partialFilter = "{'requestData.userDto.email': {$exists: true}}")
+@CompoundIndex(name = "responseData_email_createdAt", def = "{'responseData.email': 1, 'createdAt': -1}",
+        partialFilter = "{'responseData.email': {$exists: true}}")
+// Text search, newest first per term; partial, so entries written before search terms existed are not indexed
+@CompoundIndex(name = "searchTerms_createdAt", def = "{'searchTerms': 1, 'createdAt': -1}",
+        partialFilter = "{'searchTerms': {$exists: true}}")
 public class ApiAuditLog {
     
     @Id
@@ -25,6 +43,12 @@ public class ApiAuditLog {
     
     private String responsePayload;
     
+    // Set instead of the payload strings when app.audit.payload-format=document: the handler arguments
+    // by parameter name and the response body, stored as embedded documents
+    private Object requestData;
+    
+    private Object responseData;
+    
     private String httpMethod;
     
     private String endpoint;
@@ -33,8 +57,24 @@ public class ApiAuditLog {
     
     private String status;
     
+    private Long durationMicros;
+    
+    private Long responseSize;
+    
+    // Only set when a payload was cut at app.audit.max-payload-bytes
+    private Boolean payloadTruncated;
+    
+    private Integer dbStatements;
+    
+    private Map<String, Double> timings;
+    
+    // Terms of the endpoint and payloads, see AuditSearchTerms; internal to text search
+    @JsonIgnore
+    private List<String> searchTerms;
+    
     private String createdBy;
     
+    @Indexed
     private LocalDateTime createdAt;
     
     @Builder.Default
@@ -0,0 +1,41 @@
+package com.example.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Latency histogram of one action for one minute.
+ * Bucket counts are keyed by {@link com.example.utilities.LatencyHistogram} bucket index
+ * and are only ever incremented, so several instances can flush into the same document.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "api_latency_histograms")
+public class ApiLatencyHistogram {
+
+    @Id
+    private String id;
+
+    private String action;
+
+    @Indexed
+    private LocalDateTime bucketStart;
+
+    private long count;
+
+    private long sumMicros;
+
+    private long maxMicros;
+
+    private Map<String, Long> counts;
+}
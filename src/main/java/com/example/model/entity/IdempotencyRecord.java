@@ -0,0 +1,95 @@
+package com.example.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stored outcome of a request made with an {@code Idempotency-Key} header.
+ * The record is inserted with status {@link #IN_PROGRESS} before the request runs, which claims the key
+ * on every instance, and completed with the response once it succeeds.
+ * Implements {@link Persistable} so that saving a new record is a plain INSERT
+ * rather than a merge that first selects by the assigned id.
+ */
+@Entity
+@Table(name = "idempotency_keys",
+        indexes = @Index(name = "idx_idempotency_keys_expires_at", columnList = "expiresAt"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord implements Persistable<String> {
+
+    /**
+     * Status of a claimed key whose request is still running.
+     */
+    public static final int IN_PROGRESS = 0;
+
+    /**
+     * SHA-256 of the caller, HTTP method, path and client supplied key.
+     */
+    @Id
+    @Column(length = 64)
+    private String keyHash;
+
+    /**
+     * SHA-256 of the request payload, used to reject a key reused for a different request.
+     */
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    /**
+     * Response status, or {@link #IN_PROGRESS} while the request is running.
+     */
+    @Column(nullable = false)
+    private int status;
+
+    @JdbcTypeCode(SqlTypes.LONG32VARCHAR)
+    private String responseBody;
+
+    /**
+     * Time the key was claimed, which identifies the claim when completing or releasing it.
+     */
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * End of the retention period, or of the claim while the request is running.
+     */
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Transient
+    @Builder.Default
+    private boolean newRecord = true;
+
+    @Override
+    public String getId() {
+        return keyHash;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newRecord;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        newRecord = false;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.envers.RevisionEntity;
+import org.hibernate.envers.RevisionNumber;
+import org.hibernate.envers.RevisionTimestamp;
+
+/**
+ * Envers revision entity, mapped to the same {@code revinfo} table as the default one.
+ * Revision numbers are drawn from {@code revinfo_seq} one at a time instead of in pooled blocks of 50,
+ * so with several instances they follow the order in which revisions were started, which the user
+ * change feed relies on. An existing sequence keeps its increment; the resulting gaps are harmless.
+ */
+@Entity
+@RevisionEntity
+@Table(name = "revinfo")
+@Getter
+@Setter
+public class RevisionInfo {
+
+    public static final String SEQUENCE = "revinfo_seq";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = SEQUENCE)
+    @SequenceGenerator(name = SEQUENCE, sequenceName = SEQUENCE, allocationSize = 1)
+    @RevisionNumber
+    @Column(name = "rev")
+    private int id;
+
+    @RevisionTimestamp
+    @Column(name = "revtstmp")
+    private long timestamp;
+}
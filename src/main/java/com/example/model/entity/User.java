@@ -1,5 +1,6 @@
 package com.example.model.entity;
 
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.envers.Audited;
 
 import jakarta.persistence.*;
@@ -13,8 +14,10 @@ import lombok.NoArgsConstructor;
 
 /**
  * User entity for database mapping.
+ * Updates only write the columns that changed.
  */
 @Entity
+@DynamicUpdate
 @Audited
 @Table(name = "users")
 @Data
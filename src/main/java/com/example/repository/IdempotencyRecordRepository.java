@@ -0,0 +1,76 @@
+package com.example.repository;
+
+import com.example.model.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Spring Data JPA repository for the IdempotencyRecord entity.
+ */
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * Delete all records that expired before the given time in a single statement.
+     *
+     * @param now the current time
+     * @return the number of deleted records
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from IdempotencyRecord r where r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+    /**
+     * Claim a key whose record has expired, either a stored response past its retention or an
+     * in-progress claim whose owner never completed it.
+     *
+     * @param keyHash the hashed idempotency key
+     * @param requestHash the hash of the request payload
+     * @param now the current time, which also identifies the claim
+     * @param expiresAt the time the claim expires
+     * @return 1 if the key was claimed, 0 if it is held by an unexpired record
+     */
+    @Modifying
+    @Transactional
+    @Query("update IdempotencyRecord r set r.requestHash = :requestHash, r.status = 0, r.responseBody = null,"
+            + " r.createdAt = :now, r.expiresAt = :expiresAt where r.keyHash = :keyHash and r.expiresAt < :now")
+    int claimExpired(@Param("keyHash") String keyHash, @Param("requestHash") String requestHash,
+                     @Param("now") LocalDateTime now, @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Store the response of a claimed key.
+     *
+     * @param keyHash the hashed idempotency key
+     * @param claimedAt the time of the claim
+     * @param status the response status
+     * @param responseBody the response body
+     * @param expiresAt the end of the retention period
+     * @return 1 if the claim was still held, 0 if it had expired and been taken over
+     */
+    @Modifying
+    @Transactional
+    @Query("update IdempotencyRecord r set r.status = :status, r.responseBody = :responseBody, r.expiresAt = :expiresAt"
+            + " where r.keyHash = :keyHash and r.createdAt = :claimedAt and r.status = 0")
+    int complete(@Param("keyHash") String keyHash, @Param("claimedAt") LocalDateTime claimedAt,
+                 @Param("status") int status, @Param("responseBody") String responseBody,
+                 @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Release a claimed key without a response, so that the request can be retried.
+     *
+     * @param keyHash the hashed idempotency key
+     * @param claimedAt the time of the claim
+     * @return the number of deleted records
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from IdempotencyRecord r where r.keyHash = :keyHash and r.createdAt = :claimedAt and r.status = 0")
+    int release(@Param("keyHash") String keyHash, @Param("claimedAt") LocalDateTime claimedAt);
+}
@@ -1,9 +1,17 @@
 package com.example.repository;
 
+import com.example.model.dto.UserSummary;
 import com.example.model.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
 /**
  * Spring Data JPA repository for the User entity.
  */
@@ -25,4 +33,42 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return true if a user with the email exists, false otherwise
      */
     boolean existsByEmail(String email);
+
+    /**
+     * Find which of the given emails are already taken, in a single query.
+     *
+     * @param emails the emails to check
+     * @return the emails that belong to existing users
+     */
+    @Query("select u.email from User u where u.email in :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * Find all users as read-only projections of the exposed columns.
+     *
+     * @return the users
+     */
+    @Query("select new com.example.model.dto.UserSummary(u.id, u.firstName, u.lastName, u.email) from User u")
+    List<UserSummary> findAllSummaries();
+
+    /**
+     * Find a user by id as a read-only projection of the exposed columns.
+     *
+     * @param id the id of the user
+     * @return the user, if it exists
+     */
+    @Query("select new com.example.model.dto.UserSummary(u.id, u.firstName, u.lastName, u.email)"
+            + " from User u where u.id = :id")
+    Optional<UserSummary> findSummaryById(@Param("id") Long id);
+
+    /**
+     * Find the users with the given ids as read-only projections of the exposed columns, in a single query.
+     * Ids without a user are skipped.
+     *
+     * @param ids the ids of the users
+     * @return the users that exist, in no particular order
+     */
+    @Query("select new com.example.model.dto.UserSummary(u.id, u.firstName, u.lastName, u.email)"
+            + " from User u where u.id in :ids")
+    List<UserSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
 }
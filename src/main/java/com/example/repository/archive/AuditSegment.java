@@ -0,0 +1,360 @@
+package com.example.repository.archive;
+
+import com.example.model.entity.ApiAuditLog;
+import com.example.repository.nosql.ApiAuditLogCodec;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * An immutable, memory-mapped file of archived audit logs, written by {@link AuditSegmentWriter}.
+ * <p>
+ * Rows are stored in {@code createdAt} order, in row groups of up to {@link AuditSegmentWriter#ROW_GROUP_ROWS}
+ * rows. Within a row group each {@link Column} is stored separately and deflate-compressed: times and numbers
+ * as varint deltas, action, status, method, endpoint, client and user as a dictionary of the distinct values
+ * with a code per row, and the structured payloads and other rarely set fields as one BSON document per row.
+ * The footer holds the time range of every row group and the position of each of its columns, so a scan
+ * decompresses only the row groups overlapping its range, and the creation times of a row group before
+ * anything else.
+ * <pre>
+ * "AUDSEG01" | column chunks... | int rowGroups | per row group: int rows, long minCreatedAt, long maxCreatedAt,
+ *            per column: long offset, int compressedLength, int rawLength | long footerOffset | "AUDSEG01"
+ * </pre>
+ * Times are stored as UTC epoch milliseconds, like the codec stores them in MongoDB.
+ */
+public final class AuditSegment {
+
+    static final byte[] MAGIC = "AUDSEG01".getBytes(StandardCharsets.US_ASCII);
+    static final int ROW_GROUP_HEADER_BYTES = Integer.BYTES + 2 * Long.BYTES;
+    static final int COLUMN_ENTRY_BYTES = Long.BYTES + 2 * Integer.BYTES;
+
+    private static final ApiAuditLogCodec CODEC = new ApiAuditLogCodec();
+
+    enum Kind { LONG, STRING, DICTIONARY, BSON }
+
+    /**
+     * The columns of a row group, in file order.
+     */
+    enum Column {
+        CREATED_AT(Kind.LONG, log -> ApiAuditLogCodec.toEpochMilli(log.getCreatedAt()),
+                (log, v) -> log.setCreatedAt(ApiAuditLogCodec.toLocalDateTime((Long) v))),
+        ID(Kind.STRING, ApiAuditLog::getId, (log, v) -> log.setId((String) v)),
+        ACTION(Kind.DICTIONARY, ApiAuditLog::getAction, (log, v) -> log.setAction((String) v)),
+        STATUS(Kind.DICTIONARY, ApiAuditLog::getStatus, (log, v) -> log.setStatus((String) v)),
+        HTTP_METHOD(Kind.DICTIONARY, ApiAuditLog::getHttpMethod, (log, v) -> log.setHttpMethod((String) v)),
+        ENDPOINT(Kind.DICTIONARY, ApiAuditLog::getEndpoint, (log, v) -> log.setEndpoint((String) v)),
+        CLIENT_IP(Kind.DICTIONARY, ApiAuditLog::getClientIp, (log, v) -> log.setClientIp((String) v)),
+        CREATED_BY(Kind.DICTIONARY, ApiAuditLog::getCreatedBy, (log, v) -> log.setCreatedBy((String) v)),
+        DURATION_MICROS(Kind.LONG, ApiAuditLog::getDurationMicros, (log, v) -> log.setDurationMicros((Long) v)),
+        RESPONSE_SIZE(Kind.LONG, ApiAuditLog::getResponseSize, (log, v) -> log.setResponseSize((Long) v)),
+        TIMESTAMP(Kind.LONG,
+                log -> log.getTimestamp() == null ? null : ApiAuditLogCodec.toEpochMilli(log.getTimestamp()),
+                (log, v) -> log.setTimestamp(ApiAuditLogCodec.toLocalDateTime((Long) v))),
+        REQUEST_PAYLOAD(Kind.STRING, ApiAuditLog::getRequestPayload, (log, v) -> log.setRequestPayload((String) v)),
+        RESPONSE_PAYLOAD(Kind.STRING, ApiAuditLog::getResponsePayload, (log, v) -> log.setResponsePayload((String) v)),
+        EXTRAS(Kind.BSON, AuditSegment::encodeExtras, (log, v) -> decodeExtras(log, (byte[]) v));
+
+        final Kind kind;
+        final Function<ApiAuditLog, Object> getter;
+        final BiConsumer<ApiAuditLog, Object> setter;
+
+        Column(Kind kind, Function<ApiAuditLog, Object> getter, BiConsumer<ApiAuditLog, Object> setter) {
+            this.kind = kind;
+            this.getter = getter;
+            this.setter = setter;
+        }
+    }
+
+    private final String name;
+    private final ByteBuffer data;
+    private final RowGroup[] rowGroups;
+    private final int rowCount;
+
+    private AuditSegment(String name, ByteBuffer data) throws IOException {
+        this.name = name;
+        this.data = data;
+        int size = data.capacity();
+        int trailer = Long.BYTES + MAGIC.length;
+        if (size < MAGIC.length + Integer.BYTES + trailer
+                || !data.slice(0, MAGIC.length).equals(ByteBuffer.wrap(MAGIC))
+                || !data.slice(size - MAGIC.length, MAGIC.length).equals(ByteBuffer.wrap(MAGIC))) {
+            throw new IOException("Not an audit segment: " + name);
+        }
+        int footerOffset = (int) data.getLong(size - trailer);
+        ByteBuffer footer = data.slice(footerOffset, size - trailer - footerOffset);
+        int columns = Column.values().length;
+        this.rowGroups = new RowGroup[footer.getInt()];
+        int rows = 0;
+        for (int g = 0; g < rowGroups.length; g++) {
+            int groupRows = footer.getInt();
+            long min = footer.getLong();
+            long max = footer.getLong();
+            int[] offsets = new int[columns];
+            int[] lengths = new int[columns];
+            int[] rawLengths = new int[columns];
+            for (int c = 0; c < columns; c++) {
+                offsets[c] = (int) footer.getLong();
+                lengths[c] = footer.getInt();
+                rawLengths[c] = footer.getInt();
+            }
+            rowGroups[g] = new RowGroup(groupRows, min, max, offsets, lengths, rawLengths);
+            rows += groupRows;
+        }
+        this.rowCount = rows;
+    }
+
+    /**
+     * Map a segment file. The mapping stays valid after the file is renamed or deleted.
+     *
+     * @param path the segment file
+     * @return the segment
+     * @throws IOException if the file cannot be read or is not a complete segment
+     */
+    public static AuditSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Audit segment too large to map: " + path);
+            }
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new AuditSegment(path.getFileName().toString(), data);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public LocalDateTime getMinCreatedAt() {
+        return rowGroups.length == 0 ? null : ApiAuditLogCodec.toLocalDateTime(rowGroups[0].minCreatedAt());
+    }
+
+    public LocalDateTime getMaxCreatedAt() {
+        return rowGroups.length == 0
+                ? null : ApiAuditLogCodec.toLocalDateTime(rowGroups[rowGroups.length - 1].maxCreatedAt());
+    }
+
+    /**
+     * Whether the segment may hold audit logs created strictly between two times.
+     *
+     * @param start the exclusive start
+     * @param end the exclusive end
+     * @return whether the time ranges overlap
+     */
+    public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        return rowGroups.length > 0
+                && rowGroups[rowGroups.length - 1].maxCreatedAt() > ApiAuditLogCodec.toEpochMilli(start)
+                && rowGroups[0].minCreatedAt() < ApiAuditLogCodec.toEpochMilli(end);
+    }
+
+    /**
+     * Read the audit logs created strictly between two times, in creation order.
+     * Row groups are decompressed one at a time as the stream is consumed.
+     *
+     * @param start the exclusive start
+     * @param end the exclusive end
+     * @return the audit logs
+     */
+    public Stream<ApiAuditLog> scan(LocalDateTime start, LocalDateTime end) {
+        long from = ApiAuditLogCodec.toEpochMilli(start);
+        long to = ApiAuditLogCodec.toEpochMilli(end);
+        return Arrays.stream(rowGroups)
+                .filter(group -> group.maxCreatedAt() > from && group.minCreatedAt() < to)
+                .flatMap(group -> read(group, from, to).stream());
+    }
+
+    /**
+     * Pass the ids of every row group to an action, one row group at a time.
+     *
+     * @param action receives the ids of a row group
+     */
+    public void forEachIdBatch(Consumer<List<String>> action) {
+        for (RowGroup group : rowGroups) {
+            Object[] ids = decode(group, Column.ID);
+            List<String> batch = new ArrayList<>(ids.length);
+            for (Object id : ids) {
+                if (id != null) {
+                    batch.add((String) id);
+                }
+            }
+            action.accept(batch);
+        }
+    }
+
+    private List<ApiAuditLog> read(RowGroup group, long from, long to) {
+        Object[] createdAt = decode(group, Column.CREATED_AT);
+        int first = 0;
+        while (first < createdAt.length && (Long) createdAt[first] <= from) {
+            first++;
+        }
+        int last = createdAt.length;
+        while (last > first && (Long) createdAt[last - 1] >= to) {
+            last--;
+        }
+        List<ApiAuditLog> logs = new ArrayList<>(last - first);
+        if (first == last) {
+            return logs;
+        }
+        for (int i = first; i < last; i++) {
+            ApiAuditLog log = new ApiAuditLog();
+            // The no-args constructor defaults the timestamp to now; a row without one reads as null
+            log.setTimestamp(null);
+            logs.add(log);
+        }
+        for (Column column : Column.values()) {
+            Object[] values = column == Column.CREATED_AT ? createdAt : decode(group, column);
+            for (int i = first; i < last; i++) {
+                if (values[i] != null) {
+                    column.setter.accept(logs.get(i - first), values[i]);
+                }
+            }
+        }
+        return logs;
+    }
+
+    private Object[] decode(RowGroup group, Column column) {
+        ByteBuffer raw = ByteBuffer.wrap(inflate(group, column.ordinal()));
+        Object[] values = new Object[group.rows()];
+        switch (column.kind) {
+            case LONG -> {
+                byte[] present = presence(raw, values.length);
+                long previous = 0;
+                for (int i = 0; i < values.length; i++) {
+                    if (isPresent(present, i)) {
+                        long v = readVarLong(raw);
+                        previous += (v >>> 1) ^ -(v & 1);
+                        values[i] = previous;
+                    }
+                }
+            }
+            case STRING, BSON -> {
+                byte[] present = presence(raw, values.length);
+                for (int i = 0; i < values.length; i++) {
+                    if (isPresent(present, i)) {
+                        byte[] bytes = new byte[(int) readVarLong(raw)];
+                        raw.get(bytes);
+                        values[i] = column.kind == Kind.STRING ? new String(bytes, StandardCharsets.UTF_8) : bytes;
+                    }
+                }
+            }
+            case DICTIONARY -> {
+                String[] dictionary = new String[(int) readVarLong(raw)];
+                for (int d = 0; d < dictionary.length; d++) {
+                    byte[] bytes = new byte[(int) readVarLong(raw)];
+                    raw.get(bytes);
+                    dictionary[d] = new String(bytes, StandardCharsets.UTF_8);
+                }
+                for (int i = 0; i < values.length; i++) {
+                    int code = (int) readVarLong(raw);
+                    values[i] = code == 0 ? null : dictionary[code - 1];
+                }
+            }
+        }
+        return values;
+    }
+
+    private byte[] inflate(RowGroup group, int column) {
+        byte[] raw = new byte[group.rawLengths()[column]];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data.slice(group.offsets()[column], group.lengths()[column]));
+            int length = 0;
+            while (length < raw.length) {
+                int inflated = inflater.inflate(raw, length, raw.length - length);
+                if (inflated == 0 && (inflater.finished() || inflater.needsInput())) {
+                    throw new DataFormatException("column ends early");
+                }
+                length += inflated;
+            }
+            return raw;
+        } catch (DataFormatException ex) {
+            throw new IllegalStateException("Corrupt audit segment " + name, ex);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static byte[] presence(ByteBuffer raw, int rows) {
+        byte[] present = new byte[(rows + 7) / 8];
+        raw.get(present);
+        return present;
+    }
+
+    private static boolean isPresent(byte[] present, int row) {
+        return (present[row >>> 3] & (1 << (row & 7))) != 0;
+    }
+
+    private static long readVarLong(ByteBuffer raw) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = raw.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Encode the fields without a column of their own as a BSON document, or null if none is set.
+     */
+    static byte[] encodeExtras(ApiAuditLog auditLog) {
+        if (auditLog.getRequestData() == null && auditLog.getResponseData() == null
+                && auditLog.getPayloadTruncated() == null && auditLog.getDbStatements() == null
+                && auditLog.getTimings() == null) {
+            return null;
+        }
+        ApiAuditLog extras = ApiAuditLog.builder()
+                .requestData(auditLog.getRequestData())
+                .responseData(auditLog.getResponseData())
+                .payloadTruncated(auditLog.getPayloadTruncated())
+                .dbStatements(auditLog.getDbStatements())
+                .timings(auditLog.getTimings())
+                .timestamp(null)
+                .build();
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        try (BsonBinaryWriter writer = new BsonBinaryWriter(buffer)) {
+            CODEC.encode(writer, extras, EncoderContext.builder().build());
+        }
+        return buffer.toByteArray();
+    }
+
+    private static void decodeExtras(ApiAuditLog auditLog, byte[] bytes) {
+        ApiAuditLog extras;
+        try (BsonBinaryReader reader = new BsonBinaryReader(ByteBuffer.wrap(bytes))) {
+            extras = CODEC.decode(reader, DecoderContext.builder().build());
+        }
+        auditLog.setRequestData(extras.getRequestData());
+        auditLog.setResponseData(extras.getResponseData());
+        auditLog.setPayloadTruncated(extras.getPayloadTruncated());
+        auditLog.setDbStatements(extras.getDbStatements());
+        auditLog.setTimings(extras.getTimings());
+    }
+
+    private record RowGroup(int rows, long minCreatedAt, long maxCreatedAt,
+                            int[] offsets, int[] lengths, int[] rawLengths) {
+    }
+}
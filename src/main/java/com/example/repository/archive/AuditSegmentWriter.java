@@ -0,0 +1,268 @@
+package com.example.repository.archive;
+
+import com.example.model.entity.ApiAuditLog;
+import com.example.repository.nosql.ApiAuditLogCodec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.zip.Deflater;
+
+/**
+ * Writes an {@link AuditSegment} file. Audit logs are appended in {@code createdAt} order and
+ * buffered into row groups of {@link #ROW_GROUP_ROWS} rows; each full row group is encoded
+ * column by column, compressed and written out, so memory use does not grow with the segment.
+ * <p>
+ * The file is written under a temporary name and moved to its final name by {@link #finish()}
+ * once it is complete and synced, so a segment file is never seen half written.
+ */
+public final class AuditSegmentWriter implements AutoCloseable {
+
+    /**
+     * The number of rows per row group, the unit in which segments are decompressed and pruned.
+     */
+    public static final int ROW_GROUP_ROWS = 1024;
+
+    /**
+     * The size beyond which a segment should be finished; segments are memory-mapped as a whole.
+     */
+    public static final long MAX_SEGMENT_BYTES = 1L << 30;
+
+    private final Path target;
+    private final Path temp;
+    private final FileChannel channel;
+    private final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+    private final List<ApiAuditLog> rows = new ArrayList<>(ROW_GROUP_ROWS);
+    private final ByteArrayOutputStream footer = new ByteArrayOutputStream();
+    private byte[] compressed = new byte[64 * 1024];
+    private long position;
+    private long lastCreatedAt = Long.MIN_VALUE;
+    private int rowCount;
+    private int rowGroupCount;
+    private boolean finished;
+
+    /**
+     * Start a segment that is moved to the given path once finished.
+     *
+     * @param target the path of the finished segment
+     * @throws IOException if the temporary file cannot be created
+     */
+    public AuditSegmentWriter(Path target) throws IOException {
+        this.target = target;
+        this.temp = target.resolveSibling(target.getFileName() + ".tmp");
+        this.channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        write(ByteBuffer.wrap(AuditSegment.MAGIC));
+    }
+
+    /**
+     * Append an audit log.
+     *
+     * @param auditLog the audit log, created no earlier than the previous one
+     * @throws IOException if a row group cannot be written
+     * @throws IllegalArgumentException if the audit log has no creation time or is out of order
+     */
+    public void append(ApiAuditLog auditLog) throws IOException {
+        if (auditLog.getCreatedAt() == null) {
+            throw new IllegalArgumentException("Audit log " + auditLog.getId() + " has no creation time");
+        }
+        long createdAt = ApiAuditLogCodec.toEpochMilli(auditLog.getCreatedAt());
+        if (createdAt < lastCreatedAt) {
+            throw new IllegalArgumentException("Audit logs must be appended in creation order");
+        }
+        lastCreatedAt = createdAt;
+        rows.add(auditLog);
+        rowCount++;
+        if (rows.size() == ROW_GROUP_ROWS) {
+            flushRowGroup();
+        }
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Get the number of bytes written so far, excluding the buffered rows.
+     *
+     * @return the size of the file so far
+     */
+    public long size() {
+        return position;
+    }
+
+    /**
+     * Write the remaining rows and the footer, sync the file and move it to its final name.
+     *
+     * @return the path of the finished segment
+     * @throws IOException if the segment cannot be written
+     */
+    public Path finish() throws IOException {
+        if (!rows.isEmpty()) {
+            flushRowGroup();
+        }
+        long footerOffset = position;
+        ByteBuffer trailer = ByteBuffer.allocate(Integer.BYTES + footer.size() + Long.BYTES + AuditSegment.MAGIC.length);
+        trailer.putInt(rowGroupCount).put(footer.toByteArray()).putLong(footerOffset).put(AuditSegment.MAGIC).flip();
+        write(trailer);
+        channel.force(true);
+        channel.close();
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        finished = true;
+        return target;
+    }
+
+    /**
+     * Discard an unfinished segment.
+     */
+    @Override
+    public void close() throws IOException {
+        deflater.end();
+        if (!finished) {
+            channel.close();
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void flushRowGroup() throws IOException {
+        ByteBuffer entry = ByteBuffer.allocate(AuditSegment.ROW_GROUP_HEADER_BYTES
+                + AuditSegment.Column.values().length * AuditSegment.COLUMN_ENTRY_BYTES);
+        entry.putInt(rows.size())
+                .putLong(ApiAuditLogCodec.toEpochMilli(rows.getFirst().getCreatedAt()))
+                .putLong(ApiAuditLogCodec.toEpochMilli(rows.getLast().getCreatedAt()));
+        for (AuditSegment.Column column : AuditSegment.Column.values()) {
+            byte[] raw = encode(column);
+            int length = compress(raw);
+            entry.putLong(position).putInt(length).putInt(raw.length);
+            write(ByteBuffer.wrap(compressed, 0, length));
+        }
+        footer.write(entry.array());
+        rowGroupCount++;
+        rows.clear();
+    }
+
+    private byte[] encode(AuditSegment.Column column) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        switch (column.kind) {
+            case LONG -> encodeLongs(out, row -> (Long) column.getter.apply(row));
+            case STRING -> encodeBytes(out, row -> utf8((String) column.getter.apply(row)));
+            case DICTIONARY -> encodeDictionary(out, row -> (String) column.getter.apply(row));
+            case BSON -> encodeBytes(out, row -> (byte[]) column.getter.apply(row));
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * A presence bitmap followed by the zigzag varint delta of each present value from the previous one.
+     */
+    private void encodeLongs(ByteArrayOutputStream out, Function<ApiAuditLog, Long> value) {
+        byte[] present = new byte[(rows.size() + 7) / 8];
+        ByteArrayOutputStream values = new ByteArrayOutputStream();
+        long previous = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            Long v = value.apply(rows.get(i));
+            if (v != null) {
+                present[i >>> 3] |= (byte) (1 << (i & 7));
+                writeVarLong(values, zigzag(v - previous));
+                previous = v;
+            }
+        }
+        out.writeBytes(present);
+        out.writeBytes(values.toByteArray());
+    }
+
+    /**
+     * A presence bitmap followed by the varint length and bytes of each present value.
+     */
+    private void encodeBytes(ByteArrayOutputStream out, Function<ApiAuditLog, byte[]> value) {
+        byte[] present = new byte[(rows.size() + 7) / 8];
+        ByteArrayOutputStream values = new ByteArrayOutputStream();
+        for (int i = 0; i < rows.size(); i++) {
+            byte[] v = value.apply(rows.get(i));
+            if (v != null) {
+                present[i >>> 3] |= (byte) (1 << (i & 7));
+                writeVarLong(values, v.length);
+                values.writeBytes(v);
+            }
+        }
+        out.writeBytes(present);
+        out.writeBytes(values.toByteArray());
+    }
+
+    /**
+     * The distinct values of the row group, followed by a varint code per row: 0 for null, else the index plus one.
+     */
+    private void encodeDictionary(ByteArrayOutputStream out, Function<ApiAuditLog, String> value) {
+        Map<String, Integer> codes = new HashMap<>();
+        List<String> dictionary = new ArrayList<>();
+        ByteArrayOutputStream values = new ByteArrayOutputStream();
+        for (ApiAuditLog row : rows) {
+            String v = value.apply(row);
+            if (v == null) {
+                writeVarLong(values, 0);
+                continue;
+            }
+            Integer code = codes.get(v);
+            if (code == null) {
+                dictionary.add(v);
+                code = dictionary.size();
+                codes.put(v, code);
+            }
+            writeVarLong(values, code);
+        }
+        writeVarLong(out, dictionary.size());
+        for (String entry : dictionary) {
+            byte[] bytes = utf8(entry);
+            writeVarLong(out, bytes.length);
+            out.writeBytes(bytes);
+        }
+        out.writeBytes(values.toByteArray());
+    }
+
+    private int compress(byte[] raw) {
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == compressed.length) {
+                compressed = Arrays.copyOf(compressed, compressed.length * 2);
+            }
+            length += deflater.deflate(compressed, length, compressed.length - length);
+        }
+        return length;
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer);
+        }
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+}
@@ -0,0 +1,297 @@
+package com.example.repository.nosql;
+
+import com.example.model.entity.ApiAuditLog;
+import org.bson.BsonBinary;
+import org.bson.BsonObjectId;
+import org.bson.BsonReader;
+import org.bson.BsonString;
+import org.bson.BsonType;
+import org.bson.BsonValue;
+import org.bson.BsonWriter;
+import org.bson.codecs.CollectibleCodec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * BSON codec for {@link ApiAuditLog}, registered with the MongoDB client in {@code MongoConfig}.
+ * Fields are written and read directly, without the reflective mapping of {@code MappingMongoConverter},
+ * and produce the same documents: null fields are omitted, ids that are valid ObjectId hex strings are
+ * stored as ObjectIds and times are stored as UTC instants.
+ * <p>
+ * Structured payloads hold the maps, lists and scalars produced from Jackson's token stream; they
+ * are written as embedded documents and arrays and read back as {@link org.bson.Document}s and lists.
+ */
+public class ApiAuditLogCodec implements CollectibleCodec<ApiAuditLog> {
+
+    private static final String ID = "_id";
+
+    @Override
+    public void encode(BsonWriter writer, ApiAuditLog auditLog, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        if (auditLog.getId() != null) {
+            writer.writeName(ID);
+            writeId(writer, auditLog.getId());
+        }
+        writeString(writer, "action", auditLog.getAction());
+        writeString(writer, "requestPayload", auditLog.getRequestPayload());
+        writeString(writer, "responsePayload", auditLog.getResponsePayload());
+        writeData(writer, "requestData", auditLog.getRequestData());
+        writeData(writer, "responseData", auditLog.getResponseData());
+        writeString(writer, "httpMethod", auditLog.getHttpMethod());
+        writeString(writer, "endpoint", auditLog.getEndpoint());
+        writeString(writer, "clientIp", auditLog.getClientIp());
+        writeString(writer, "status", auditLog.getStatus());
+        writeLong(writer, "durationMicros", auditLog.getDurationMicros());
+        writeLong(writer, "responseSize", auditLog.getResponseSize());
+        if (auditLog.getPayloadTruncated() != null) {
+            writer.writeBoolean("payloadTruncated", auditLog.getPayloadTruncated());
+        }
+        if (auditLog.getDbStatements() != null) {
+            writer.writeInt32("dbStatements", auditLog.getDbStatements());
+        }
+        if (auditLog.getTimings() != null) {
+            writer.writeStartDocument("timings");
+            for (Map.Entry<String, Double> timing : auditLog.getTimings().entrySet()) {
+                if (timing.getValue() != null) {
+                    writer.writeDouble(timing.getKey(), timing.getValue());
+                }
+            }
+            writer.writeEndDocument();
+        }
+        if (auditLog.getSearchTerms() != null) {
+            writer.writeStartArray("searchTerms");
+            for (String term : auditLog.getSearchTerms()) {
+                writer.writeString(term);
+            }
+            writer.writeEndArray();
+        }
+        writeString(writer, "createdBy", auditLog.getCreatedBy());
+        writeDateTime(writer, "createdAt", auditLog.getCreatedAt());
+        writeDateTime(writer, "timestamp", auditLog.getTimestamp());
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public ApiAuditLog decode(BsonReader reader, DecoderContext decoderContext) {
+        ApiAuditLog auditLog = new ApiAuditLog();
+        // The no-args constructor defaults the timestamp to now; a document without one decodes as null
+        auditLog.setTimestamp(null);
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String name = reader.readName();
+            if (reader.getCurrentBsonType() == BsonType.NULL) {
+                reader.readNull();
+                continue;
+            }
+            switch (name) {
+                case ID -> auditLog.setId(reader.getCurrentBsonType() == BsonType.OBJECT_ID
+                        ? reader.readObjectId().toHexString() : reader.readString());
+                case "action" -> auditLog.setAction(reader.readString());
+                case "requestPayload" -> auditLog.setRequestPayload(reader.readString());
+                case "responsePayload" -> auditLog.setResponsePayload(reader.readString());
+                case "requestData" -> auditLog.setRequestData(readData(reader));
+                case "responseData" -> auditLog.setResponseData(readData(reader));
+                case "httpMethod" -> auditLog.setHttpMethod(reader.readString());
+                case "endpoint" -> auditLog.setEndpoint(reader.readString());
+                case "clientIp" -> auditLog.setClientIp(reader.readString());
+                case "status" -> auditLog.setStatus(reader.readString());
+                case "durationMicros" -> auditLog.setDurationMicros(readLong(reader));
+                case "responseSize" -> auditLog.setResponseSize(readLong(reader));
+                case "payloadTruncated" -> auditLog.setPayloadTruncated(reader.readBoolean());
+                case "dbStatements" -> auditLog.setDbStatements((int) readLong(reader));
+                case "timings" -> auditLog.setTimings(readTimings(reader));
+                case "searchTerms" -> auditLog.setSearchTerms(readStrings(reader));
+                case "createdBy" -> auditLog.setCreatedBy(reader.readString());
+                case "createdAt" -> auditLog.setCreatedAt(toLocalDateTime(reader.readDateTime()));
+                case "timestamp" -> auditLog.setTimestamp(toLocalDateTime(reader.readDateTime()));
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        return auditLog;
+    }
+
+    @Override
+    public Class<ApiAuditLog> getEncoderClass() {
+        return ApiAuditLog.class;
+    }
+
+    @Override
+    public ApiAuditLog generateIdIfAbsentFromDocument(ApiAuditLog auditLog) {
+        if (auditLog.getId() == null) {
+            auditLog.setId(new ObjectId().toHexString());
+        }
+        return auditLog;
+    }
+
+    @Override
+    public boolean documentHasId(ApiAuditLog auditLog) {
+        return auditLog.getId() != null;
+    }
+
+    @Override
+    public BsonValue getDocumentId(ApiAuditLog auditLog) {
+        String id = auditLog.getId();
+        return ObjectId.isValid(id) ? new BsonObjectId(new ObjectId(id)) : new BsonString(id);
+    }
+
+    /**
+     * Convert a stored UTC instant, as written by this codec and by {@code MongoConfig}'s converters.
+     * Also used for the instants of archived audit segments.
+     */
+    public static LocalDateTime toLocalDateTime(long epochMilli) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMilli, 1000),
+                Math.floorMod(epochMilli, 1000) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    public static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static void writeId(BsonWriter writer, String id) {
+        if (ObjectId.isValid(id)) {
+            writer.writeObjectId(new ObjectId(id));
+        } else {
+            writer.writeString(id);
+        }
+    }
+
+    private static void writeString(BsonWriter writer, String name, String value) {
+        if (value != null) {
+            writer.writeString(name, value);
+        }
+    }
+
+    private static void writeLong(BsonWriter writer, String name, Long value) {
+        if (value != null) {
+            writer.writeInt64(name, value);
+        }
+    }
+
+    private static void writeDateTime(BsonWriter writer, String name, LocalDateTime value) {
+        if (value != null) {
+            writer.writeDateTime(name, toEpochMilli(value));
+        }
+    }
+
+    private static void writeData(BsonWriter writer, String name, Object value) {
+        if (value != null) {
+            writer.writeName(name);
+            writeValue(writer, value);
+        }
+    }
+
+    private static void writeValue(BsonWriter writer, Object value) {
+        switch (value) {
+            case null -> writer.writeNull();
+            case Map<?, ?> map -> {
+                writer.writeStartDocument();
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    writer.writeName(String.valueOf(entry.getKey()));
+                    writeValue(writer, entry.getValue());
+                }
+                writer.writeEndDocument();
+            }
+            case List<?> list -> {
+                writer.writeStartArray();
+                for (Object element : list) {
+                    writeValue(writer, element);
+                }
+                writer.writeEndArray();
+            }
+            case String text -> writer.writeString(text);
+            case Boolean bool -> writer.writeBoolean(bool);
+            case Integer i -> writer.writeInt32(i);
+            case Long l -> writer.writeInt64(l);
+            case Double d -> writer.writeDouble(d);
+            case BigDecimal dec -> writer.writeDecimal128(new Decimal128(dec));
+            case BigInteger big -> writer.writeDecimal128(new Decimal128(new BigDecimal(big)));
+            case Number number -> writer.writeDouble(number.doubleValue());
+            case byte[] bytes -> writer.writeBinaryData(new BsonBinary(bytes));
+            default -> writer.writeString(value.toString());
+        }
+    }
+
+    private static Object readData(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case DOCUMENT -> {
+                org.bson.Document document = new org.bson.Document();
+                reader.readStartDocument();
+                while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                    document.put(reader.readName(), readData(reader));
+                }
+                reader.readEndDocument();
+                yield document;
+            }
+            case ARRAY -> {
+                List<Object> list = new ArrayList<>();
+                reader.readStartArray();
+                while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                    list.add(readData(reader));
+                }
+                reader.readEndArray();
+                yield list;
+            }
+            case STRING -> reader.readString();
+            case BOOLEAN -> reader.readBoolean();
+            case INT32 -> reader.readInt32();
+            case INT64 -> reader.readInt64();
+            case DOUBLE -> reader.readDouble();
+            case DECIMAL128 -> reader.readDecimal128().bigDecimalValue();
+            case BINARY -> reader.readBinaryData().getData();
+            case DATE_TIME -> toLocalDateTime(reader.readDateTime());
+            case NULL -> {
+                reader.readNull();
+                yield null;
+            }
+            default -> {
+                reader.skipValue();
+                yield null;
+            }
+        };
+    }
+
+    private static long readLong(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case INT32 -> reader.readInt32();
+            case DOUBLE -> (long) reader.readDouble();
+            default -> reader.readInt64();
+        };
+    }
+
+    private static List<String> readStrings(BsonReader reader) {
+        List<String> values = new ArrayList<>();
+        reader.readStartArray();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            values.add(reader.readString());
+        }
+        reader.readEndArray();
+        return values;
+    }
+
+    private static Map<String, Double> readTimings(BsonReader reader) {
+        Map<String, Double> timings = new LinkedHashMap<>();
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String name = reader.readName();
+            timings.put(name, switch (reader.getCurrentBsonType()) {
+                case INT32 -> (double) reader.readInt32();
+                case INT64 -> (double) reader.readInt64();
+                default -> reader.readDouble();
+            });
+        }
+        reader.readEndDocument();
+        return timings;
+    }
+}
@@ -8,7 +8,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface ApiAuditLogRepository extends MongoRepository<ApiAuditLog, String> {
+public interface ApiAuditLogRepository extends MongoRepository<ApiAuditLog, String>, ApiAuditLogRepositoryCustom {
     
     List<ApiAuditLog> findByAction(String action);
     
@@ -19,4 +19,6 @@ public interface ApiAuditLogRepository extends MongoRepository<ApiAuditLog, Stri
     List<ApiAuditLog> findByHttpMethod(String httpMethod);
     
     List<ApiAuditLog> findByStatus(String status);
+    
+    long countByStatus(String status);
 }
@@ -0,0 +1,63 @@
+package com.example.repository.nosql;
+
+import com.example.model.entity.ApiAuditLog;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Audit log operations that encode and decode documents with {@link ApiAuditLogCodec}
+ * instead of the mapping converter.
+ */
+public interface ApiAuditLogRepositoryCustom {
+
+    /**
+     * Insert an audit log, assigning its id if it has none.
+     *
+     * @param auditLog the audit log
+     * @return the inserted audit log
+     */
+    ApiAuditLog append(ApiAuditLog auditLog);
+
+    /**
+     * Delete audit logs by id with a single delete on the collection, so the template's query
+     * timeout does not apply. Ids that no longer exist are ignored.
+     *
+     * @param ids the ids of the audit logs
+     * @return the number of deleted audit logs
+     */
+    long removeAllById(List<String> ids);
+
+    /**
+     * Stream the audit logs matching a query, in its sort order.
+     * The stream holds a server cursor and must be closed.
+     *
+     * @param query the criteria and sort order
+     * @param batchSize the number of documents per cursor batch
+     * @return the matching audit logs
+     */
+    Stream<ApiAuditLog> streamDecoded(Query query, int batchSize);
+
+    /**
+     * Find a page of the audit logs matching a query.
+     *
+     * @param query the criteria
+     * @param pageable the page and its sort order
+     * @return the page of matching audit logs
+     */
+    Page<ApiAuditLog> findDecoded(Query query, Pageable pageable);
+
+    /**
+     * Find a slice of the audit logs holding all of the given search terms, newest first, read in order
+     * from the search terms index. The slice is empty if any term is held by no audit log.
+     *
+     * @param terms the search terms, see {@link AuditSearchTerms}
+     * @param pageable the page; its sort order is ignored
+     * @return the slice of matching audit logs
+     */
+    Slice<ApiAuditLog> searchTerms(List<String> terms, Pageable pageable);
+}
@@ -0,0 +1,138 @@
+package com.example.repository.nosql;
+
+import com.example.model.entity.ApiAuditLog;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.CountOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Sorts;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Codec based audit log operations. Query criteria are passed to the driver as they are; they only
+ * use property names that equal the stored field names, and times are encoded as UTC instants by
+ * the driver's {@code LocalDateTime} codec, like {@code MongoConfig}'s converters do.
+ */
+@RequiredArgsConstructor
+public class ApiAuditLogRepositoryCustomImpl implements ApiAuditLogRepositoryCustom {
+
+    /**
+     * Index entries counted per term to rank the terms of a query by rarity; terms holding at least
+     * this many audit logs count as equally common.
+     */
+    private static final int TERM_PROBE_LIMIT = 10_000;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public ApiAuditLog append(ApiAuditLog auditLog) {
+        collection().insertOne(auditLog);
+        return auditLog;
+    }
+
+    @Override
+    public long removeAllById(List<String> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        // Stored the way ApiAuditLogCodec writes ids: ObjectId hex strings as ObjectIds
+        List<Object> storedIds = ids.stream()
+                .<Object>map(id -> ObjectId.isValid(id) ? new ObjectId(id) : id)
+                .toList();
+        return collection().deleteMany(Filters.in("_id", storedIds)).getDeletedCount();
+    }
+
+    @Override
+    public Stream<ApiAuditLog> streamDecoded(Query query, int batchSize) {
+        MongoCursor<ApiAuditLog> cursor = collection()
+                .find(query.getQueryObject())
+                .sort(query.getSortObject())
+                .batchSize(batchSize)
+                .cursor();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED), false)
+                .onClose(cursor::close);
+    }
+
+    /**
+     * Runs through the template, so the template's query timeout applies to the page and the count.
+     */
+    @Override
+    public Page<ApiAuditLog> findDecoded(Query query, Pageable pageable) {
+        Query page = Query.of(query).with(pageable);
+        List<ApiAuditLog> content = mongoTemplate.execute(ApiAuditLog.class, collection -> collection
+                .withDocumentClass(ApiAuditLog.class)
+                .find(page.getQueryObject())
+                .sort(page.getSortObject())
+                .skip((int) page.getSkip())
+                .limit(page.getLimit())
+                .into(new ArrayList<>()));
+        return PageableExecutionUtils.getPage(content, pageable, () -> mongoTemplate.execute(ApiAuditLog.class,
+                collection -> collection.countDocuments(query.getQueryObject())));
+    }
+
+    /**
+     * Fetches one audit log more than the page size to tell whether there is a next slice, instead of
+     * counting every match. Runs through the template, so the template's query timeout applies.
+     * <p>
+     * With several terms, each is first counted on the index, up to {@link #TERM_PROBE_LIMIT} entries, and
+     * the rarest goes first in the {@code $all} criteria. The planner bounds the index scan on the first
+     * term, and caches that choice for the query shape, so the search walks the rarest term's entries
+     * newest first and checks the other terms on each, without a sort.
+     */
+    @Override
+    public Slice<ApiAuditLog> searchTerms(List<String> terms, Pageable pageable) {
+        if (terms.isEmpty()) {
+            return new SliceImpl<>(List.of(), pageable, false);
+        }
+        int skip = (int) pageable.getOffset();
+        int limit = pageable.getPageSize() + 1;
+        List<ApiAuditLog> content = mongoTemplate.execute(ApiAuditLog.class, collection -> {
+            MongoCollection<ApiAuditLog> logs = collection.withDocumentClass(ApiAuditLog.class);
+            List<String> anchored = terms;
+            if (terms.size() > 1) {
+                Map<String, Long> counts = new HashMap<>();
+                for (String term : terms) {
+                    counts.put(term, collection.countDocuments(Filters.eq("searchTerms", term),
+                            new CountOptions().limit(TERM_PROBE_LIMIT)));
+                }
+                // Every term must match, so a term no audit log holds leaves nothing to find
+                if (counts.containsValue(0L)) {
+                    return List.of();
+                }
+                anchored = terms.stream()
+                        .sorted(Comparator.comparing(counts::get))
+                        .toList();
+            }
+            return logs.find(Filters.all("searchTerms", anchored))
+                    .sort(Sorts.descending("createdAt"))
+                    .skip(skip)
+                    .limit(limit)
+                    .into(new ArrayList<>());
+        });
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    private MongoCollection<ApiAuditLog> collection() {
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(ApiAuditLog.class))
+                .withDocumentClass(ApiAuditLog.class);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.repository.nosql;
+
+import com.example.model.dto.AuditLogFilter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds audit log queries from an {@link AuditLogFilter}.
+ * Payload criteria only match entries stored with {@code app.audit.payload-format=document}; each
+ * alternative of their {@code $or} is served by one of the partial indexes declared on {@code ApiAuditLog}.
+ */
+public final class AuditLogQueries {
+
+    private AuditLogQueries() {
+    }
+
+    /**
+     * Create a query for the audit logs matching a filter.
+     *
+     * @param filter the filter
+     * @return the query, without a sort order
+     */
+    public static Query of(AuditLogFilter filter) {
+        List<Criteria> criteria = new ArrayList<>();
+        if (filter.getAction() != null) {
+            criteria.add(Criteria.where("action").is(filter.getAction()));
+        }
+        if (filter.getEndpoint() != null) {
+            criteria.add(Criteria.where("endpoint").is(filter.getEndpoint()));
+        }
+        if (filter.getHttpMethod() != null) {
+            criteria.add(Criteria.where("httpMethod").is(filter.getHttpMethod()));
+        }
+        if (filter.getStatus() != null) {
+            criteria.add(Criteria.where("status").is(filter.getStatus()));
+        }
+        if (filter.getStart() != null || filter.getEnd() != null) {
+            Criteria createdAt = Criteria.where("createdAt");
+            if (filter.getStart() != null) {
+                createdAt.gt(filter.getStart());
+            }
+            if (filter.getEnd() != null) {
+                createdAt.lt(filter.getEnd());
+            }
+            criteria.add(createdAt);
+        }
+        if (filter.getUserId() != null) {
+            criteria.add(new Criteria().orOperator(
+                    Criteria.where("requestData.id").is(filter.getUserId()),
+                    Criteria.where("responseData.id").is(filter.getUserId())));
+        }
+        if (filter.getEmail() != null) {
+            criteria.add(new Criteria().orOperator(
+                    Criteria.where("requestData.userDto.email").is(filter.getEmail()),
+                    Criteria.where("responseData.email").is(filter.getEmail())));
+        }
+        return criteria.isEmpty() ? new Query() : Query.query(new Criteria().andOperator(criteria));
+    }
+}
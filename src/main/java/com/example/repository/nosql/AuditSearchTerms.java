@@ -0,0 +1,227 @@
+package com.example.repository.nosql;
+
+import com.example.model.entity.ApiAuditLog;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Extracts the search terms stored with each audit log and searched by {@code /audit-logs/text-search}.
+ * <p>
+ * A term is a run of letters and digits, which may contain {@code @ . _ - +} in between, lower-cased,
+ * so e-mail addresses, UUIDs, numbers and dotted names are kept whole: {@code "Jane.Doe@Example.com"}
+ * is the single term {@code jane.doe@example.com}. The terms of an audit log come from its endpoint
+ * and its payloads, leaving out tokens that nearly every audit log holds: endpoint segments without
+ * a digit and API versions ({@code api}, {@code v1}, {@code users}) are skipped, and so are the field
+ * names and {@code true}/{@code false}/{@code null} literals of JSON payloads. Structured payloads
+ * contribute their values only; other text payloads are used as they are.
+ */
+public final class AuditSearchTerms {
+
+    /**
+     * The number of distinct terms stored per audit log; payloads are capped, so this is rarely reached.
+     */
+    public static final int MAX_TERMS = 256;
+
+    /**
+     * The number of distinct terms used from a query.
+     */
+    public static final int MAX_QUERY_TERMS = 16;
+
+    /**
+     * Terms are cut to this many characters, in audit logs and queries alike.
+     */
+    public static final int MAX_TERM_LENGTH = 64;
+
+    private static final Pattern API_VERSION = Pattern.compile("v\\d+", Pattern.CASE_INSENSITIVE);
+
+    private static final Set<String> JSON_LITERALS = Set.of("true", "false", "null");
+
+    private AuditSearchTerms() {
+    }
+
+    /**
+     * Extract the search terms of an audit log.
+     *
+     * @param auditLog the audit log
+     * @return the distinct terms, in order of first occurrence
+     */
+    public static List<String> of(ApiAuditLog auditLog) {
+        Set<String> terms = new LinkedHashSet<>();
+        addEndpoint(auditLog.getEndpoint(), terms);
+        addPayload(auditLog.getRequestPayload(), terms);
+        addValues(auditLog.getRequestData(), terms);
+        addPayload(auditLog.getResponsePayload(), terms);
+        addValues(auditLog.getResponseData(), terms);
+        return new ArrayList<>(terms);
+    }
+
+    /**
+     * Extract the search terms of a free-text query, leaving out the tokens audit logs are not indexed by:
+     * route words and API versions of a path such as {@code /api/v1/users/42}, a field name written
+     * before a colon as in {@code email:jane@example.com}, and API versions and JSON literals anywhere.
+     *
+     * @param query the query
+     * @return the distinct terms, in order of first occurrence
+     */
+    public static List<String> parse(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (query == null) {
+            return new ArrayList<>(terms);
+        }
+        for (String word : query.trim().split("\\s+")) {
+            Set<String> found = new LinkedHashSet<>();
+            if (word.indexOf('/') >= 0) {
+                addEndpoint(word, found);
+            } else {
+                addText(word, fieldValueStart(word), word.length(), found, MAX_QUERY_TERMS);
+            }
+            found.removeAll(JSON_LITERALS);
+            found.removeIf(term -> API_VERSION.matcher(term).matches());
+            for (String term : found) {
+                if (terms.size() >= MAX_QUERY_TERMS) {
+                    return new ArrayList<>(terms);
+                }
+                terms.add(term);
+            }
+        }
+        return new ArrayList<>(terms);
+    }
+
+    /**
+     * The start of the value of a {@code field:value} query word, or 0 if the word names no field;
+     * a prefix with a digit, as in a time of day, is not taken for a field name.
+     */
+    private static int fieldValueStart(String word) {
+        int colon = word.indexOf(':');
+        if (colon < 0 || word.substring(0, colon).chars().anyMatch(Character::isDigit)) {
+            return 0;
+        }
+        return colon + 1;
+    }
+
+    /**
+     * Add the endpoint segments that identify something, such as ids and e-mail addresses;
+     * route words and API versions are shared by every call of an endpoint.
+     */
+    private static void addEndpoint(String endpoint, Set<String> terms) {
+        if (endpoint == null) {
+            return;
+        }
+        for (String segment : endpoint.split("/")) {
+            if (segment.chars().anyMatch(Character::isDigit) && !API_VERSION.matcher(segment).matches()) {
+                addText(segment, 0, segment.length(), terms, MAX_TERMS);
+            }
+        }
+    }
+
+    /**
+     * Add the terms of a text payload. JSON payloads, which may be cut short by the payload cap,
+     * are scanned for their string values and numbers, skipping field names and literals.
+     */
+    private static void addPayload(String payload, Set<String> terms) {
+        if (payload == null) {
+            return;
+        }
+        int length = payload.length();
+        int i = 0;
+        while (i < length && Character.isWhitespace(payload.charAt(i))) {
+            i++;
+        }
+        if (i == length || (payload.charAt(i) != '{' && payload.charAt(i) != '[')) {
+            addText(payload, 0, length, terms, MAX_TERMS);
+            return;
+        }
+        int unquoted = i;
+        while (i < length && terms.size() < MAX_TERMS) {
+            if (payload.charAt(i) != '"') {
+                i++;
+                continue;
+            }
+            addUnquoted(payload, unquoted, i, terms);
+            int close = closingQuote(payload, i + 1);
+            if (!isFieldName(payload, close + 1)) {
+                addText(payload, i + 1, close, terms, MAX_TERMS);
+            }
+            i = close + 1;
+            unquoted = i;
+        }
+        if (unquoted < length) {
+            addUnquoted(payload, unquoted, length, terms);
+        }
+    }
+
+    private static void addUnquoted(String json, int from, int to, Set<String> terms) {
+        Set<String> found = new LinkedHashSet<>();
+        addText(json, from, to, found, MAX_TERMS);
+        found.removeAll(JSON_LITERALS);
+        for (String term : found) {
+            if (terms.size() >= MAX_TERMS) {
+                return;
+            }
+            terms.add(term);
+        }
+    }
+
+    private static int closingQuote(String json, int from) {
+        int i = from;
+        while (i < json.length() && json.charAt(i) != '"') {
+            i += json.charAt(i) == '\\' ? 2 : 1;
+        }
+        return Math.min(i, json.length());
+    }
+
+    private static boolean isFieldName(String json, int from) {
+        int i = from;
+        while (i < json.length() && Character.isWhitespace(json.charAt(i))) {
+            i++;
+        }
+        return i < json.length() && json.charAt(i) == ':';
+    }
+
+    private static void addValues(Object value, Set<String> terms) {
+        switch (value) {
+            case null -> {
+            }
+            case Map<?, ?> map -> map.values().forEach(v -> addValues(v, terms));
+            case List<?> list -> list.forEach(v -> addValues(v, terms));
+            case Boolean ignored -> {
+            }
+            default -> {
+                String text = value.toString();
+                addText(text, 0, text.length(), terms, MAX_TERMS);
+            }
+        }
+    }
+
+    private static void addText(String text, int from, int to, Set<String> terms, int maxTerms) {
+        int length = to;
+        int i = from;
+        while (i < length && terms.size() < maxTerms) {
+            while (i < length && !Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            // The end of the last letter or digit, so a term never ends in a connector
+            int end = i;
+            while (i < length && (Character.isLetterOrDigit(text.charAt(i)) || isConnector(text.charAt(i)))) {
+                if (Character.isLetterOrDigit(text.charAt(i))) {
+                    end = i + 1;
+                }
+                i++;
+            }
+            if (end > start) {
+                terms.add(text.substring(start, Math.min(end, start + MAX_TERM_LENGTH)).toLowerCase(Locale.ROOT));
+            }
+        }
+    }
+
+    private static boolean isConnector(char c) {
+        return c == '@' || c == '.' || c == '_' || c == '-' || c == '+';
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.repository.nosql;
+
+import com.example.model.entity.ApiAuditLog;
+import org.springframework.data.mongodb.repository.Meta;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reactive repository for streaming audit logs.
+ * Results are pulled from the cursor in small batches as the subscriber requests them,
+ * so only the batch in flight is held in memory.
+ */
+@Repository
+public interface ReactiveApiAuditLogRepository extends ReactiveMongoRepository<ApiAuditLog, String> {
+
+    int STREAM_BATCH_SIZE = 100;
+
+    @Meta(cursorBatchSize = STREAM_BATCH_SIZE)
+    Flux<ApiAuditLog> findByCreatedAtBetweenOrderByCreatedAtAsc(LocalDateTime start, LocalDateTime end);
+
+    @Meta(cursorBatchSize = STREAM_BATCH_SIZE)
+    Flux<ApiAuditLog> findByActionOrderByCreatedAtAsc(String action);
+}
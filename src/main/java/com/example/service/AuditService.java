@@ -2,6 +2,8 @@ package com.example.service;
 
 import com.example.model.entity.ApiAuditLog;
 
+import java.util.Map;
+
 public interface AuditService {
     
     /**
@@ -32,4 +34,27 @@ public interface AuditService {
     ApiAuditLog saveDetailedAuditLog(String action, String clientIp, String requestPayload, 
                                    String responsePayload, String httpMethod, 
                                    String endpoint, String status);
+
+    /**
+     * Save an audit log entry built by the caller, such as one with structured payloads.
+     * The current user, the creation time and the timings of the current request are filled in.
+     * 
+     * @param auditLog The audit log entry
+     * @return The saved ApiAuditLog
+     */
+    ApiAuditLog saveAuditLog(ApiAuditLog auditLog);
+
+    /**
+     * Get audit statistics (total, success and failed counts and the success rate)
+     * 
+     * @return The audit statistics
+     */
+    Map<String, Object> getAuditStats();
+
+    /**
+     * Get the number of audit log writes that have started but not yet completed
+     * 
+     * @return The number of pending audit log writes
+     */
+    int getPendingWriteCount();
 }
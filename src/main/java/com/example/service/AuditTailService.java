@@ -0,0 +1,48 @@
+package com.example.service;
+
+import com.example.model.dto.AuditLogFilter;
+import com.example.model.entity.ApiAuditLog;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+
+/**
+ * Service Interface for the live tail of audit logs, fed by the audit write path of this node.
+ */
+public interface AuditTailService {
+
+    /**
+     * Event name of an audit log.
+     */
+    String AUDIT_EVENT = "audit";
+
+    /**
+     * Event name of the notice that audit logs were dropped for a slow subscriber; its data is the number dropped.
+     */
+    String DROPPED_EVENT = "dropped";
+
+    /**
+     * Hand a saved audit log to the subscribers it matches. Never blocks: the audit log is only added to
+     * the buffer of each subscriber, and delivered from another thread.
+     *
+     * @param auditLog the saved audit log
+     */
+    void publish(ApiAuditLog auditLog);
+
+    /**
+     * Subscribe to the audit logs saved from now on that match a filter.
+     * When the subscriber falls behind by more than its buffer, the oldest buffered audit logs are dropped
+     * and a {@value #DROPPED_EVENT} event is sent before the next audit log.
+     *
+     * @param filter the action, endpoint and status to match; null fields match anything
+     * @return the audit log events, with periodic heartbeat comments
+     * @throws com.example.exception.ServiceUnavailableException if there are already {@code max-subscribers}
+     */
+    Flux<ServerSentEvent<Object>> subscribe(AuditLogFilter filter);
+
+    /**
+     * Get the number of current subscribers on this node.
+     *
+     * @return the number of subscribers
+     */
+    int getSubscriberCount();
+}
@@ -0,0 +1,49 @@
+package com.example.service;
+
+import com.example.model.entity.ApiAuditLog;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service Interface for audit log tiering.
+ * Audit logs older than the hot period are moved out of MongoDB into compressed segment files on
+ * local disk; date-range queries read both, so the move is invisible to their callers.
+ */
+public interface AuditTieringService {
+
+    /**
+     * Move the audit logs created before the hot period into new segment files, and delete them
+     * from MongoDB once their segment is complete.
+     *
+     * @return the number of audit logs moved
+     */
+    long tierColdLogs();
+
+    /**
+     * Find the audit logs created strictly between two times, in MongoDB and in the segment files.
+     *
+     * @param start the exclusive start
+     * @param end the exclusive end
+     * @return the audit logs, in creation order if any were read from segment files
+     */
+    List<ApiAuditLog> findByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Stream the audit logs created strictly between two times, in MongoDB and in the segment files,
+     * in creation order.
+     *
+     * @param start the exclusive start
+     * @param end the exclusive end
+     * @return the audit logs
+     */
+    Flux<ApiAuditLog> streamByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Get the number of audit logs held in segment files.
+     *
+     * @return the number of archived audit logs
+     */
+    long getArchivedCount();
+}
@@ -0,0 +1,40 @@
+package com.example.service;
+
+import java.util.function.Supplier;
+
+/**
+ * Service Interface for coalescing concurrent identical reads.
+ */
+public interface CoalescingService {
+
+    /**
+     * Group for single user lookups.
+     */
+    String USER_BY_ID = "user_by_id";
+
+    /**
+     * Group for user list reads.
+     */
+    String USER_LIST = "user_list";
+
+    /**
+     * Group for audit statistics.
+     */
+    String AUDIT_STATS = "audit_stats";
+
+    /**
+     * Group for requests sharing an idempotency key.
+     */
+    String IDEMPOTENCY = "idempotency";
+
+    /**
+     * Run the loader, sharing its result with concurrent callers using the same group and key.
+     *
+     * @param group the name of the call site
+     * @param key the key identifying identical calls within the group
+     * @param loader the call to execute
+     * @param <T> the result type
+     * @return the result of the shared call
+     */
+    <T> T coalesce(String group, Object key, Supplier<T> loader);
+}
@@ -0,0 +1,19 @@
+package com.example.service;
+
+import com.example.model.dto.DataGenerationPlan;
+import com.example.model.dto.DataGenerationResult;
+
+/**
+ * Service Interface for loading synthetic data at production scale.
+ */
+public interface DataGeneratorService {
+
+    /**
+     * Add users with their history and audit log documents next to any existing data.
+     * Rows are written directly over JDBC, bypassing JPA, auditing and validation.
+     *
+     * @param plan the size and shape of the data set
+     * @return the number of rows and documents written
+     */
+    DataGenerationResult generate(DataGenerationPlan plan);
+}
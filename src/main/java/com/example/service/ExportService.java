@@ -0,0 +1,35 @@
+package com.example.service;
+
+import com.example.model.dto.AuditLogFilter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Service Interface for exporting users and audit logs as newline-delimited JSON.
+ * Rows are written as they are read from a database cursor, so memory use does not grow with the export.
+ */
+public interface ExportService {
+
+    /**
+     * Write every user, ordered by id, as one JSON object per line.
+     * Passwords are never exported.
+     *
+     * @param out the stream to write to; it is not closed
+     * @param gzip whether to gzip-compress the output
+     * @return the number of users written
+     * @throws IOException if writing to the stream fails
+     */
+    long exportUsers(OutputStream out, boolean gzip) throws IOException;
+
+    /**
+     * Write every audit log matching the filter, ordered by creation time, as one JSON object per line.
+     *
+     * @param filter the audit log criteria
+     * @param out the stream to write to; it is not closed
+     * @param gzip whether to gzip-compress the output
+     * @return the number of audit logs written
+     * @throws IOException if writing to the stream fails
+     */
+    long exportAuditLogs(AuditLogFilter filter, OutputStream out, boolean gzip) throws IOException;
+}
@@ -0,0 +1,23 @@
+package com.example.service;
+
+import com.example.model.dto.HealthReport;
+
+/**
+ * Service Interface for application health checks.
+ */
+public interface HealthService {
+
+    /**
+     * Check whether the application itself is alive, without touching any dependency.
+     *
+     * @return the liveness report
+     */
+    HealthReport liveness();
+
+    /**
+     * Check whether the application is warmed up and all dependencies are reachable.
+     *
+     * @return the readiness report with a check per dependency
+     */
+    HealthReport readiness();
+}
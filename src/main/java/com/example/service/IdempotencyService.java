@@ -0,0 +1,29 @@
+package com.example.service;
+
+import com.example.model.dto.IdempotentResponse;
+
+import java.util.function.Supplier;
+
+/**
+ * Service Interface for requests carrying an {@code Idempotency-Key} header.
+ */
+public interface IdempotencyService {
+
+    /**
+     * Return the stored response for the key, or run the action and store its response.
+     * Concurrent calls with the same key wait for the first one instead of running the action again.
+     * Only successful (2xx) responses are stored; a failed action can be retried with the same key.
+     *
+     * @param keyHash the hashed idempotency key
+     * @param requestHash the hash of the request payload
+     * @param action the request to run when no response is stored
+     * @return the stored or new response
+     * @throws com.example.exception.IdempotencyKeyReuseException if the key was used for a different payload
+     */
+    IdempotentResponse execute(String keyHash, String requestHash, Supplier<IdempotentResponse> action);
+
+    /**
+     * Remove expired keys from memory and from the database.
+     */
+    void purgeExpired();
+}
@@ -0,0 +1,31 @@
+package com.example.service;
+
+import com.example.model.dto.LatencyStats;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface LatencyAnalyticsService {
+
+    /**
+     * Record the duration of an audited request
+     *
+     * @param action The audited action
+     * @param durationNanos The request duration in nanoseconds
+     */
+    void record(String action, long durationNanos);
+
+    /**
+     * Get latency percentiles per action for the minutes overlapping a time window
+     *
+     * @param start The start of the window
+     * @param end The end of the window
+     * @return The latency statistics per action, ordered by action
+     */
+    List<LatencyStats> getLatencyStats(LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Persist the in-memory histograms of minutes that are complete
+     */
+    void flush();
+}
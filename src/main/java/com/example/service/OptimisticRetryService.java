@@ -0,0 +1,31 @@
+package com.example.service;
+
+import java.util.function.IntFunction;
+
+/**
+ * Service Interface for retrying operations that fail on an optimistic locking conflict.
+ */
+public interface OptimisticRetryService {
+
+    /**
+     * Operation name for user updates.
+     */
+    String USER_UPDATE = "user_update";
+
+    /**
+     * Operation name for user merge patches.
+     */
+    String USER_PATCH = "user_patch";
+
+    /**
+     * Run an attempt, and on an optimistic locking conflict run it again after a jittered backoff,
+     * up to the configured number of attempts. Each attempt must run in its own transaction.
+     * When retries are disabled the attempt runs exactly once.
+     *
+     * @param operation the name of the operation, used to tag metrics
+     * @param attempt the attempt to run, given the attempt number starting at 1
+     * @param <T> the result type
+     * @return the result of the first successful attempt
+     */
+    <T> T execute(String operation, IntFunction<T> attempt);
+}
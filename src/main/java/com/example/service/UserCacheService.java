@@ -0,0 +1,56 @@
+package com.example.service;
+
+import com.example.model.dto.UserDto;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Service Interface for the node-local cache of users read by id.
+ * Writes are broadcast to every node, which evicts the written user, so a node never keeps
+ * serving a user another node has changed.
+ */
+public interface UserCacheService {
+
+    /**
+     * PostgreSQL notification channel carrying user invalidations.
+     */
+    String CHANNEL = "user_cache_invalidation";
+
+    /**
+     * Get a user from the cache, loading and caching it on a miss.
+     * Nothing is cached while invalidations may be missed, or when the user was invalidated during the load.
+     *
+     * @param id the id of the user
+     * @param loader loads the user
+     * @return the user
+     */
+    UserDto get(Long id, Supplier<UserDto> loader);
+
+    /**
+     * Get several users from the cache, loading all misses with one call and caching the loaded users.
+     *
+     * @param ids the ids of the users
+     * @param loader loads the users with the given ids, leaving out those that do not exist
+     * @return the users found, by id
+     */
+    Map<Long, UserDto> getAll(Collection<Long> ids, Function<Set<Long>, Map<Long, UserDto>> loader);
+
+    /**
+     * Invalidate a written user on every node once the current transaction commits, or immediately
+     * without a transaction. Nothing is invalidated if the transaction rolls back.
+     *
+     * @param id the id of the user
+     */
+    void invalidate(Long id);
+
+    /**
+     * Get the number of cached users on this node.
+     *
+     * @return the number of cached users
+     */
+    int size();
+}
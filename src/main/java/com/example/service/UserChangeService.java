@@ -0,0 +1,20 @@
+package com.example.service;
+
+import com.example.model.dto.UserChangesPage;
+
+/**
+ * Service Interface for the incremental user change feed, read from the Envers revisions of users.
+ */
+public interface UserChangeService {
+
+    /**
+     * Get the users created, modified or deleted since a token, oldest change first.
+     * A user changed several times within the page appears once, with its latest state.
+     *
+     * @param since the token of a previous page, or null to start from the first revision
+     * @param size the maximum number of revision rows to read, capped by {@code max-page-size}
+     * @return the changes and the token to continue from
+     * @throws com.example.exception.InvalidChangeTokenException if the token cannot be read
+     */
+    UserChangesPage findChanges(String since, int size);
+}
@@ -0,0 +1,29 @@
+package com.example.service;
+
+import com.example.model.dto.UserImportStatus;
+
+import java.io.InputStream;
+
+/**
+ * Service Interface for bulk user imports running as background jobs.
+ */
+public interface UserImportService {
+
+    /**
+     * Copy an uploaded user file to a temporary file and queue it for import.
+     * The body is streamed to disk, so its size is not limited by the heap.
+     *
+     * @param body the request body
+     * @param format the format of the body
+     * @return the status of the queued job
+     */
+    UserImportStatus submit(InputStream body, UserImportStatus.Format format);
+
+    /**
+     * Get the progress of an import job.
+     *
+     * @param jobId the id of the job
+     * @return the status of the job
+     */
+    UserImportStatus getStatus(String jobId);
+}
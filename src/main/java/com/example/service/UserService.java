@@ -1,6 +1,8 @@
 package com.example.service;
 
 import com.example.model.dto.UserDto;
+import com.example.model.dto.UserLookupResult;
+import com.fasterxml.jackson.databind.JsonNode;
 
 import java.util.List;
 
@@ -24,6 +26,15 @@ public interface UserService {
      */
     UserDto findById(Long id);
 
+    /**
+     * Get several users by id at once.
+     *
+     * @param ids the ids of the users, at most {@code app.user-lookup.max-ids}
+     * @return one result per requested id, in request order, marking the ids without a user as not found
+     * @throws com.example.exception.InvalidLookupException if there are no ids or too many
+     */
+    List<UserLookupResult> findByIds(List<Long> ids);
+
     /**
      * Save a user.
      *
@@ -41,6 +52,17 @@ public interface UserService {
      */
     UserDto update(Long id, UserDto userDto);
 
+    /**
+     * Partially update a user with a JSON Merge Patch (RFC 7396) document.
+     * Members present in the patch replace the current values, {@code null} members clear them,
+     * and absent members are left unchanged. A patch that changes nothing writes nothing.
+     *
+     * @param id the id of the user to patch
+     * @param patch the merge patch document, which must be a JSON object
+     * @return the patched user
+     */
+    UserDto patch(Long id, JsonNode patch);
+
     /**
      * Delete a user by id.
      *
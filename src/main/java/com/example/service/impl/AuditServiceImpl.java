@@ -2,19 +2,50 @@ package com.example.service.impl;
 
 import com.example.model.entity.ApiAuditLog;
 import com.example.repository.nosql.ApiAuditLogRepository;
+import com.example.repository.nosql.AuditSearchTerms;
 import com.example.service.AuditService;
-import lombok.RequiredArgsConstructor;
+import com.example.service.AuditTailService;
+import com.example.service.CoalescingService;
+import com.example.utilities.RequestTimings;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Service Implementation for audit logs.
+ * Every audit log is stored with its search terms, so it can be found through text search as soon
+ * as it is written; the {@code app.audit.search.index.lag} timer records the time from the end of the
+ * request until then, and {@code app.audit.write}, tagged by action, the time each save takes.
+ * Saved audit logs are also handed to the live tail of this node.
+ */
 @Service
-@RequiredArgsConstructor
 public class AuditServiceImpl implements AuditService {
 
     private final ApiAuditLogRepository auditLogRepository;
+    private final CoalescingService coalescingService;
+    private final AuditTailService auditTailService;
+    private final MeterRegistry meterRegistry;
+    private final Timer indexLag;
+    private final AtomicInteger pendingWrites = new AtomicInteger();
+
+    public AuditServiceImpl(ApiAuditLogRepository auditLogRepository,
+                            CoalescingService coalescingService,
+                            AuditTailService auditTailService,
+                            MeterRegistry meterRegistry) {
+        this.auditLogRepository = auditLogRepository;
+        this.coalescingService = coalescingService;
+        this.auditTailService = auditTailService;
+        this.meterRegistry = meterRegistry;
+        this.indexLag = Timer.builder("app.audit.search.index.lag").register(meterRegistry);
+    }
 
     @Override
     public ApiAuditLog saveAuditLog(String action, String clientIp, String requestPayload, 
@@ -27,9 +58,7 @@ public class AuditServiceImpl implements AuditService {
                                          String responsePayload, String httpMethod, 
                                          String endpoint, String status) {
         
-        String username = getCurrentUsername();
-        
-        ApiAuditLog auditLog = ApiAuditLog.builder()
+        return saveAuditLog(ApiAuditLog.builder()
                 .action(action)
                 .clientIp(clientIp)
                 .requestPayload(requestPayload)
@@ -37,11 +66,74 @@ public class AuditServiceImpl implements AuditService {
                 .httpMethod(httpMethod)
                 .endpoint(endpoint)
                 .status(status)
-                .createdBy(username)
-                .createdAt(LocalDateTime.now())
-                .build();
+                .build());
+    }
+
+    @Override
+    public ApiAuditLog saveAuditLog(ApiAuditLog auditLog) {
+        long startNanos = System.nanoTime();
+        auditLog.setCreatedBy(getCurrentUsername());
+        auditLog.setCreatedAt(LocalDateTime.now());
+        
+        // Attach the phase breakdown collected so far, which does not include the audit write itself
+        RequestTimings timings = RequestTimings.current();
+        if (timings != null) {
+            auditLog.setDbStatements(timings.getDbStatements());
+            auditLog.setTimings(timings.toMillis());
+        }
+        auditLog.setSearchTerms(AuditSearchTerms.of(auditLog));
         
-        return auditLogRepository.save(auditLog);
+        pendingWrites.incrementAndGet();
+        try {
+            ApiAuditLog saved = auditLogRepository.append(auditLog);
+            if (auditLog.getTimestamp() != null) {
+                indexLag.record(Duration.between(auditLog.getTimestamp(), LocalDateTime.now()));
+            }
+            auditTailService.publish(saved);
+            return saved;
+        } finally {
+            pendingWrites.decrementAndGet();
+            recordWrite(auditLog.getAction(), timings, System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Record the time taken by an audit write, and add it to the phases of the current request if it is timed.
+     * The audit log cannot carry the duration of its own write, which is reported in {@code Server-Timing} instead.
+     *
+     * @param action The audited action
+     * @param timings The timings of the current request, or null
+     * @param nanos The duration of the write in nanoseconds
+     */
+    private void recordWrite(String action, RequestTimings timings, long nanos) {
+        Timer.builder("app.audit.write")
+                .tag("action", action != null ? action : "none")
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        if (timings != null) {
+            timings.add(RequestTimings.Phase.AUDIT_WRITE, nanos);
+        }
+    }
+    
+    @Override
+    public Map<String, Object> getAuditStats() {
+        return coalescingService.coalesce(CoalescingService.AUDIT_STATS, "all", () -> {
+            long totalCount = auditLogRepository.count();
+            long successCount = auditLogRepository.countByStatus("SUCCESS");
+            long failedCount = auditLogRepository.countByStatus("FAILED");
+
+            return Map.of(
+                    "totalCount", totalCount,
+                    "successCount", successCount,
+                    "failedCount", failedCount,
+                    "successRate", totalCount > 0 ? (double) successCount / totalCount * 100 : 0
+            );
+        });
+    }
+    
+    @Override
+    public int getPendingWriteCount() {
+        return pendingWrites.get();
     }
     
     private String getCurrentUsername() {
@@ -0,0 +1,180 @@
+package com.example.service.impl;
+
+import com.example.exception.ServiceUnavailableException;
+import com.example.model.dto.AuditLogFilter;
+import com.example.model.entity.ApiAuditLog;
+import com.example.service.AuditTailService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service Implementation for the live audit tail.
+ * <p>
+ * Every subscriber owns a ring buffer of {@code buffer-size} audit logs. Publishing, which runs on the request
+ * thread that saved the audit log, only matches the filters and offers the audit log to the matching buffers,
+ * evicting the oldest entry of a full buffer; it never waits for a subscriber. Each subscriber is drained by
+ * its own worker as fast as its client accepts events, and is told how many audit logs it lost before the
+ * next one it receives. An idle subscriber gets a heartbeat comment every {@code heartbeat-ms}.
+ * At most {@code max-subscribers} subscribe at once, which bounds the work per publish.
+ * <p>
+ * Exposes the {@code app.audit.tail.subscribers} gauge and the {@code app.audit.tail.dropped} counter.
+ */
+@Service
+public class AuditTailServiceImpl implements AuditTailService {
+
+    private final int maxSubscribers;
+    private final int bufferSize;
+    private final long heartbeatMs;
+    private final Scheduler scheduler = Schedulers.boundedElastic();
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final Counter dropped;
+
+    public AuditTailServiceImpl(MeterRegistry meterRegistry,
+                                @Value("${app.audit.tail.max-subscribers:32}") int maxSubscribers,
+                                @Value("${app.audit.tail.buffer-size:256}") int bufferSize,
+                                @Value("${app.audit.tail.heartbeat-ms:15000}") long heartbeatMs) {
+        this.maxSubscribers = maxSubscribers;
+        this.bufferSize = bufferSize;
+        this.heartbeatMs = heartbeatMs;
+        this.dropped = Counter.builder("app.audit.tail.dropped").register(meterRegistry);
+        Gauge.builder("app.audit.tail.subscribers", subscribers, List::size).register(meterRegistry);
+    }
+
+    @Override
+    public void publish(ApiAuditLog auditLog) {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.matches(auditLog)) {
+                subscriber.offer(auditLog);
+            }
+        }
+    }
+
+    @Override
+    public Flux<ServerSentEvent<Object>> subscribe(AuditLogFilter filter) {
+        // Checked again on subscription; failing here lets the client get a 503 before the stream starts
+        if (subscribers.size() >= maxSubscribers) {
+            throw tooManySubscribers();
+        }
+        return Flux.create(sink -> {
+            Subscriber subscriber;
+            synchronized (subscribers) {
+                if (subscribers.size() >= maxSubscribers) {
+                    sink.error(tooManySubscribers());
+                    return;
+                }
+                subscriber = new Subscriber(filter, sink);
+                subscribers.add(subscriber);
+            }
+            subscriber.worker.schedulePeriodically(subscriber::heartbeat, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+            sink.onRequest(n -> subscriber.schedule());
+            sink.onDispose(() -> {
+                subscribers.remove(subscriber);
+                subscriber.worker.dispose();
+            });
+        });
+    }
+
+    @Override
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    private static ServiceUnavailableException tooManySubscribers() {
+        return new ServiceUnavailableException("Too many audit tail subscribers, retry later");
+    }
+
+    private final class Subscriber {
+
+        private final AuditLogFilter filter;
+        private final FluxSink<ServerSentEvent<Object>> sink;
+        private final Scheduler.Worker worker = scheduler.createWorker();
+        private final ArrayBlockingQueue<ApiAuditLog> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicLong lost = new AtomicLong();
+        private volatile boolean heartbeatDue;
+        // Drain requests not yet handled; only the caller that raises it from zero schedules a drain
+        private final AtomicInteger wip = new AtomicInteger();
+
+        Subscriber(AuditLogFilter filter, FluxSink<ServerSentEvent<Object>> sink) {
+            this.filter = filter;
+            this.sink = sink;
+        }
+
+        boolean matches(ApiAuditLog auditLog) {
+            return (filter.getAction() == null || filter.getAction().equals(auditLog.getAction()))
+                    && (filter.getEndpoint() == null || filter.getEndpoint().equals(auditLog.getEndpoint()))
+                    && (filter.getStatus() == null || filter.getStatus().equals(auditLog.getStatus()));
+        }
+
+        void offer(ApiAuditLog auditLog) {
+            while (!buffer.offer(auditLog)) {
+                if (buffer.poll() != null) {
+                    lost.incrementAndGet();
+                    dropped.increment();
+                }
+            }
+            schedule();
+        }
+
+        void schedule() {
+            if (wip.getAndIncrement() == 0) {
+                try {
+                    worker.schedule(this::drain);
+                } catch (RejectedExecutionException ex) {
+                    // Unsubscribed while the audit log was being published
+                }
+            }
+        }
+
+        void heartbeat() {
+            heartbeatDue = true;
+            schedule();
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                while (sink.requestedFromDownstream() > 0 && !sink.isCancelled()) {
+                    if (heartbeatDue) {
+                        heartbeatDue = false;
+                        // Only needed to keep an idle connection open
+                        if (buffer.isEmpty() && lost.get() == 0) {
+                            sink.next(ServerSentEvent.builder().comment("heartbeat").build());
+                            continue;
+                        }
+                    }
+                    long count = lost.getAndSet(0);
+                    if (count > 0) {
+                        sink.next(ServerSentEvent.builder().event(DROPPED_EVENT).data(count).build());
+                        continue;
+                    }
+                    ApiAuditLog auditLog = buffer.poll();
+                    if (auditLog == null) {
+                        break;
+                    }
+                    sink.next(ServerSentEvent.builder()
+                            .event(AUDIT_EVENT)
+                            .id(auditLog.getId())
+                            .data(auditLog)
+                            .build());
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.example.service.impl;
+
+import com.example.model.entity.ApiAuditLog;
+import com.example.repository.archive.AuditSegment;
+import com.example.repository.archive.AuditSegmentWriter;
+import com.example.repository.nosql.ApiAuditLogRepository;
+import com.example.repository.nosql.ReactiveApiAuditLogRepository;
+import com.example.service.AuditTieringService;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Service Implementation for audit log tiering.
+ * <p>
+ * The tiering job streams the audit logs older than {@code hot-days} out of MongoDB in creation order
+ * and writes them to {@link AuditSegment} files of at most {@code max-segment-rows} rows. A finished
+ * segment is written as {@code .pending}, read back, and its audit logs are deleted from MongoDB by id,
+ * a row group at a time; it is then renamed to {@code .seg}. A pending segment left by an interrupted
+ * run is completed by the next run, so nothing is deleted before it is on disk, and nothing is archived twice.
+ * <p>
+ * Segments found in {@code directory} at startup are memory-mapped and read by the date-range queries
+ * whether or not tiering is enabled. Only the segments overlapping a query's range are scanned.
+ */
+@Service
+@Slf4j
+public class AuditTieringServiceImpl implements AuditTieringService {
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String PENDING_SUFFIX = ".pending";
+    private static final int BATCH_SIZE = 1000;
+    private static final Comparator<ApiAuditLog> BY_CREATED_AT = Comparator.comparing(ApiAuditLog::getCreatedAt);
+
+    private final ApiAuditLogRepository auditLogRepository;
+    private final ReactiveApiAuditLogRepository reactiveAuditLogRepository;
+    private final boolean enabled;
+    private final Path directory;
+    private final int hotDays;
+    private final int maxSegmentRows;
+
+    // Ordered by first audit log and replaced as a whole, so a query works on a consistent list
+    private volatile List<AuditSegment> segments = List.of();
+    // Segments whose audit logs may still be in MongoDB, with their files
+    private final Map<AuditSegment, Path> pending = new ConcurrentHashMap<>();
+
+    public AuditTieringServiceImpl(ApiAuditLogRepository auditLogRepository,
+                                   ReactiveApiAuditLogRepository reactiveAuditLogRepository,
+                                   @Value("${app.audit.tiering.enabled:false}") boolean enabled,
+                                   @Value("${app.audit.tiering.directory:data/audit-segments}") Path directory,
+                                   @Value("${app.audit.tiering.hot-days:30}") int hotDays,
+                                   @Value("${app.audit.tiering.max-segment-rows:500000}") int maxSegmentRows) {
+        this.auditLogRepository = auditLogRepository;
+        this.reactiveAuditLogRepository = reactiveAuditLogRepository;
+        this.enabled = enabled;
+        this.directory = directory;
+        this.hotDays = hotDays;
+        this.maxSegmentRows = maxSegmentRows;
+    }
+
+    /**
+     * Map the segments in the directory, removing files left half written by an interrupted run.
+     */
+    @PostConstruct
+    public synchronized void loadSegments() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.sorted().toList()) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".tmp")) {
+                    Files.delete(file);
+                } else if (name.endsWith(SEGMENT_SUFFIX) || name.endsWith(PENDING_SUFFIX)) {
+                    AuditSegment segment = AuditSegment.open(file);
+                    if (name.endsWith(PENDING_SUFFIX)) {
+                        pending.put(segment, file);
+                    }
+                    add(segment);
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot load the audit segments in " + directory, ex);
+        }
+        log.info("Loaded {} audit segments holding {} audit logs", segments.size(), getArchivedCount());
+    }
+
+    @Override
+    @Scheduled(cron = "${app.audit.tiering.cron:0 30 2 * * *}")
+    public synchronized long tierColdLogs() {
+        if (!enabled) {
+            return 0;
+        }
+        try {
+            Files.createDirectories(directory);
+            for (Map.Entry<AuditSegment, Path> entry : List.copyOf(pending.entrySet())) {
+                complete(entry.getKey(), entry.getValue());
+            }
+
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(hotDays);
+            Query query = new Query(Criteria.where("createdAt").lt(cutoff)).with(Sort.by("createdAt"));
+            long moved = 0;
+            try (Stream<ApiAuditLog> cold = auditLogRepository.streamDecoded(query, BATCH_SIZE)) {
+                Iterator<ApiAuditLog> logs = cold.iterator();
+                while (logs.hasNext()) {
+                    moved += writeSegment(logs);
+                }
+            }
+            if (moved > 0) {
+                log.info("Moved {} audit logs created before {} to segment files", moved, cutoff);
+            }
+            return moved;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Audit tiering failed", ex);
+        }
+    }
+
+    /**
+     * MongoDB is read before the segments, as the other way round would miss audit logs moved in between;
+     * audit logs moved meanwhile are found in both and returned once.
+     */
+    @Override
+    public List<ApiAuditLog> findByCreatedAtBetween(LocalDateTime start, LocalDateTime end) {
+        List<ApiAuditLog> hot = auditLogRepository.findByCreatedAtBetween(start, end);
+        List<AuditSegment> overlapping = overlapping(start, end);
+        if (overlapping.isEmpty()) {
+            return hot;
+        }
+        Set<String> hotIds = new HashSet<>();
+        List<ApiAuditLog> logs = new ArrayList<>(hot);
+        for (ApiAuditLog auditLog : hot) {
+            hotIds.add(auditLog.getId());
+        }
+        for (AuditSegment segment : overlapping) {
+            segment.scan(start, end)
+                    .filter(auditLog -> !hotIds.contains(auditLog.getId()))
+                    .forEach(logs::add);
+        }
+        logs.sort(BY_CREATED_AT);
+        return logs;
+    }
+
+    /**
+     * MongoDB and the segments are merged as they are read. Audit logs of a segment still pending are
+     * skipped in MongoDB; a stream that is running while tiering moves part of its range may miss the
+     * audit logs moved after it started.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Flux<ApiAuditLog> streamByCreatedAtBetween(LocalDateTime start, LocalDateTime end) {
+        Flux<ApiAuditLog> hot = reactiveAuditLogRepository.findByCreatedAtBetweenOrderByCreatedAtAsc(start, end);
+        List<AuditSegment> overlapping = overlapping(start, end);
+        if (overlapping.isEmpty()) {
+            return hot;
+        }
+        List<AuditSegment> pendingNow = overlapping.stream().filter(pending::containsKey).toList();
+        if (!pendingNow.isEmpty()) {
+            Flux<ApiAuditLog> unfiltered = hot;
+            hot = Mono.fromCallable(() -> pendingNow.stream()
+                            .flatMap(segment -> segment.scan(start, end))
+                            .map(ApiAuditLog::getId)
+                            .collect(Collectors.toSet()))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .flatMapMany(moved -> unfiltered.filter(auditLog -> !moved.contains(auditLog.getId())));
+        }
+
+        List<Publisher<ApiAuditLog>> sources = new ArrayList<>();
+        for (List<AuditSegment> chain : chains(overlapping)) {
+            sources.add(Flux.fromIterable(chain)
+                    .concatMap(segment -> Flux.fromStream(() -> segment.scan(start, end)))
+                    .subscribeOn(Schedulers.boundedElastic()));
+        }
+        sources.add(hot);
+        return Flux.mergeComparing(BY_CREATED_AT, sources.toArray(Publisher[]::new));
+    }
+
+    @Override
+    public long getArchivedCount() {
+        return segments.stream().mapToLong(AuditSegment::getRowCount).sum();
+    }
+
+    private long writeSegment(Iterator<ApiAuditLog> logs) throws IOException {
+        Path file = directory.resolve("audit-" + new ObjectId().toHexString() + PENDING_SUFFIX);
+        try (AuditSegmentWriter writer = new AuditSegmentWriter(file)) {
+            while (logs.hasNext() && writer.getRowCount() < maxSegmentRows
+                    && writer.size() < AuditSegmentWriter.MAX_SEGMENT_BYTES) {
+                writer.append(logs.next());
+            }
+            writer.finish();
+        }
+        AuditSegment segment = AuditSegment.open(file);
+        pending.put(segment, file);
+        add(segment);
+        complete(segment, file);
+        return segment.getRowCount();
+    }
+
+    private void complete(AuditSegment segment, Path file) throws IOException {
+        // The ids are read back from the file, so only audit logs that are on disk are deleted
+        segment.forEachIdBatch(auditLogRepository::removeAllById);
+        String name = file.getFileName().toString();
+        Files.move(file, file.resolveSibling(name.substring(0, name.length() - PENDING_SUFFIX.length()) + SEGMENT_SUFFIX),
+                StandardCopyOption.ATOMIC_MOVE);
+        pending.remove(segment);
+    }
+
+    private synchronized void add(AuditSegment segment) {
+        if (segment.getRowCount() == 0) {
+            return;
+        }
+        List<AuditSegment> updated = new ArrayList<>(segments);
+        updated.add(segment);
+        updated.sort(Comparator.comparing(AuditSegment::getMinCreatedAt));
+        segments = List.copyOf(updated);
+    }
+
+    private List<AuditSegment> overlapping(LocalDateTime start, LocalDateTime end) {
+        return segments.stream().filter(segment -> segment.overlaps(start, end)).toList();
+    }
+
+    /**
+     * Group segments into chains of segments that do not overlap, such as those written by one run,
+     * so each chain is read one segment after another rather than all segments at once.
+     */
+    private static List<List<AuditSegment>> chains(List<AuditSegment> segments) {
+        List<List<AuditSegment>> chains = new ArrayList<>();
+        for (AuditSegment segment : segments) {
+            List<AuditSegment> chain = chains.stream()
+                    .filter(c -> !c.getLast().getMaxCreatedAt().isAfter(segment.getMinCreatedAt()))
+                    .findFirst()
+                    .orElse(null);
+            if (chain == null) {
+                chain = new ArrayList<>();
+                chains.add(chain);
+            }
+            chain.add(segment);
+        }
+        return chains;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.service.impl;
+
+import com.example.service.CoalescingService;
+import com.example.utilities.SingleFlight;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Service Implementation for coalescing concurrent identical reads.
+ * Exposes the {@code app.coalescing.calls} counter tagged by group and outcome.
+ */
+@Service
+public class CoalescingServiceImpl implements CoalescingService {
+
+    private static final String CALLS_METRIC = "app.coalescing.calls";
+
+    private final ConcurrentMap<String, SingleFlight<Object, Object>> flights = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final Duration waitTimeout;
+
+    public CoalescingServiceImpl(MeterRegistry meterRegistry,
+                                 @Value("${app.coalescing.wait-timeout-ms:5000}") long waitTimeoutMs) {
+        this.meterRegistry = meterRegistry;
+        this.waitTimeout = Duration.ofMillis(waitTimeoutMs);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T coalesce(String group, Object key, Supplier<T> loader) {
+        SingleFlight<Object, Object> flight = flights.computeIfAbsent(group, this::register);
+        return (T) flight.execute(key, waitTimeout, loader);
+    }
+
+    private SingleFlight<Object, Object> register(String group) {
+        SingleFlight<Object, Object> flight = new SingleFlight<>();
+        FunctionCounter.builder(CALLS_METRIC, flight, SingleFlight::getExecutions)
+                .tag("group", group).tag("outcome", "executed")
+                .register(meterRegistry);
+        FunctionCounter.builder(CALLS_METRIC, flight, SingleFlight::getCoalesced)
+                .tag("group", group).tag("outcome", "coalesced")
+                .register(meterRegistry);
+        FunctionCounter.builder(CALLS_METRIC, flight, SingleFlight::getTimeouts)
+                .tag("group", group).tag("outcome", "timed_out")
+                .register(meterRegistry);
+        Gauge.builder("app.coalescing.in_flight", flight, SingleFlight::getInFlight)
+                .tag("group", group)
+                .register(meterRegistry);
+        return flight;
+    }
+}
@@ -0,0 +1,451 @@
+package com.example.service.impl;
+
+import com.example.model.dto.DataGenerationPlan;
+import com.example.model.dto.DataGenerationResult;
+import com.example.model.entity.ApiAuditLog;
+import com.example.repository.nosql.AuditSearchTerms;
+import com.example.service.DataGeneratorService;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Service Implementation for loading synthetic data at production scale.
+ * Users, their Envers revisions and audit log documents are generated in batches that are
+ * written in parallel, each batch on its own connection. On PostgreSQL rows are streamed with
+ * the {@code COPY} protocol; other databases (H2 in tests) fall back to JDBC batch inserts.
+ * Audit log documents go to MongoDB as unordered bulk inserts. Neither the PostgreSQL statement timeout
+ * nor the MongoDB query timeout applies to these writes.
+ * <p>
+ * Ids continue after the existing rows, and the identity column and revision sequence are
+ * moved past the generated ids afterwards. The application should not be serving writes meanwhile.
+ */
+@Service
+@Slf4j
+public class DataGeneratorServiceImpl implements DataGeneratorService {
+
+    private static final String[] FIRST_NAMES = {
+            "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda", "David", "Elizabeth",
+            "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen",
+            "Ahmed", "Fatima", "Mohamed", "Aisha", "Wei", "Mei", "Hiroshi", "Yuki", "Carlos", "Sofia",
+            "Luca", "Giulia", "Lukas", "Anna", "Olivier", "Camille", "Ivan", "Olga", "Arjun", "Priya"
+    };
+
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+            "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+            "Mousa", "Hassan", "Wang", "Li", "Tanaka", "Sato", "Rossi", "Russo", "Muller", "Schmidt",
+            "Dubois", "Moreau", "Ivanov", "Petrova", "Sharma", "Patel", "Silva", "Santos", "Kowalski", "Nowak"
+    };
+
+    private static final String[] EMAIL_DOMAINS = {"example.com", "example.org", "example.net", "mail.example.com"};
+
+    private static final String PASSWORD_ALPHABET =
+            "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+
+    private static final String GENERATED_BY = "datagen";
+
+    private static final int REVTYPE_ADD = 0;
+    private static final int REVTYPE_MOD = 1;
+
+    private static final String INSERT_REVISION = "INSERT INTO revinfo (rev, revtstmp) VALUES (?, ?)";
+    private static final String INSERT_USER = "INSERT INTO users (id, first_name, last_name, email, password, "
+            + "created_by, created_at, modified_by, modified_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_USER_REVISION = "INSERT INTO users_aud (id, rev, revtype, first_name, "
+            + "last_name, email, password) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String COPY_REVISIONS = "COPY revinfo (rev, revtstmp) FROM STDIN WITH (FORMAT csv)";
+    private static final String COPY_USERS = "COPY users (id, first_name, last_name, email, password, "
+            + "created_by, created_at, modified_by, modified_at, version) FROM STDIN WITH (FORMAT csv)";
+    private static final String COPY_USER_REVISIONS = "COPY users_aud (id, rev, revtype, first_name, "
+            + "last_name, email, password) FROM STDIN WITH (FORMAT csv)";
+
+    private static final Map<String, String[]> ACTION_ROUTES = Map.of(
+            "get_all_users", new String[]{"GET", "/api/v1/users"},
+            "get_user_by_id", new String[]{"GET", "/api/v1/users/%d"},
+            "create_user", new String[]{"POST", "/api/v1/users"},
+            "update_user", new String[]{"PUT", "/api/v1/users/%d"},
+            "patch_user", new String[]{"PATCH", "/api/v1/users/%d"},
+            "delete_user", new String[]{"DELETE", "/api/v1/users/%d"});
+
+    private final DataSource dataSource;
+    private final MongoTemplate bulkMongoTemplate;
+
+    public DataGeneratorServiceImpl(DataSource dataSource,
+                                    @Qualifier("bulkMongoTemplate") MongoTemplate bulkMongoTemplate) {
+        this.dataSource = dataSource;
+        this.bulkMongoTemplate = bulkMongoTemplate;
+    }
+
+    @Override
+    public DataGenerationResult generate(DataGenerationPlan plan) {
+        if (plan.getAuditLogs() > 0 && (plan.getActionWeights() == null || plan.getActionWeights().isEmpty())) {
+            throw new IllegalArgumentException("Action weights are required to generate audit logs");
+        }
+        long startNanos = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        int batchSize = Math.max(1, plan.getBatchSize());
+
+        long firstUserId = queryLong("SELECT COALESCE(MAX(id), 0) FROM users") + 1;
+        boolean copyProtocol = supportsCopy();
+        // Start past the revisions already drawn from the sequence, including those not committed yet
+        long firstRevision = Math.max(queryLong("SELECT COALESCE(MAX(rev), 0) FROM revinfo"),
+                queryLong("SELECT nextval('revinfo_seq')")) + 1;
+        AtomicLong nextRevision = new AtomicLong(firstRevision);
+        LongAdder revisions = new LongAdder();
+        LongAdder auditLogs = new LongAdder();
+
+        List<Callable<Void>> batches = new ArrayList<>();
+        for (long offset = 0; offset < plan.getUsers(); offset += batchSize) {
+            long fromId = firstUserId + offset;
+            int count = (int) Math.min(batchSize, plan.getUsers() - offset);
+            batches.add(() -> {
+                revisions.add(writeUsers(plan, now, fromId, count, nextRevision, copyProtocol));
+                return null;
+            });
+        }
+        long userIdBound = plan.getUsers() > 0 ? firstUserId + plan.getUsers() : firstUserId;
+        for (long offset = 0; offset < plan.getAuditLogs(); offset += batchSize) {
+            long batchIndex = offset / batchSize;
+            int count = (int) Math.min(batchSize, plan.getAuditLogs() - offset);
+            batches.add(() -> {
+                auditLogs.add(writeAuditLogs(plan, now, batchIndex, count, userIdBound));
+                return null;
+            });
+        }
+
+        log.info("Generating {} users and {} audit logs in {} batches on {} threads using {}",
+                plan.getUsers(), plan.getAuditLogs(), batches.size(), plan.getThreads(),
+                copyProtocol ? "COPY" : "batch inserts");
+        runAll(batches, Math.max(1, plan.getThreads()));
+        if (plan.getUsers() > 0) {
+            restartIdentities(firstUserId + plan.getUsers(), nextRevision.get());
+        }
+
+        DataGenerationResult result = DataGenerationResult.builder()
+                .users(plan.getUsers())
+                .revisions(revisions.sum())
+                .auditLogs(auditLogs.sum())
+                .copyProtocol(copyProtocol)
+                .elapsedMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos))
+                .build();
+        log.info("Generated {}", result);
+        return result;
+    }
+
+    /**
+     * Generate one batch of users with a creation revision and a geometrically distributed
+     * number of update revisions each, and write revisions, users and history rows in one transaction.
+     *
+     * @return the number of revisions written
+     */
+    private long writeUsers(DataGenerationPlan plan, LocalDateTime now, long fromId, int count,
+                            AtomicLong nextRevision, boolean copyProtocol) throws SQLException, IOException {
+        SplittableRandom random = new SplittableRandom(plan.getSeed() ^ fromId);
+        List<UserRow> users = new ArrayList<>(count);
+        List<RevisionRow> revisions = new ArrayList<>(count * 2);
+        double continueProbability = plan.getUpdatesPerUserMean() / (1 + plan.getUpdatesPerUserMean());
+        long spreadMillis = TimeUnit.DAYS.toMillis(Math.max(1, plan.getSpreadDays()));
+        long nowMillis = toEpochMillis(now);
+
+        for (int i = 0; i < count; i++) {
+            long id = fromId + i;
+            String firstName = pick(random, FIRST_NAMES);
+            String lastName = pick(random, LAST_NAMES);
+            String email = firstName.toLowerCase() + "." + lastName.toLowerCase() + "." + id
+                    + "@" + pick(random, EMAIL_DOMAINS);
+            String password = password(random);
+
+            long createdMillis = nowMillis - random.nextLong(spreadMillis);
+            revisions.add(new RevisionRow(id, createdMillis, REVTYPE_ADD, firstName, lastName, email, password));
+            long modifiedMillis = createdMillis;
+            long version = 0;
+            while (random.nextDouble() < continueProbability) {
+                modifiedMillis += random.nextLong(Math.max(1, nowMillis - modifiedMillis));
+                if (random.nextBoolean()) {
+                    firstName = pick(random, FIRST_NAMES);
+                } else {
+                    lastName = pick(random, LAST_NAMES);
+                }
+                revisions.add(new RevisionRow(id, modifiedMillis, REVTYPE_MOD, firstName, lastName, email, password));
+                version++;
+            }
+            users.add(new UserRow(id, firstName, lastName, email, password,
+                    toDateTime(createdMillis), toDateTime(modifiedMillis), version));
+        }
+
+        long firstRevision = nextRevision.getAndAdd(revisions.size());
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            if (copyProtocol) {
+                liftStatementTimeout(connection);
+                copyUsers(connection, users, revisions, firstRevision);
+            } else {
+                insertUsers(connection, users, revisions, firstRevision);
+            }
+            connection.commit();
+        }
+        return revisions.size();
+    }
+
+    /**
+     * Lift the pool's PostgreSQL statement timeout for the current transaction only.
+     */
+    private static void liftStatementTimeout(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET LOCAL statement_timeout = 0");
+        }
+    }
+
+    private static void copyUsers(Connection connection, List<UserRow> users, List<RevisionRow> revisions,
+                                  long firstRevision) throws SQLException, IOException {
+        CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+
+        // Generated values never contain commas, quotes or line breaks, so no CSV quoting is needed
+        StringBuilder csv = new StringBuilder(revisions.size() * 24);
+        for (int i = 0; i < revisions.size(); i++) {
+            csv.append(firstRevision + i).append(',').append(revisions.get(i).timestamp()).append('\n');
+        }
+        copyManager.copyIn(COPY_REVISIONS, new StringReader(csv.toString()));
+
+        csv.setLength(0);
+        for (UserRow user : users) {
+            csv.append(user.id()).append(',').append(user.firstName()).append(',').append(user.lastName())
+                    .append(',').append(user.email()).append(',').append(user.password())
+                    .append(',').append(GENERATED_BY).append(',').append(user.createdAt())
+                    .append(',').append(GENERATED_BY).append(',').append(user.modifiedAt())
+                    .append(',').append(user.version()).append('\n');
+        }
+        copyManager.copyIn(COPY_USERS, new StringReader(csv.toString()));
+
+        csv.setLength(0);
+        for (int i = 0; i < revisions.size(); i++) {
+            RevisionRow revision = revisions.get(i);
+            csv.append(revision.userId()).append(',').append(firstRevision + i).append(',').append(revision.type())
+                    .append(',').append(revision.firstName()).append(',').append(revision.lastName())
+                    .append(',').append(revision.email()).append(',').append(revision.password()).append('\n');
+        }
+        copyManager.copyIn(COPY_USER_REVISIONS, new StringReader(csv.toString()));
+    }
+
+    private static void insertUsers(Connection connection, List<UserRow> users, List<RevisionRow> revisions,
+                                    long firstRevision) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_REVISION)) {
+            for (int i = 0; i < revisions.size(); i++) {
+                statement.setLong(1, firstRevision + i);
+                statement.setLong(2, revisions.get(i).timestamp());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_USER)) {
+            for (UserRow user : users) {
+                statement.setLong(1, user.id());
+                statement.setString(2, user.firstName());
+                statement.setString(3, user.lastName());
+                statement.setString(4, user.email());
+                statement.setString(5, user.password());
+                statement.setString(6, GENERATED_BY);
+                statement.setObject(7, user.createdAt());
+                statement.setString(8, GENERATED_BY);
+                statement.setObject(9, user.modifiedAt());
+                statement.setLong(10, user.version());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_USER_REVISION)) {
+            for (int i = 0; i < revisions.size(); i++) {
+                RevisionRow revision = revisions.get(i);
+                statement.setLong(1, revision.userId());
+                statement.setLong(2, firstRevision + i);
+                statement.setInt(3, revision.type());
+                statement.setString(4, revision.firstName());
+                statement.setString(5, revision.lastName());
+                statement.setString(6, revision.email());
+                statement.setString(7, revision.password());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    /**
+     * Generate one batch of audit log documents with weighted actions, log-normal durations
+     * and a share of failures, and insert them with a single unordered bulk write.
+     *
+     * @return the number of documents written
+     */
+    private long writeAuditLogs(DataGenerationPlan plan, LocalDateTime now, long batchIndex, int count,
+                                long userIdBound) {
+        SplittableRandom random = new SplittableRandom(~plan.getSeed() ^ batchIndex);
+        List<Map.Entry<String, Integer>> actions = new ArrayList<>(plan.getActionWeights().entrySet());
+        int totalWeight = actions.stream().mapToInt(Map.Entry::getValue).sum();
+        double logMedianMicros = Math.log(plan.getDurationMedianMs() * 1000);
+        long spreadMillis = TimeUnit.DAYS.toMillis(Math.max(1, plan.getSpreadDays()));
+
+        List<ApiAuditLog> documents = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String action = pickWeighted(random, actions, totalWeight);
+            String[] route = ACTION_ROUTES.getOrDefault(action, new String[]{"GET", "/api/v1/" + action});
+            long userId = random.nextLong(1, Math.max(2, userIdBound));
+            boolean failed = random.nextDouble() < plan.getErrorRate();
+            boolean writes = !"GET".equals(route[0]);
+            String user = userJson(userId, random);
+
+            String responsePayload = failed ? "User not found with id: " + userId
+                    : "get_all_users".equals(action) ? "[" + user + "]" : user;
+            LocalDateTime createdAt = now.minusNanos(TimeUnit.MILLISECONDS.toNanos(random.nextLong(spreadMillis)));
+            ApiAuditLog auditLog = ApiAuditLog.builder()
+                    .action(action)
+                    .requestPayload(writes ? "[" + user + "]" : "[" + userId + "]")
+                    .responsePayload(responsePayload)
+                    .httpMethod(route[0])
+                    .endpoint(route[1].formatted(userId))
+                    .clientIp("10." + random.nextInt(256) + "." + random.nextInt(256) + "." + random.nextInt(1, 255))
+                    .status(failed ? "FAILED" : "SUCCESS")
+                    .durationMicros(Math.round(Math.exp(logMedianMicros + plan.getDurationSigma() * random.nextGaussian())))
+                    .responseSize(failed ? null : (long) responsePayload.length())
+                    .dbStatements(failed || !writes ? 1 : 3)
+                    .createdBy("anonymous")
+                    .createdAt(createdAt)
+                    .timestamp(createdAt)
+                    .build();
+            auditLog.setSearchTerms(AuditSearchTerms.of(auditLog));
+            documents.add(auditLog);
+        }
+
+        BulkOperations bulk = bulkMongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ApiAuditLog.class);
+        bulk.insert(documents);
+        return bulk.execute().getInsertedCount();
+    }
+
+    private static void runAll(List<Callable<Void>> batches, int threads) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (Future<Void> future : executor.invokeAll(batches)) {
+                future.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating data", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof IOException ioException) {
+                throw new UncheckedIOException(ioException);
+            }
+            throw new IllegalStateException("Failed to generate data", ex.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Move the user identity and the Envers revision sequence past the generated ids,
+     * so rows created through JPA afterwards do not collide with them.
+     */
+    private void restartIdentities(long nextUserId, long nextRevision) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE users ALTER COLUMN id RESTART WITH " + nextUserId);
+            statement.execute("ALTER SEQUENCE revinfo_seq RESTART WITH " + nextRevision);
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Failed to restart identities after generating data", ex);
+        }
+    }
+
+    private boolean supportsCopy() {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.isWrapperFor(PGConnection.class);
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Failed to inspect the database connection", ex);
+        }
+    }
+
+    private long queryLong(String sql) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Failed to run " + sql, ex);
+        }
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String pickWeighted(SplittableRandom random, List<Map.Entry<String, Integer>> actions,
+                                       int totalWeight) {
+        int target = random.nextInt(Math.max(1, totalWeight));
+        for (Map.Entry<String, Integer> action : actions) {
+            target -= action.getValue();
+            if (target < 0) {
+                return action.getKey();
+            }
+        }
+        return actions.get(actions.size() - 1).getKey();
+    }
+
+    private static String password(SplittableRandom random) {
+        char[] password = new char[16];
+        for (int i = 0; i < password.length; i++) {
+            password[i] = PASSWORD_ALPHABET.charAt(random.nextInt(PASSWORD_ALPHABET.length()));
+        }
+        return new String(password);
+    }
+
+    private static String userJson(long id, SplittableRandom random) {
+        String firstName = pick(random, FIRST_NAMES);
+        String lastName = pick(random, LAST_NAMES);
+        return "{\"id\":" + id + ",\"firstName\":\"" + firstName + "\",\"lastName\":\"" + lastName
+                + "\",\"email\":\"" + firstName.toLowerCase() + "." + lastName.toLowerCase() + "." + id
+                + "@example.com\"}";
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private record UserRow(long id, String firstName, String lastName, String email, String password,
+                           LocalDateTime createdAt, LocalDateTime modifiedAt, long version) {
+    }
+
+    private record RevisionRow(long userId, long timestamp, int type, String firstName, String lastName,
+                               String email, String password) {
+    }
+}
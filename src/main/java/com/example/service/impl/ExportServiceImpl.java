@@ -0,0 +1,200 @@
+package com.example.service.impl;
+
+import com.example.model.dto.AuditLogFilter;
+import com.example.model.entity.ApiAuditLog;
+import com.example.repository.nosql.ApiAuditLogRepository;
+import com.example.repository.nosql.AuditLogQueries;
+import com.example.service.ExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Service Implementation for NDJSON exports.
+ * Users are read with plain JDBC in segments of {@code segment-rows} ids, each read into memory on a
+ * read-only connection that goes back to the pool before the segment is written, so a slow client never
+ * holds a pooled connection or a transaction while it reads the response. Audit logs are read from a
+ * MongoDB cursor and decoded by {@code ApiAuditLogCodec}.
+ * Rows are written straight to a {@link JsonGenerator}; gzip uses the fastest compression level.
+ */
+@Service
+@Slf4j
+public class ExportServiceImpl implements ExportService {
+
+    private static final String USER_SEGMENT_SQL =
+            "select id, first_name, last_name, email, created_by, created_at, modified_by, modified_at, version"
+                    + " from users where id > ? order by id limit ?";
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final DataSource dataSource;
+    private final ApiAuditLogRepository auditLogRepository;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter documentWriter;
+    private final int fetchSize;
+    private final int segmentRows;
+
+    public ExportServiceImpl(DataSource dataSource,
+                             ApiAuditLogRepository auditLogRepository,
+                             ObjectMapper objectMapper,
+                             @Value("${app.export.fetch-size:1000}") int fetchSize,
+                             @Value("${app.export.segment-rows:1000}") int segmentRows) {
+        this.dataSource = dataSource;
+        this.auditLogRepository = auditLogRepository;
+        this.objectMapper = objectMapper;
+        // Flushing after every document would turn each line into a separate socket write
+        this.documentWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.fetchSize = fetchSize;
+        this.segmentRows = segmentRows;
+    }
+
+    @Override
+    public long exportUsers(OutputStream out, boolean gzip) throws IOException {
+        long start = System.nanoTime();
+        long rows = 0;
+        try (OutputStream target = wrap(out, gzip);
+             JsonGenerator generator = createGenerator(target)) {
+            List<UserRow> segment;
+            long lastId = 0;
+            do {
+                segment = readSegment(lastId);
+                for (UserRow user : segment) {
+                    writeUser(generator, user);
+                }
+                if (!segment.isEmpty()) {
+                    lastId = segment.getLast().id();
+                }
+                rows += segment.size();
+            } while (segment.size() == segmentRows);
+        }
+        log.debug("Exported {} users in {} ms", rows, (System.nanoTime() - start) / 1_000_000);
+        return rows;
+    }
+
+    @Override
+    public long exportAuditLogs(AuditLogFilter filter, OutputStream out, boolean gzip) throws IOException {
+        long start = System.nanoTime();
+        long rows = 0;
+        Query query = AuditLogQueries.of(filter).with(Sort.by("createdAt"));
+        try (OutputStream target = wrap(out, gzip);
+             JsonGenerator generator = createGenerator(target);
+             Stream<ApiAuditLog> logs = auditLogRepository.streamDecoded(query, fetchSize)) {
+            for (ApiAuditLog auditLog : (Iterable<ApiAuditLog>) logs::iterator) {
+                documentWriter.writeValue(generator, auditLog);
+                generator.writeRaw('\n');
+                rows++;
+            }
+        }
+        log.debug("Exported {} audit logs in {} ms", rows, (System.nanoTime() - start) / 1_000_000);
+        return rows;
+    }
+
+    /**
+     * Read the next segment of users, releasing the connection before any of them is written.
+     */
+    private List<UserRow> readSegment(long lastId) {
+        List<UserRow> segment = new ArrayList<>(segmentRows);
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setReadOnly(true);
+            try (PreparedStatement statement = connection.prepareStatement(USER_SEGMENT_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                statement.setFetchSize(fetchSize);
+                statement.setLong(1, lastId);
+                statement.setInt(2, segmentRows);
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        segment.add(new UserRow(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                                rs.getString(5), rs.getObject(6, LocalDateTime.class), rs.getString(7),
+                                rs.getObject(8, LocalDateTime.class), rs.getLong(9)));
+                    }
+                }
+            }
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Failed to read users after id " + lastId, ex);
+        }
+        return segment;
+    }
+
+    private static void writeUser(JsonGenerator generator, UserRow user) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", user.id());
+        generator.writeStringField("firstName", user.firstName());
+        generator.writeStringField("lastName", user.lastName());
+        generator.writeStringField("email", user.email());
+        generator.writeStringField("createdBy", user.createdBy());
+        writeDateTimeField(generator, "createdAt", user.createdAt());
+        generator.writeStringField("modifiedBy", user.modifiedBy());
+        writeDateTimeField(generator, "modifiedAt", user.modifiedAt());
+        generator.writeNumberField("version", user.version());
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private static void writeDateTimeField(JsonGenerator generator, String name, LocalDateTime value)
+            throws IOException {
+        if (value == null) {
+            generator.writeNullField(name);
+        } else {
+            // Same representation as the Jackson serializer used by the other endpoints
+            generator.writeStringField(name, DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+        }
+    }
+
+    private JsonGenerator createGenerator(OutputStream target) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(target);
+        // Lines are separated explicitly; the default root separator is a space
+        generator.setRootValueSeparator(null);
+        return generator;
+    }
+
+    /**
+     * Wrap the response stream so that closing it finishes the gzip trailer without closing the response.
+     */
+    private static OutputStream wrap(OutputStream out, boolean gzip) throws IOException {
+        OutputStream unclosable = new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+        if (!gzip) {
+            return unclosable;
+        }
+        return new GZIPOutputStream(unclosable, GZIP_BUFFER_SIZE) {
+            {
+                def.setLevel(Deflater.BEST_SPEED);
+            }
+        };
+    }
+
+    private record UserRow(long id, String firstName, String lastName, String email, String createdBy,
+                           LocalDateTime createdAt, String modifiedBy, LocalDateTime modifiedAt, long version) {
+    }
+}
@@ -0,0 +1,253 @@
+package com.example.service.impl;
+
+import com.example.model.dto.DependencyHealth;
+import com.example.model.dto.HealthReport;
+import com.example.service.AuditService;
+import com.example.service.HealthService;
+import com.example.utilities.SingleFlight;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.LivenessState;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Service Implementation for application health checks.
+ * Dependencies are probed concurrently, each with its own timeout, and the combined
+ * result is cached for a short TTL so that frequent polling never reaches the databases.
+ */
+@Service
+@Slf4j
+public class HealthServiceImpl implements HealthService {
+
+    static final String DATASOURCE = "datasource";
+    static final String MONGO = "mongo";
+    static final String AUDIT_PIPELINE = "auditPipeline";
+    static final String WARM_UP = "warmUp";
+
+    private final DataSource dataSource;
+    private final MongoTemplate mongoTemplate;
+    private final AuditService auditService;
+    private final ApplicationAvailability applicationAvailability;
+
+    private final long cacheTtlNanos;
+    private final Duration datasourceTimeout;
+    private final Duration mongoTimeout;
+    private final int auditBacklogThreshold;
+
+    private final ExecutorService probeExecutor;
+    private final SingleFlight<String, HealthReport> probeRound = new SingleFlight<>();
+    private final Map<String, AtomicReference<CompletableFuture<DependencyHealth>>> runningProbes = Map.of(
+            DATASOURCE, new AtomicReference<>(),
+            MONGO, new AtomicReference<>());
+
+    private volatile CachedReport cachedReport;
+    private volatile boolean warmedUp;
+
+    public HealthServiceImpl(DataSource dataSource,
+                             MongoTemplate mongoTemplate,
+                             AuditService auditService,
+                             ApplicationAvailability applicationAvailability,
+                             @Value("${app.health.cache-ttl-ms:1000}") long cacheTtlMs,
+                             @Value("${app.health.datasource.timeout-ms:1000}") long datasourceTimeoutMs,
+                             @Value("${app.health.mongo.timeout-ms:1000}") long mongoTimeoutMs,
+                             @Value("${app.health.audit.backlog-threshold:100}") int auditBacklogThreshold) {
+        this.dataSource = dataSource;
+        this.mongoTemplate = mongoTemplate;
+        this.auditService = auditService;
+        this.applicationAvailability = applicationAvailability;
+        this.cacheTtlNanos = TimeUnit.MILLISECONDS.toNanos(cacheTtlMs);
+        this.datasourceTimeout = Duration.ofMillis(datasourceTimeoutMs);
+        this.mongoTimeout = Duration.ofMillis(mongoTimeoutMs);
+        this.auditBacklogThreshold = auditBacklogThreshold;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.probeExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "health-probe-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public HealthReport liveness() {
+        boolean live = applicationAvailability.getLivenessState() == LivenessState.CORRECT;
+        return HealthReport.builder()
+                .status(live ? DependencyHealth.UP : DependencyHealth.DOWN)
+                .timestamp(LocalDateTime.now())
+                .checks(Map.of())
+                .build();
+    }
+
+    @Override
+    public HealthReport readiness() {
+        if (!warmedUp) {
+            return HealthReport.builder()
+                    .status(DependencyHealth.DOWN)
+                    .timestamp(LocalDateTime.now())
+                    .checks(Map.of(WARM_UP, DependencyHealth.builder()
+                            .status(DependencyHealth.DOWN)
+                            .details("Warm-up in progress")
+                            .build()))
+                    .build();
+        }
+        HealthReport report = dependencies();
+        if (applicationAvailability.getReadinessState() != ReadinessState.ACCEPTING_TRAFFIC && report.isUp()) {
+            return HealthReport.builder()
+                    .status(DependencyHealth.DOWN)
+                    .timestamp(report.getTimestamp())
+                    .checks(report.getChecks())
+                    .build();
+        }
+        return report;
+    }
+
+    /**
+     * Probe all dependencies once before reporting ready, which also opens the first
+     * pooled database connection and initializes the MongoDB client.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        HealthReport report = probeAll();
+        cachedReport = new CachedReport(report, System.nanoTime() + cacheTtlNanos);
+        warmedUp = true;
+        log.info("Health warm-up finished with status {}", report.getStatus());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        probeExecutor.shutdownNow();
+    }
+
+    private HealthReport dependencies() {
+        CachedReport cached = cachedReport;
+        if (cached != null && System.nanoTime() - cached.expiresAtNanos() < 0) {
+            return cached.report();
+        }
+        return probeRound.execute("dependencies", datasourceTimeout.plus(mongoTimeout), () -> {
+            HealthReport report = probeAll();
+            cachedReport = new CachedReport(report, System.nanoTime() + cacheTtlNanos);
+            return report;
+        });
+    }
+
+    private HealthReport probeAll() {
+        long start = System.nanoTime();
+        CompletableFuture<DependencyHealth> datasource = start(DATASOURCE, this::probeDatasource);
+        CompletableFuture<DependencyHealth> mongo = start(MONGO, this::probeMongo);
+
+        Map<String, DependencyHealth> checks = new LinkedHashMap<>();
+        checks.put(DATASOURCE, await(datasource, start, datasourceTimeout));
+        checks.put(MONGO, await(mongo, start, mongoTimeout));
+        checks.put(AUDIT_PIPELINE, probeAuditPipeline());
+
+        boolean up = checks.values().stream().allMatch(DependencyHealth::isUp);
+        return HealthReport.builder()
+                .status(up ? DependencyHealth.UP : DependencyHealth.DOWN)
+                .timestamp(LocalDateTime.now())
+                .checks(checks)
+                .build();
+    }
+
+    /**
+     * Start a probe, or join the previous one if it is still running so that a hanging
+     * dependency never accumulates probe threads.
+     */
+    private CompletableFuture<DependencyHealth> start(String name, ProbeCall call) {
+        AtomicReference<CompletableFuture<DependencyHealth>> running = runningProbes.get(name);
+        CompletableFuture<DependencyHealth> previous = running.get();
+        if (previous != null && !previous.isDone()) {
+            return previous;
+        }
+        CompletableFuture<DependencyHealth> probe = CompletableFuture.supplyAsync(() -> timed(call), probeExecutor);
+        running.set(probe);
+        return probe;
+    }
+
+    private DependencyHealth await(CompletableFuture<DependencyHealth> probe, long start, Duration timeout) {
+        long remaining = timeout.toNanos() - (System.nanoTime() - start);
+        try {
+            return probe.get(Math.max(remaining, 0), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            return DependencyHealth.builder()
+                    .status(DependencyHealth.DOWN)
+                    .latencyMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+                    .details("Timed out after " + timeout.toMillis() + " ms")
+                    .build();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return DependencyHealth.builder().status(DependencyHealth.DOWN).details("Interrupted").build();
+        } catch (ExecutionException ex) {
+            return DependencyHealth.builder().status(DependencyHealth.DOWN).details(ex.getCause().getMessage()).build();
+        }
+    }
+
+    private DependencyHealth timed(ProbeCall call) {
+        long start = System.nanoTime();
+        String details;
+        boolean up;
+        try {
+            details = call.probe();
+            up = true;
+        } catch (Exception ex) {
+            details = ex.getMessage();
+            up = false;
+        }
+        return DependencyHealth.builder()
+                .status(up ? DependencyHealth.UP : DependencyHealth.DOWN)
+                .latencyMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+                .details(details)
+                .build();
+    }
+
+    private String probeDatasource() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            int timeoutSeconds = (int) Math.max(1, datasourceTimeout.toSeconds());
+            if (!connection.isValid(timeoutSeconds)) {
+                throw new IllegalStateException("Connection validation failed");
+            }
+            return connection.getMetaData().getDatabaseProductName();
+        }
+    }
+
+    private String probeMongo() {
+        mongoTemplate.executeCommand("{ ping: 1 }");
+        return mongoTemplate.getDb().getName();
+    }
+
+    private DependencyHealth probeAuditPipeline() {
+        int pending = auditService.getPendingWriteCount();
+        return DependencyHealth.builder()
+                .status(pending <= auditBacklogThreshold ? DependencyHealth.UP : DependencyHealth.DOWN)
+                .details(pending + " pending audit writes")
+                .build();
+    }
+
+    @FunctionalInterface
+    private interface ProbeCall {
+        String probe() throws Exception;
+    }
+
+    private record CachedReport(HealthReport report, long expiresAtNanos) {
+    }
+}
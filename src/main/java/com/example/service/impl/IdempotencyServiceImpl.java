@@ -0,0 +1,229 @@
+package com.example.service.impl;
+
+import com.example.exception.IdempotencyKeyInProgressException;
+import com.example.exception.IdempotencyKeyReuseException;
+import com.example.model.dto.IdempotentResponse;
+import com.example.model.entity.IdempotencyRecord;
+import com.example.repository.IdempotencyRecordRepository;
+import com.example.service.CoalescingService;
+import com.example.service.IdempotencyService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Service Implementation for idempotent requests.
+ * Stored responses live in a bounded in-memory tier with a short TTL, which evicts the least recently
+ * used key when full so that keys being retried stay in memory, backed by the
+ * {@code idempotency_keys} table for the full retention period, so most retries are
+ * answered without a database round trip and never reach the user tables.
+ * <p>
+ * A key is claimed across instances before its request runs, by inserting an in-progress record that
+ * expires after {@code claim-timeout-ms}. Concurrent requests with the same key on this instance wait for
+ * the first one through the coalescing service; on another instance they poll the record for up to
+ * {@code claim-wait-ms} and are then rejected, so the request is never run twice at once.
+ */
+@Service
+@Slf4j
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final CoalescingService coalescingService;
+    private final Duration retention;
+    private final long cacheTtlNanos;
+    private final int cacheMaxEntries;
+    private final Duration claimTimeout;
+    private final long claimWaitNanos;
+    private final long claimPollMs;
+
+    // Guarded by itself; kept in access order, so the least recently used key is evicted first
+    private final Map<String, CachedResponse> cache;
+
+    public IdempotencyServiceImpl(IdempotencyRecordRepository idempotencyRecordRepository,
+                                  CoalescingService coalescingService,
+                                  @Value("${app.idempotency.retention-hours:24}") long retentionHours,
+                                  @Value("${app.idempotency.cache-ttl-ms:600000}") long cacheTtlMs,
+                                  @Value("${app.idempotency.cache-max-entries:10000}") int cacheMaxEntries,
+                                  @Value("${app.idempotency.claim-timeout-ms:60000}") long claimTimeoutMs,
+                                  @Value("${app.idempotency.claim-wait-ms:5000}") long claimWaitMs,
+                                  @Value("${app.idempotency.claim-poll-ms:50}") long claimPollMs) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.coalescingService = coalescingService;
+        this.retention = Duration.ofHours(retentionHours);
+        this.cacheTtlNanos = Duration.ofMillis(cacheTtlMs).toNanos();
+        this.cacheMaxEntries = cacheMaxEntries;
+        this.claimTimeout = Duration.ofMillis(claimTimeoutMs);
+        this.claimWaitNanos = Duration.ofMillis(claimWaitMs).toNanos();
+        this.claimPollMs = claimPollMs;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > IdempotencyServiceImpl.this.cacheMaxEntries;
+            }
+        };
+    }
+
+    @Override
+    public IdempotentResponse execute(String keyHash, String requestHash, Supplier<IdempotentResponse> action) {
+        IdempotentResponse response = cached(keyHash);
+        if (response == null) {
+            response = coalescingService.coalesce(CoalescingService.IDEMPOTENCY, keyHash, () -> {
+                IdempotentResponse stored = cached(keyHash);
+                if (stored == null) {
+                    stored = load(keyHash);
+                }
+                return stored != null ? stored : claimAndRun(keyHash, requestHash, action);
+            });
+        }
+
+        if (!response.getRequestHash().equals(requestHash)) {
+            throw new IdempotencyKeyReuseException("Idempotency key was already used for a different request");
+        }
+        return response;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long now = System.nanoTime();
+        synchronized (cache) {
+            cache.values().removeIf(entry -> entry.isExpired(now));
+        }
+        int deleted = idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.debug("Purged {} expired idempotency keys", deleted);
+        }
+    }
+
+    private IdempotentResponse cached(String keyHash) {
+        synchronized (cache) {
+            CachedResponse entry = cache.get(keyHash);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.isExpired(System.nanoTime())) {
+                cache.remove(keyHash);
+                return null;
+            }
+            return entry.response();
+        }
+    }
+
+    private IdempotentResponse load(String keyHash) {
+        return idempotencyRecordRepository.findById(keyHash)
+                .filter(record -> record.getStatus() != IdempotencyRecord.IN_PROGRESS)
+                .filter(record -> record.getExpiresAt().isAfter(LocalDateTime.now()))
+                .map(record -> {
+                    IdempotentResponse response = IdempotentResponse.builder()
+                            .requestHash(record.getRequestHash())
+                            .status(record.getStatus())
+                            .body(record.getResponseBody() != null
+                                    ? record.getResponseBody().getBytes(StandardCharsets.UTF_8) : new byte[0])
+                            .build();
+                    cache(keyHash, response);
+                    return response;
+                })
+                .orElse(null);
+    }
+
+    /**
+     * Claim the key and run the action, or wait for the instance holding the claim to store its response.
+     */
+    private IdempotentResponse claimAndRun(String keyHash, String requestHash, Supplier<IdempotentResponse> action) {
+        long deadline = System.nanoTime() + claimWaitNanos;
+        while (true) {
+            LocalDateTime claimedAt = claim(keyHash, requestHash);
+            if (claimedAt != null) {
+                return runAndStore(keyHash, claimedAt, requestHash, action);
+            }
+            IdempotentResponse stored = load(keyHash);
+            if (stored != null) {
+                return stored;
+            }
+            if (System.nanoTime() - deadline > 0) {
+                throw new IdempotencyKeyInProgressException(
+                        "A request with this idempotency key is still in progress; retry later");
+            }
+            try {
+                Thread.sleep(claimPollMs);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IdempotencyKeyInProgressException(
+                        "A request with this idempotency key is still in progress; retry later");
+            }
+        }
+    }
+
+    /**
+     * Insert an in-progress record for the key, or take over an expired one.
+     *
+     * @return the time of the claim, which identifies it, or null if the key is held by another request
+     */
+    private LocalDateTime claim(String keyHash, String requestHash) {
+        // Truncated to the precision of the column, so the claim can be matched when completing it
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        IdempotencyRecord record = IdempotencyRecord.builder()
+                .keyHash(keyHash)
+                .requestHash(requestHash)
+                .status(IdempotencyRecord.IN_PROGRESS)
+                .createdAt(now)
+                .expiresAt(now.plus(claimTimeout))
+                .build();
+        try {
+            idempotencyRecordRepository.save(record);
+            return now;
+        } catch (DataIntegrityViolationException ex) {
+            // Held by another request, unless its record has expired
+            return idempotencyRecordRepository.claimExpired(keyHash, requestHash, now, now.plus(claimTimeout)) == 1
+                    ? now : null;
+        }
+    }
+
+    private IdempotentResponse runAndStore(String keyHash, LocalDateTime claimedAt, String requestHash,
+                                           Supplier<IdempotentResponse> action) {
+        IdempotentResponse response;
+        try {
+            response = action.get();
+        } catch (RuntimeException | Error ex) {
+            idempotencyRecordRepository.release(keyHash, claimedAt);
+            throw ex;
+        }
+        if (response.getStatus() < 200 || response.getStatus() >= 300) {
+            idempotencyRecordRepository.release(keyHash, claimedAt);
+            return response;
+        }
+
+        int completed = idempotencyRecordRepository.complete(keyHash, claimedAt, response.getStatus(),
+                new String(response.getBody(), StandardCharsets.UTF_8), LocalDateTime.now().plus(retention));
+        if (completed == 0) {
+            log.warn("Idempotency key {} was taken over after its claim expired; raise app.idempotency.claim-timeout-ms",
+                    keyHash);
+        }
+        cache(keyHash, response);
+        return response;
+    }
+
+    private void cache(String keyHash, IdempotentResponse response) {
+        CachedResponse entry = new CachedResponse(response, System.nanoTime() + cacheTtlNanos);
+        synchronized (cache) {
+            cache.put(keyHash, entry);
+        }
+    }
+
+    private record CachedResponse(IdempotentResponse response, long expiresAtNanos) {
+
+        boolean isExpired(long now) {
+            return now - expiresAtNanos > 0;
+        }
+    }
+}
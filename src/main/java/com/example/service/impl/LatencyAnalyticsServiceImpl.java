@@ -0,0 +1,155 @@
+package com.example.service.impl;
+
+import com.example.model.dto.LatencyStats;
+import com.example.model.entity.ApiLatencyHistogram;
+import com.example.service.LatencyAnalyticsService;
+import com.example.utilities.LatencyHistogram;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service Implementation for request latency analytics.
+ * Durations are recorded into in-memory histograms per action and minute, which are flushed
+ * to MongoDB as {@code $inc} upserts once the minute is over. Percentiles for a time window
+ * are computed by merging the histograms of the minutes it covers, never by scanning audit logs.
+ * Flushes run in the background and are not subject to the query timeout.
+ */
+@Service
+@Slf4j
+public class LatencyAnalyticsServiceImpl implements LatencyAnalyticsService {
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoTemplate bulkMongoTemplate;
+
+    private final ConcurrentMap<BucketKey, LatencyHistogram> pending = new ConcurrentHashMap<>();
+
+    public LatencyAnalyticsServiceImpl(MongoTemplate mongoTemplate,
+                                       @Qualifier("bulkMongoTemplate") MongoTemplate bulkMongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+        this.bulkMongoTemplate = bulkMongoTemplate;
+    }
+
+    @Override
+    public void record(String action, long durationNanos) {
+        BucketKey key = new BucketKey(action, LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES));
+        pending.computeIfAbsent(key, k -> new LatencyHistogram())
+                .record(TimeUnit.NANOSECONDS.toMicros(durationNanos));
+    }
+
+    @Override
+    public List<LatencyStats> getLatencyStats(LocalDateTime start, LocalDateTime end) {
+        LocalDateTime from = start.truncatedTo(ChronoUnit.MINUTES);
+        Map<String, LatencyHistogram> byAction = new TreeMap<>();
+
+        Query query = Query.query(Criteria.where("bucketStart").gte(from).lt(end));
+        for (ApiLatencyHistogram stored : mongoTemplate.find(query, ApiLatencyHistogram.class)) {
+            Map<String, Long> counts = stored.getCounts() != null ? stored.getCounts() : Map.of();
+            byAction.computeIfAbsent(stored.getAction(), action -> new LatencyHistogram())
+                    .merge(counts, stored.getCount(), stored.getSumMicros(), stored.getMaxMicros());
+        }
+
+        // Minutes that have not been flushed yet are only held in memory
+        pending.forEach((key, histogram) -> {
+            if (!key.bucketStart().isBefore(from) && key.bucketStart().isBefore(end)) {
+                byAction.computeIfAbsent(key.action(), action -> new LatencyHistogram()).merge(histogram);
+            }
+        });
+
+        List<LatencyStats> stats = new ArrayList<>(byAction.size());
+        byAction.forEach((action, histogram) -> stats.add(toStats(action, histogram)));
+        return stats;
+    }
+
+    /**
+     * Flush minutes that ended at least a minute ago. The extra minute of grace keeps requests
+     * that read the clock just before a minute boundary from recording into an already flushed histogram.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${app.audit.latency.flush-interval-ms:10000}")
+    public void flush() {
+        flushBefore(LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES).minusMinutes(1));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushBefore(LocalDateTime.MAX);
+    }
+
+    void flushBefore(LocalDateTime cutoff) {
+        Map<BucketKey, LatencyHistogram> batch = new HashMap<>();
+        pending.forEach((key, histogram) -> {
+            if (key.bucketStart().isBefore(cutoff) && pending.remove(key, histogram)) {
+                batch.put(key, histogram);
+            }
+        });
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        BulkOperations bulk = bulkMongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ApiLatencyHistogram.class);
+        batch.forEach((key, histogram) -> bulk.upsert(
+                Query.query(Criteria.where("_id").is(key.id())), toUpdate(key, histogram)));
+        try {
+            bulk.execute();
+        } catch (RuntimeException ex) {
+            log.warn("Failed to flush {} latency histograms, keeping them for the next flush", batch.size(), ex);
+            batch.forEach((key, histogram) ->
+                    pending.computeIfAbsent(key, k -> new LatencyHistogram()).merge(histogram));
+        }
+    }
+
+    private static Update toUpdate(BucketKey key, LatencyHistogram histogram) {
+        Update update = new Update()
+                .setOnInsert("action", key.action())
+                .setOnInsert("bucketStart", key.bucketStart())
+                .inc("count", histogram.getCount())
+                .inc("sumMicros", histogram.getSum())
+                .max("maxMicros", histogram.getMax());
+        histogram.forEachBucket((bucket, count) -> update.inc("counts." + bucket, count));
+        return update;
+    }
+
+    private static LatencyStats toStats(String action, LatencyHistogram histogram) {
+        long count = histogram.getCount();
+        return LatencyStats.builder()
+                .action(action)
+                .count(count)
+                .meanMs(count > 0 ? toMillis(histogram.getSum()) / count : 0)
+                .p50Ms(toMillis(histogram.getValueAtQuantile(0.50)))
+                .p90Ms(toMillis(histogram.getValueAtQuantile(0.90)))
+                .p95Ms(toMillis(histogram.getValueAtQuantile(0.95)))
+                .p99Ms(toMillis(histogram.getValueAtQuantile(0.99)))
+                .maxMs(toMillis(histogram.getMax()))
+                .build();
+    }
+
+    private static double toMillis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private record BucketKey(String action, LocalDateTime bucketStart) {
+
+        String id() {
+            return action + "@" + bucketStart;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.service.impl;
+
+import com.example.service.OptimisticRetryService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Service Implementation for optimistic locking retries.
+ * Backoff uses full jitter (a random delay between zero and an exponentially growing cap),
+ * so contending writers spread out instead of colliding again in lockstep.
+ * Exposes the {@code app.optimistic_retry.calls} counter tagged by operation and outcome.
+ */
+@Service
+@Slf4j
+public class OptimisticRetryServiceImpl implements OptimisticRetryService {
+
+    private static final String CALLS_METRIC = "app.optimistic_retry.calls";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int maxAttempts;
+    private final long baseBackoffMs;
+    private final long maxBackoffMs;
+
+    public OptimisticRetryServiceImpl(MeterRegistry meterRegistry,
+                                      @Value("${app.optimistic-retry.enabled:false}") boolean enabled,
+                                      @Value("${app.optimistic-retry.max-attempts:3}") int maxAttempts,
+                                      @Value("${app.optimistic-retry.base-backoff-ms:10}") long baseBackoffMs,
+                                      @Value("${app.optimistic-retry.max-backoff-ms:200}") long maxBackoffMs) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxAttempts = enabled ? Math.max(1, maxAttempts) : 1;
+        this.baseBackoffMs = baseBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+    }
+
+    @Override
+    public <T> T execute(String operation, IntFunction<T> attempt) {
+        for (int attemptNumber = 1; ; attemptNumber++) {
+            try {
+                T result = attempt.apply(attemptNumber);
+                if (attemptNumber > 1) {
+                    count(operation, "succeeded_after_retry");
+                }
+                return result;
+            } catch (OptimisticLockingFailureException | OptimisticLockException ex) {
+                if (!enabled) {
+                    throw ex;
+                }
+                if (attemptNumber >= maxAttempts) {
+                    count(operation, "exhausted");
+                    throw ex;
+                }
+                count(operation, "retried");
+                log.debug("Optimistic locking conflict in {} on attempt {}, retrying", operation, attemptNumber);
+                backoff(attemptNumber);
+            }
+        }
+    }
+
+    private void backoff(int attemptNumber) {
+        long cap = Math.min(maxBackoffMs, baseBackoffMs << Math.min(attemptNumber - 1, 20));
+        long delay = ThreadLocalRandom.current().nextLong(cap + 1);
+        try {
+            TimeUnit.MILLISECONDS.sleep(delay);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry", ex);
+        }
+    }
+
+    private void count(String operation, String outcome) {
+        Counter.builder(CALLS_METRIC)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,271 @@
+package com.example.service.impl;
+
+import com.example.model.dto.UserDto;
+import com.example.service.UserCacheService;
+import com.example.utilities.PgNotificationListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.DriverManager;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Service Implementation for the node-local user cache.
+ * <p>
+ * On PostgreSQL a write issues {@code NOTIFY} with the user id inside its own transaction,
+ * so the notification is delivered only once the write has committed, and never for a rollback. Every
+ * node listens on a dedicated connection and evicts the users it is told about; notifications arriving
+ * together are applied as one batch, and a batch larger than {@code evict-all-threshold} clears the cache.
+ * While the listening connection is down nothing is served from or added to the cache, and it is cleared
+ * again once listening resumes, since notifications sent in between are lost.
+ * <p>
+ * On other databases invalidation is node-local. Entries also expire after {@code ttl-ms} as a last resort.
+ * Exposes the {@code app.user_cache.requests} counter and the {@code app.user_cache.invalidation.delay}
+ * timer, the time from a write on another node to its eviction here.
+ */
+@Service
+@Slf4j
+public class UserCacheServiceImpl implements UserCacheService, PgNotificationListener.Handler {
+
+    private static final String REQUESTS_METRIC = "app.user_cache.requests";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final boolean enabled;
+    private final boolean broadcast;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final Duration pollTimeout;
+    private final Duration reconnectDelay;
+    private final int evictAllThreshold;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final ConcurrentMap<Long, CachedUser> cache = new ConcurrentHashMap<>();
+    // Bumped by every eviction, so a load that raced with one is not cached
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer invalidationDelay;
+
+    private volatile boolean listening;
+    private PgNotificationListener listener;
+
+    public UserCacheServiceImpl(JdbcTemplate jdbcTemplate,
+                                DataSourceProperties dataSourceProperties,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.user-cache.enabled:false}") boolean enabled,
+                                @Value("${app.user-cache.max-entries:10000}") int maxEntries,
+                                @Value("${app.user-cache.ttl-ms:300000}") long ttlMs,
+                                @Value("${app.user-cache.poll-timeout-ms:500}") long pollTimeoutMs,
+                                @Value("${app.user-cache.reconnect-delay-ms:1000}") long reconnectDelayMs,
+                                @Value("${app.user-cache.evict-all-threshold:1000}") int evictAllThreshold) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.enabled = enabled;
+        this.broadcast = enabled && dataSourceProperties.determineUrl().startsWith("jdbc:postgresql:");
+        this.maxEntries = maxEntries;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        this.pollTimeout = Duration.ofMillis(pollTimeoutMs);
+        this.reconnectDelay = Duration.ofMillis(reconnectDelayMs);
+        this.evictAllThreshold = evictAllThreshold;
+        // Without broadcasting there is nothing to miss
+        this.listening = enabled && !broadcast;
+
+        this.hits = Counter.builder(REQUESTS_METRIC).tag("outcome", "hit").register(meterRegistry);
+        this.misses = Counter.builder(REQUESTS_METRIC).tag("outcome", "miss").register(meterRegistry);
+        this.invalidationDelay = Timer.builder("app.user_cache.invalidation.delay").register(meterRegistry);
+        Gauge.builder("app.user_cache.size", cache, ConcurrentMap::size).register(meterRegistry);
+    }
+
+    /**
+     * Open the listening connection once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void startListening() {
+        if (!broadcast || listener != null) {
+            return;
+        }
+        listener = new PgNotificationListener(
+                () -> DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                        dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword()),
+                CHANNEL, pollTimeout, reconnectDelay, this);
+        listener.start();
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (listener != null) {
+            listener.close();
+            listener = null;
+        }
+    }
+
+    @Override
+    public UserDto get(Long id, Supplier<UserDto> loader) {
+        if (!listening) {
+            return loader.get();
+        }
+        CachedUser entry = cache.get(id);
+        if (entry != null && !entry.isExpired(System.nanoTime())) {
+            hits.increment();
+            return entry.user();
+        }
+        misses.increment();
+        long loadedGeneration = generation.get();
+        UserDto user = loader.get();
+        cacheLoaded(id, user, loadedGeneration);
+        return user;
+    }
+
+    @Override
+    public Map<Long, UserDto> getAll(Collection<Long> ids, Function<Set<Long>, Map<Long, UserDto>> loader) {
+        if (!listening) {
+            return loader.apply(new LinkedHashSet<>(ids));
+        }
+        Map<Long, UserDto> users = new HashMap<>();
+        Set<Long> missing = new LinkedHashSet<>();
+        long now = System.nanoTime();
+        for (Long id : ids) {
+            CachedUser entry = cache.get(id);
+            if (entry != null && !entry.isExpired(now)) {
+                users.put(id, entry.user());
+            } else {
+                missing.add(id);
+            }
+        }
+        hits.increment(ids.size() - missing.size());
+        if (missing.isEmpty()) {
+            return users;
+        }
+        misses.increment(missing.size());
+        long loadedGeneration = generation.get();
+        Map<Long, UserDto> loaded = loader.apply(missing);
+        loaded.forEach((id, user) -> cacheLoaded(id, user, loadedGeneration));
+        users.putAll(loaded);
+        return users;
+    }
+
+    @Override
+    public void invalidate(Long id) {
+        if (!enabled) {
+            return;
+        }
+        if (broadcast) {
+            // Inside a transaction PostgreSQL holds the notification back until commit
+            jdbcTemplate.query("select pg_notify(?, ?)", rs -> null,
+                    CHANNEL, nodeId + "|" + System.currentTimeMillis() + "|" + id);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(id);
+                }
+            });
+        } else {
+            evict(id);
+        }
+    }
+
+    @Override
+    public int size() {
+        return cache.size();
+    }
+
+    @Override
+    public void onListening() {
+        evictAll();
+        listening = true;
+        log.info("Listening for user cache invalidations on {}", CHANNEL);
+    }
+
+    @Override
+    public void onNotifications(List<String> payloads) {
+        long now = System.currentTimeMillis();
+        boolean clear = payloads.size() > evictAllThreshold;
+        Set<Long> ids = new HashSet<>();
+        for (String payload : payloads) {
+            String[] parts = payload.split("\\|");
+            if (parts.length != 3) {
+                log.warn("Unreadable user cache invalidation '{}', clearing the cache", payload);
+                clear = true;
+                continue;
+            }
+            if (parts[0].equals(nodeId)) {
+                // Already evicted when the write committed here
+                continue;
+            }
+            invalidationDelay.record(Math.max(0, now - Long.parseLong(parts[1])), TimeUnit.MILLISECONDS);
+            ids.add(Long.valueOf(parts[2]));
+        }
+        if (clear) {
+            evictAll();
+        } else {
+            ids.forEach(this::evict);
+        }
+    }
+
+    @Override
+    public void onDisconnected(Exception cause) {
+        if (listening) {
+            log.warn("Lost the user cache invalidation channel; bypassing the cache until it is back", cause);
+        }
+        listening = false;
+        evictAll();
+    }
+
+    private void cacheLoaded(Long id, UserDto user, long loadedGeneration) {
+        if (listening && generation.get() == loadedGeneration
+                && (cache.size() < maxEntries || cache.containsKey(id))) {
+            CachedUser loaded = new CachedUser(user, System.nanoTime() + ttlNanos);
+            cache.put(id, loaded);
+            // An eviction between the check and the put may have missed the entry
+            if (generation.get() != loadedGeneration) {
+                cache.remove(id, loaded);
+            }
+        }
+    }
+
+    private void evict(Long id) {
+        generation.incrementAndGet();
+        cache.remove(id);
+    }
+
+    private void evictAll() {
+        generation.incrementAndGet();
+        cache.clear();
+    }
+
+    private record CachedUser(UserDto user, long expiresAtNanos) {
+
+        boolean isExpired(long now) {
+            return now - expiresAtNanos > 0;
+        }
+    }
+}
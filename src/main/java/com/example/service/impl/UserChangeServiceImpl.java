@@ -0,0 +1,186 @@
+package com.example.service.impl;
+
+import com.example.exception.InvalidChangeTokenException;
+import com.example.model.dto.UserChange;
+import com.example.model.dto.UserChangesPage;
+import com.example.model.entity.RevisionInfo;
+import com.example.service.UserChangeService;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service Implementation for the user change feed.
+ * <p>
+ * Every write to a user is recorded by Envers in {@code users_aud} under a revision number, with
+ * revision type 2 for a deletion. The feed reads these rows in {@code (rev, id)} order from an index
+ * created at startup, and its token is the last {@code (rev, id)} returned, so a revision touching many
+ * users, such as an import chunk, can be split across pages without losing or repeating a row.
+ * <p>
+ * Revision numbers are drawn one at a time from a shared sequence (see {@link RevisionInfo}) before a
+ * transaction commits, so a revision may become visible after a higher one.
+ * Each page therefore stops before the lowest revision past the token that is younger than {@code settle-ms},
+ * whatever the age of the revisions above it, which may carry older timestamps from a node whose clock is
+ * behind. A lower revision still committing is then never skipped, provided {@code settle-ms} exceeds the
+ * longest write transaction plus the clock skew between nodes.
+ */
+@Service
+@Slf4j
+public class UserChangeServiceImpl implements UserChangeService {
+
+    private static final String CHANGES_SQL =
+            "select a.rev, a.revtype, a.id, a.first_name, a.last_name, a.email, r.revtstmp"
+                    + " from users_aud a join revinfo r on r.rev = a.rev"
+                    + " where (a.rev, a.id) > (?, ?)"
+                    + " and a.rev < coalesce((select min(u.rev) from revinfo u where u.rev > ? and u.revtstmp > ?), ?)"
+                    + " order by a.rev, a.id limit ?";
+
+    private static final List<String> INDEX_SQL = List.of(
+            "create index if not exists users_aud_rev_id_idx on users_aud (rev, id)",
+            "create index if not exists revinfo_revtstmp_idx on revinfo (revtstmp)");
+
+    private static final int REVTYPE_DELETE = 2;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxPageSize;
+    private final long settleMs;
+    private final boolean createIndex;
+
+    public UserChangeServiceImpl(JdbcTemplate jdbcTemplate,
+                                 @Value("${app.user-changes.max-page-size:1000}") int maxPageSize,
+                                 @Value("${app.user-changes.settle-ms:10000}") long settleMs,
+                                 @Value("${app.user-changes.create-index:true}") boolean createIndex) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxPageSize = maxPageSize;
+        this.settleMs = settleMs;
+        this.createIndex = createIndex;
+    }
+
+    /**
+     * Create the {@code (rev, id)} index the feed reads from, and the timestamp index that finds the
+     * unsettled revisions; the tables are generated by Envers, which only indexes them by their keys.
+     * Building them on a large history takes longer than the pool's PostgreSQL statement timeout, which is
+     * lifted for these statements.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndex() {
+        if (!createIndex) {
+            return;
+        }
+        try {
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                boolean postgres = connection.isWrapperFor(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    if (postgres) {
+                        statement.execute("SET statement_timeout = 0");
+                    }
+                    try {
+                        for (String sql : INDEX_SQL) {
+                            statement.execute(sql);
+                        }
+                    } finally {
+                        if (postgres) {
+                            statement.execute("RESET statement_timeout");
+                        }
+                    }
+                }
+                return null;
+            });
+        } catch (DataAccessException ex) {
+            log.warn("Cannot create the user change feed indexes; the feed will scan users_aud and revinfo", ex);
+        }
+    }
+
+    @Override
+    public UserChangesPage findChanges(String since, int size) {
+        Cursor cursor = since == null || since.isBlank() ? new Cursor(0, 0) : Cursor.decode(since);
+        int limit = Math.clamp(size, 1, maxPageSize);
+        long settledBefore = System.currentTimeMillis() - settleMs;
+
+        List<Row> rows = jdbcTemplate.query(CHANGES_SQL, (rs, rowNum) -> new Row(
+                        rs.getLong("rev"),
+                        rs.getInt("revtype"),
+                        rs.getLong("id"),
+                        rs.getString("first_name"),
+                        rs.getString("last_name"),
+                        rs.getString("email"),
+                        rs.getLong("revtstmp")),
+                cursor.rev(), cursor.id(), cursor.rev(), settledBefore, Integer.MAX_VALUE, limit + 1);
+
+        boolean hasMore = rows.size() > limit;
+        if (hasMore) {
+            rows = rows.subList(0, limit);
+        }
+        // Keep only the latest change of each user, in the order of that change
+        Map<Long, UserChange> latest = new LinkedHashMap<>();
+        for (Row row : rows) {
+            latest.remove(row.id());
+            latest.put(row.id(), row.toChange());
+        }
+        Cursor next = rows.isEmpty() ? cursor : new Cursor(rows.getLast().rev(), rows.getLast().id());
+        return UserChangesPage.builder()
+                .changes(new ArrayList<>(latest.values()))
+                .nextToken(next.encode())
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private record Row(long rev, int revtype, long id, String firstName, String lastName, String email,
+                       long timestamp) {
+
+        UserChange toChange() {
+            LocalDateTime changedAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault());
+            if (revtype == REVTYPE_DELETE) {
+                return UserChange.builder().id(id).deleted(true).revision(rev).changedAt(changedAt).build();
+            }
+            return UserChange.builder()
+                    .id(id)
+                    .revision(rev)
+                    .changedAt(changedAt)
+                    .firstName(firstName)
+                    .lastName(lastName)
+                    .email(email)
+                    .build();
+        }
+    }
+
+    /**
+     * The last {@code (rev, id)} returned, carried in the token as URL-safe base64 of {@code rev:id}.
+     */
+    private record Cursor(long rev, long id) {
+
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((rev + ":" + id).getBytes(StandardCharsets.US_ASCII));
+        }
+
+        static Cursor decode(String token) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII).split(":");
+                if (parts.length == 2) {
+                    return new Cursor(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+                }
+            } catch (IllegalArgumentException ex) {
+                // Not base64, or not numbers
+            }
+            throw new InvalidChangeTokenException("Invalid change feed token: " + token);
+        }
+    }
+}
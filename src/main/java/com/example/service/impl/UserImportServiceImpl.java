@@ -0,0 +1,558 @@
+package com.example.service.impl;
+
+import com.example.exception.PayloadTooLargeException;
+import com.example.exception.ResourceNotFoundException;
+import com.example.model.dto.UserDto;
+import com.example.model.dto.UserImportStatus;
+import com.example.model.entity.RevisionInfo;
+import com.example.repository.UserRepository;
+import com.example.service.UserImportService;
+import com.example.utilities.CsvUtils;
+import com.example.utilities.ValidationUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Service Implementation for bulk user imports.
+ * Uploads of up to {@code max-upload-bytes} are spooled to a temporary file and imported by a single job thread, one job at a time.
+ * The job reads the file in chunks of {@code batch-size} rows; each chunk is parsed and validated
+ * on the validation pool, then written on the writer pool in one transaction. {@code User} ids come
+ * from an identity column, which rules out Hibernate insert batching, so a chunk is written with two
+ * JDBC batches instead: the users, then their Envers history rows, against a single revision drawn
+ * from the Envers revision sequence. A bounded number of chunks is in flight, so memory use does not grow with the file size.
+ * <p>
+ * CSV quoted fields may span lines; a row is reported with the line it starts on.
+ * <p>
+ * Rows are rejected, with their line number and reason, when they cannot be parsed, fail the
+ * {@link UserDto} constraints or {@link ValidationUtils#isValidEmail}, or use an email that is taken.
+ * A chunk that fails on a concurrent duplicate is retried row by row to isolate the offending rows.
+ */
+@Service
+@Slf4j
+public class UserImportServiceImpl implements UserImportService {
+
+    private static final List<String> CSV_COLUMNS = List.of("firstname", "lastname", "email", "password");
+
+    /**
+     * Longest CSV row, in characters, read when a quoted field spans lines; stops an unterminated
+     * quote from pulling the rest of the file into memory.
+     */
+    private static final int MAX_CSV_ROW_CHARS = 64 * 1024;
+
+    private static final int REVTYPE_ADD = 0;
+
+    private static final String INSERT_REVISION = "INSERT INTO revinfo (rev, revtstmp) VALUES (?, ?)";
+
+    private static final String INSERT_USER = "INSERT INTO users (first_name, last_name, email, password, "
+            + "created_by, created_at, modified_by, modified_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)";
+    private static final String INSERT_USER_REVISION = "INSERT INTO users_aud (id, rev, revtype, first_name, "
+            + "last_name, email, password) SELECT id, ?, " + REVTYPE_ADD + ", first_name, last_name, email, password "
+            + "FROM users WHERE email = ?";
+
+    private final UserRepository userRepository;
+    private final Validator validator;
+    private final ObjectReader userReader;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final String nextRevisionSql;
+    private final AuditorAware<String> auditorAware;
+    private final int batchSize;
+    private final int writers;
+    private final int maxReportedRejections;
+    private final long retentionMillis;
+    private final long maxUploadBytes;
+
+    private final ExecutorService jobExecutor;
+    private final ExecutorService validationExecutor;
+    private final ExecutorService writerExecutor;
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    public UserImportServiceImpl(UserRepository userRepository,
+                                 Validator validator,
+                                 ObjectMapper objectMapper,
+                                 TransactionTemplate transactionTemplate,
+                                 EntityManager entityManager,
+                                 JdbcTemplate jdbcTemplate,
+                                 AuditorAware<String> auditorAware,
+                                 @Value("${app.user-import.batch-size:500}") int batchSize,
+                                 @Value("${app.user-import.validation-threads:0}") int validationThreads,
+                                 @Value("${app.user-import.writer-threads:4}") int writerThreads,
+                                 @Value("${app.user-import.max-reported-rejections:100}") int maxReportedRejections,
+                                 @Value("${app.user-import.retention-minutes:60}") long retentionMinutes,
+                                 @Value("${app.user-import.max-upload-bytes:1073741824}") long maxUploadBytes) {
+        this.userRepository = userRepository;
+        this.validator = validator;
+        this.userReader = objectMapper.readerFor(UserDto.class);
+        this.transactionTemplate = transactionTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.nextRevisionSql = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect().getSequenceSupport().getSequenceNextValString(RevisionInfo.SEQUENCE);
+        this.auditorAware = auditorAware;
+        this.batchSize = Math.max(1, batchSize);
+        this.writers = Math.max(1, writerThreads);
+        this.maxReportedRejections = maxReportedRejections;
+        this.retentionMillis = TimeUnit.MINUTES.toMillis(retentionMinutes);
+        this.maxUploadBytes = maxUploadBytes;
+
+        int validators = validationThreads > 0 ? validationThreads : Runtime.getRuntime().availableProcessors();
+        this.jobExecutor = Executors.newSingleThreadExecutor(daemonThreads("user-import-job"));
+        this.validationExecutor = Executors.newFixedThreadPool(validators, daemonThreads("user-import-validate"));
+        this.writerExecutor = Executors.newFixedThreadPool(this.writers, daemonThreads("user-import-write"));
+    }
+
+    @Override
+    public UserImportStatus submit(InputStream body, UserImportStatus.Format format) {
+        Path file;
+        try {
+            file = Files.createTempFile("user-import-", "." + format.name().toLowerCase(Locale.ROOT));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to receive the import file", ex);
+        }
+        try {
+            spool(body, file);
+        } catch (IOException ex) {
+            delete(file);
+            throw new UncheckedIOException("Failed to receive the import file", ex);
+        } catch (RuntimeException ex) {
+            delete(file);
+            throw ex;
+        }
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), format, file, maxReportedRejections);
+        jobs.put(job.id, job);
+        jobExecutor.execute(() -> run(job));
+        return job.toStatus();
+    }
+
+    @Override
+    public UserImportStatus getStatus(String jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import job not found with id: " + jobId);
+        }
+        return job.toStatus();
+    }
+
+    /**
+     * Forget finished jobs after the retention period.
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void purgeFinishedJobs() {
+        long cutoff = System.currentTimeMillis() - retentionMillis;
+        jobs.values().removeIf(job -> job.finishedAtMillis > 0 && job.finishedAtMillis < cutoff);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+        validationExecutor.shutdownNow();
+        writerExecutor.shutdownNow();
+    }
+
+    /**
+     * Copy the upload to the spool file, up to {@code max-upload-bytes}.
+     */
+    private void spool(InputStream body, Path file) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        long total = 0;
+        try (OutputStream out = Files.newOutputStream(file)) {
+            for (int read = body.read(buffer); read >= 0; read = body.read(buffer)) {
+                total += read;
+                if (total > maxUploadBytes) {
+                    throw new PayloadTooLargeException("Import file exceeds " + maxUploadBytes + " bytes");
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("Failed to delete import file {}", file, ex);
+        }
+    }
+
+    private void run(ImportJob job) {
+        job.start();
+        Semaphore inFlight = new Semaphore(writers * 2);
+        Phaser pending = new Phaser(1);
+        try (BufferedReader reader = Files.newBufferedReader(job.file, StandardCharsets.UTF_8)) {
+            int[] columns = null;
+            List<RawRow> chunk = new ArrayList<>(batchSize);
+            long lineNumber = 0;
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                long firstLine = lineNumber;
+                if (job.format == UserImportStatus.Format.CSV && CsvUtils.hasOpenQuote(line)) {
+                    // A quoted field may contain line breaks; read on until the quote is closed
+                    StringBuilder row = new StringBuilder(line);
+                    String next;
+                    while (CsvUtils.hasOpenQuote(row) && row.length() < MAX_CSV_ROW_CHARS
+                            && (next = reader.readLine()) != null) {
+                        lineNumber++;
+                        row.append('\n').append(next);
+                    }
+                    line = row.toString();
+                }
+                if (job.format == UserImportStatus.Format.CSV && columns == null) {
+                    columns = csvColumns(line);
+                    continue;
+                }
+                job.rowsRead.increment();
+                chunk.add(new RawRow(firstLine, line));
+                if (chunk.size() == batchSize) {
+                    dispatch(job, chunk, columns, inFlight, pending);
+                    chunk = new ArrayList<>(batchSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                dispatch(job, chunk, columns, inFlight, pending);
+            }
+            pending.arriveAndAwaitAdvance();
+            job.finish(null);
+        } catch (Exception ex) {
+            log.warn("User import {} failed", job.id, ex);
+            pending.arriveAndAwaitAdvance();
+            job.finish(ex.getMessage());
+        } finally {
+            delete(job.file);
+        }
+        UserImportStatus status = job.toStatus();
+        log.info("User import {} {}: {} rows imported, {} rejected in {} ms", job.id, status.getState(),
+                status.getRowsImported(), status.getRowsRejected(), status.getElapsedMs());
+    }
+
+    /**
+     * Validate a chunk on the validation pool and write it on the writer pool. Blocks while
+     * too many chunks are in flight, so the reader never gets far ahead of the database.
+     */
+    private void dispatch(ImportJob job, List<RawRow> chunk, int[] columns, Semaphore inFlight, Phaser pending)
+            throws InterruptedException {
+        inFlight.acquire();
+        pending.register();
+        ChunkProgress progress = new ChunkProgress(job);
+        CompletableFuture.supplyAsync(() -> validate(progress, chunk, columns), validationExecutor)
+                .thenAcceptAsync(rows -> write(progress, rows), writerExecutor)
+                .whenComplete((ignored, ex) -> {
+                    if (ex != null) {
+                        log.warn("User import {} failed to write rows {}-{}", job.id,
+                                chunk.get(0).line(), chunk.get(chunk.size() - 1).line(), ex);
+                        // Rows already imported or rejected keep their outcome
+                        for (RawRow row : chunk) {
+                            if (!progress.isSettled(row.line())) {
+                                progress.reject(row.line(), "Not imported: " + rootMessage(ex));
+                            }
+                        }
+                    }
+                    inFlight.release();
+                    pending.arriveAndDeregister();
+                });
+    }
+
+    private List<ParsedRow> validate(ChunkProgress progress, List<RawRow> chunk, int[] columns) {
+        List<ParsedRow> valid = new ArrayList<>(chunk.size());
+        Set<String> emails = new HashSet<>();
+        for (RawRow row : chunk) {
+            UserDto user;
+            try {
+                user = columns != null ? fromCsv(row.text(), columns) : userReader.readValue(row.text());
+            } catch (JsonProcessingException ex) {
+                progress.reject(row.line(), "Malformed row: " + ex.getOriginalMessage());
+                continue;
+            } catch (IllegalArgumentException ex) {
+                progress.reject(row.line(), "Malformed row: " + ex.getMessage());
+                continue;
+            }
+            user.setId(null);
+
+            Set<ConstraintViolation<UserDto>> violations = validator.validate(user);
+            if (!violations.isEmpty()) {
+                progress.reject(row.line(), violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+            } else if (!ValidationUtils.isValidEmail(user.getEmail())) {
+                progress.reject(row.line(), "email: Email should be valid");
+            } else if (!emails.add(user.getEmail())) {
+                progress.reject(row.line(), "email: Duplicate email in the import");
+            } else {
+                valid.add(new ParsedRow(row.line(), user));
+            }
+        }
+        return valid;
+    }
+
+    private void write(ChunkProgress progress, List<ParsedRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        Set<String> taken = userRepository.findExistingEmails(
+                rows.stream().map(row -> row.user().getEmail()).toList());
+        List<ParsedRow> fresh = new ArrayList<>(rows.size());
+        for (ParsedRow row : rows) {
+            if (taken.contains(row.user().getEmail())) {
+                progress.reject(row.line(), "email: Email already exists");
+            } else {
+                fresh.add(row);
+            }
+        }
+        if (fresh.isEmpty()) {
+            return;
+        }
+
+        try {
+            insert(fresh);
+            progress.imported(fresh);
+        } catch (DataIntegrityViolationException ex) {
+            // Another chunk or request took one of the emails meanwhile; find out which rows
+            for (ParsedRow row : fresh) {
+                try {
+                    insert(List.of(row));
+                    progress.imported(List.of(row));
+                } catch (DataIntegrityViolationException rowEx) {
+                    progress.reject(row.line(), "email: Email already exists");
+                }
+            }
+        }
+    }
+
+    /**
+     * Insert users and their history in one transaction with two JDBC batches, under a revision drawn
+     * from the same sequence as every other revision.
+     */
+    private void insert(List<ParsedRow> rows) {
+        transactionTemplate.executeWithoutResult(status -> {
+            int revision = jdbcTemplate.queryForObject(nextRevisionSql, Integer.class);
+            jdbcTemplate.update(INSERT_REVISION, revision, System.currentTimeMillis());
+
+            String auditor = auditorAware.getCurrentAuditor().orElse(null);
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            jdbcTemplate.batchUpdate(INSERT_USER, rows, rows.size(), (statement, row) -> {
+                UserDto user = row.user();
+                statement.setString(1, user.getFirstName());
+                statement.setString(2, user.getLastName());
+                statement.setString(3, user.getEmail());
+                statement.setString(4, user.getPassword());
+                statement.setString(5, auditor);
+                statement.setTimestamp(6, now);
+                statement.setString(7, auditor);
+                statement.setTimestamp(8, now);
+            });
+            jdbcTemplate.batchUpdate(INSERT_USER_REVISION, rows, rows.size(), (statement, row) -> {
+                statement.setInt(1, revision);
+                statement.setString(2, row.user().getEmail());
+            });
+        });
+    }
+
+    private static int[] csvColumns(String header) {
+        List<String> names = CsvUtils.parseLine(header).stream()
+                .map(name -> name.trim().toLowerCase(Locale.ROOT))
+                .toList();
+        int[] columns = new int[CSV_COLUMNS.size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = names.indexOf(CSV_COLUMNS.get(i));
+            if (columns[i] < 0) {
+                throw new IllegalArgumentException("CSV header must contain the columns " + CSV_COLUMNS);
+            }
+        }
+        return columns;
+    }
+
+    private static UserDto fromCsv(String line, int[] columns) {
+        List<String> fields = CsvUtils.parseLine(line);
+        return UserDto.builder()
+                .firstName(field(fields, columns[0]))
+                .lastName(field(fields, columns[1]))
+                .email(field(fields, columns[2]))
+                .password(field(fields, columns[3]))
+                .build();
+    }
+
+    private static String field(List<String> fields, int column) {
+        return column < fields.size() ? fields.get(column).trim() : null;
+    }
+
+    private static String rootMessage(Throwable ex) {
+        Throwable root = ex;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record RawRow(long line, String text) {
+    }
+
+    private record ParsedRow(long line, UserDto user) {
+    }
+
+    /**
+     * Outcome of the rows of one chunk, so a chunk that fails unexpectedly only rejects the rows
+     * that were neither imported nor rejected yet. Its stages run one after another, never concurrently.
+     */
+    private static final class ChunkProgress {
+
+        private final ImportJob job;
+        private final Set<Long> settledLines = new HashSet<>();
+
+        ChunkProgress(ImportJob job) {
+            this.job = job;
+        }
+
+        void reject(long line, String reason) {
+            settledLines.add(line);
+            job.reject(line, reason);
+        }
+
+        void imported(List<ParsedRow> rows) {
+            rows.forEach(row -> settledLines.add(row.line()));
+            job.rowsImported.add(rows.size());
+        }
+
+        boolean isSettled(long line) {
+            return settledLines.contains(line);
+        }
+    }
+
+    /**
+     * Mutable progress of one job, updated concurrently by the validation and writer pools.
+     */
+    private static final class ImportJob {
+
+        private final String id;
+        private final UserImportStatus.Format format;
+        private final Path file;
+        private final int maxReportedRejections;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private final LongAdder rowsRead = new LongAdder();
+        private final LongAdder rowsImported = new LongAdder();
+        private final LongAdder rowsRejected = new LongAdder();
+        private final List<UserImportStatus.RowRejection> rejections =
+                Collections.synchronizedList(new ArrayList<>());
+
+        private volatile UserImportStatus.State state = UserImportStatus.State.QUEUED;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile long startNanos;
+        private volatile long elapsedNanos;
+        private volatile long finishedAtMillis;
+        private volatile String error;
+
+        ImportJob(String id, UserImportStatus.Format format, Path file, int maxReportedRejections) {
+            this.id = id;
+            this.format = format;
+            this.file = file;
+            this.maxReportedRejections = maxReportedRejections;
+        }
+
+        void start() {
+            startNanos = System.nanoTime();
+            startedAt = LocalDateTime.now();
+            state = UserImportStatus.State.RUNNING;
+        }
+
+        void finish(String failure) {
+            elapsedNanos = System.nanoTime() - startNanos;
+            finishedAt = LocalDateTime.now();
+            finishedAtMillis = System.currentTimeMillis();
+            error = failure;
+            state = failure == null ? UserImportStatus.State.COMPLETED : UserImportStatus.State.FAILED;
+        }
+
+        void reject(long line, String reason) {
+            rowsRejected.increment();
+            if (rejections.size() < maxReportedRejections) {
+                rejections.add(new UserImportStatus.RowRejection(line, reason));
+            }
+        }
+
+        UserImportStatus toStatus() {
+            UserImportStatus.State current = state;
+            long elapsed = switch (current) {
+                case QUEUED -> 0;
+                case RUNNING -> System.nanoTime() - startNanos;
+                default -> elapsedNanos;
+            };
+            long processed = rowsImported.sum() + rowsRejected.sum();
+            List<UserImportStatus.RowRejection> reported;
+            synchronized (rejections) {
+                reported = new ArrayList<>(rejections);
+            }
+            reported.sort((a, b) -> Long.compare(a.getLine(), b.getLine()));
+            return UserImportStatus.builder()
+                    .jobId(id)
+                    .format(format)
+                    .state(current)
+                    .rowsRead(rowsRead.sum())
+                    .rowsImported(rowsImported.sum())
+                    .rowsRejected(rowsRejected.sum())
+                    .rowsPerSecond(elapsed > 0 ? processed * 1e9 / elapsed : 0)
+                    .elapsedMs(TimeUnit.NANOSECONDS.toMillis(elapsed))
+                    .submittedAt(submittedAt)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .error(error)
+                    .rejections(reported)
+                    .build();
+        }
+    }
+}
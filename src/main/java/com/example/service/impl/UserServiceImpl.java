@@ -1,16 +1,41 @@
 package com.example.service.impl;
 
+import com.example.exception.ConflictingUpdateException;
+import com.example.exception.InvalidLookupException;
+import com.example.exception.InvalidPatchException;
 import com.example.exception.ResourceNotFoundException;
 import com.example.mapper.UserMapper;
 import com.example.model.dto.UserDto;
+import com.example.model.dto.UserLookupResult;
+import com.example.model.dto.UserSummary;
 import com.example.model.entity.User;
 import com.example.repository.UserRepository;
+import com.example.service.CoalescingService;
+import com.example.service.OptimisticRetryService;
+import com.example.service.UserCacheService;
 import com.example.service.UserService;
+import com.example.utilities.FieldChanges;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -23,32 +48,85 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final CoalescingService coalescingService;
+    private final UserCacheService userCacheService;
+    private final OptimisticRetryService optimisticRetryService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    private static final Set<String> MERGE_IGNORED_FIELDS = Set.of("id");
+
+    @Value("${app.user-lookup.max-ids:100}")
+    private int maxLookupIds;
 
     /**
      * Get all users.
+     * Concurrent calls share a single query. No transaction is opened here so
+     * that callers waiting on the shared query do not hold a connection. Only the
+     * exposed columns are selected, into projections the persistence context never tracks.
      *
      * @return the list of users
      */
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<UserDto> findAll() {
-        return userRepository.findAll().stream()
-                .map(userMapper::toDto)
-                .collect(Collectors.toList());
+        return coalescingService.coalesce(CoalescingService.USER_LIST, "all", () ->
+                userRepository.findAllSummaries().stream()
+                        .map(userMapper::toDto)
+                        .collect(Collectors.toList()));
     }
 
     /**
      * Get user by id.
+     * Served from the user cache when enabled; on a miss, concurrent calls for the same id share a
+     * single query. No transaction is opened here so that callers waiting on the shared query do not
+     * hold a connection. Only the exposed columns are selected, into a projection the persistence
+     * context never tracks.
      *
      * @param id the id of the user
      * @return the user
      */
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public UserDto findById(Long id) {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
-        return userMapper.toDto(user);
+        return userCacheService.get(id, () -> coalescingService.coalesce(CoalescingService.USER_BY_ID, id, () -> {
+            UserSummary user = userRepository.findSummaryById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+            return userMapper.toDto(user);
+        }));
+    }
+
+    /**
+     * Get several users by id at once.
+     * Cached users are served from the user cache and all the others are selected with one {@code IN}
+     * query, whatever the number of ids. As for {@link #findById}, no transaction is opened here.
+     *
+     * @param ids the ids of the users
+     * @return one result per requested id, in request order
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<UserLookupResult> findByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new InvalidLookupException("At least one id is required");
+        }
+        if (ids.size() > maxLookupIds) {
+            throw new InvalidLookupException("At most " + maxLookupIds + " ids can be looked up at once");
+        }
+        if (ids.contains(null)) {
+            throw new InvalidLookupException("Ids must not be null");
+        }
+        Map<Long, UserDto> users = userCacheService.getAll(ids, missing ->
+                userRepository.findSummariesByIdIn(missing).stream()
+                        .collect(Collectors.toMap(UserSummary::id, userMapper::toDto)));
+        return ids.stream()
+                .map(id -> UserLookupResult.builder()
+                        .id(id)
+                        .found(users.containsKey(id))
+                        .user(users.get(id))
+                        .build())
+                .toList();
     }
 
     /**
@@ -66,22 +144,112 @@ public class UserServiceImpl implements UserService {
 
     /**
      * Update a user.
+     * The loaded entity is modified in place and written by dirty checking on commit,
+     * so an update costs one SELECT and one UPDATE. Cached copies on every node are
+     * invalidated once the update commits.
+     * <p>
+     * Each attempt runs in its own transaction. When optimistic retries are enabled and a
+     * concurrent update wins, the user is reloaded and only the fields this request changed
+     * are applied on top of it, provided the concurrent update did not change the same fields.
      *
      * @param id the id of the user to update
      * @param userDto the user to update
      * @return the updated user
      */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public UserDto update(Long id, UserDto userDto) {
-        // Verify user exists
-        userRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
-        
-        // Set the ID to ensure we're updating the correct entity
-        userDto.setId(id);
-        User user = userMapper.toEntity(userDto);
-        user = userRepository.save(user);
-        return userMapper.toDto(user);
+        UserDto[] baseline = new UserDto[1];
+        return optimisticRetryService.execute(OptimisticRetryService.USER_UPDATE, attempt ->
+                transactionTemplate.execute(status -> {
+                    User user = userRepository.findById(id)
+                            .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+
+                    UserDto changes = userDto;
+                    if (baseline[0] == null) {
+                        baseline[0] = userMapper.toDto(user);
+                    } else {
+                        changes = mergeWithLatest(baseline[0], userMapper.toDto(user), userDto);
+                    }
+                    userMapper.updateEntityFromDto(changes, user);
+                    userCacheService.invalidate(id);
+                    return userMapper.toDto(user);
+                }));
+    }
+
+    /**
+     * Patch a user.
+     * The patch is applied to the DTO of the managed entity and validated before it is copied back,
+     * and the entity uses dynamic updates, so the UPDATE only lists the changed columns.
+     * A patch that changes nothing returns before touching the entity, so neither the version
+     * nor the modification audit fields move and no Envers revision is written.
+     * <p>
+     * Retries after an optimistic locking conflict re-apply the patch to the reloaded user.
+     *
+     * @param id the id of the user to patch
+     * @param patch the merge patch document
+     * @return the patched user
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UserDto patch(Long id, JsonNode patch) {
+        if (!patch.isObject()) {
+            throw new InvalidPatchException("A merge patch for a user must be a JSON object");
+        }
+        ObjectNode changes = ((ObjectNode) patch).deepCopy();
+        changes.remove(MERGE_IGNORED_FIELDS);
+
+        return optimisticRetryService.execute(OptimisticRetryService.USER_PATCH, attempt ->
+                transactionTemplate.execute(status -> {
+                    User user = userRepository.findById(id)
+                            .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+
+                    UserDto current = userMapper.toDto(user);
+                    UserDto patched = applyMergePatch(userMapper.toDto(user), changes);
+                    if (FieldChanges.changed(current, patched, MERGE_IGNORED_FIELDS).isEmpty()) {
+                        return current;
+                    }
+                    userMapper.updateEntityFromDto(patched, user);
+                    userCacheService.invalidate(id);
+                    return userMapper.toDto(user);
+                }));
+    }
+
+    private UserDto applyMergePatch(UserDto target, ObjectNode changes) {
+        try {
+            objectMapper.readerForUpdating(target).readValue(changes);
+        } catch (JsonProcessingException ex) {
+            throw new InvalidPatchException("Invalid merge patch: " + ex.getOriginalMessage());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        Set<ConstraintViolation<UserDto>> violations = validator.validate(target);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        return target;
+    }
+
+    /**
+     * Apply the fields a request changed relative to the state it was computed against
+     * on top of the latest state, unless a concurrent update changed any of the same fields.
+     *
+     * @param baseline the user as first loaded by this request
+     * @param latest the user as reloaded after a conflict
+     * @param requested the requested state
+     * @return the latest state with the requested changes applied
+     */
+    private static UserDto mergeWithLatest(UserDto baseline, UserDto latest, UserDto requested) {
+        Set<String> ours = FieldChanges.changed(baseline, requested, MERGE_IGNORED_FIELDS);
+        Set<String> theirs = FieldChanges.changed(baseline, latest, MERGE_IGNORED_FIELDS);
+        if (!Collections.disjoint(ours, theirs)) {
+            Set<String> conflicting = new HashSet<>(ours);
+            conflicting.retainAll(theirs);
+            throw new ConflictingUpdateException(
+                    "The user was concurrently updated in the same fields: " + conflicting, conflicting);
+        }
+        FieldChanges.copy(requested, latest, ours);
+        return latest;
     }
 
     /**
@@ -91,10 +259,10 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public void delete(Long id) {
-        // Verify user exists
-        userRepository.findById(id)
+        User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
         
-        userRepository.deleteById(id);
+        userRepository.delete(user);
+        userCacheService.invalidate(id);
     }
 }
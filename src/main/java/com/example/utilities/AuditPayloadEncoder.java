@@ -0,0 +1,386 @@
+package com.example.utilities;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.filter.FilteringGeneratorDelegate;
+import com.fasterxml.jackson.core.filter.TokenFilter;
+import com.fasterxml.jackson.core.util.JsonGeneratorDelegate;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Serializes audit payloads in a single pass into a per-thread byte buffer.
+ * Properties with a redacted name (compared case-insensitively, at any depth) are dropped as
+ * the tokens are written, and serialization stops as soon as {@code maxBytes} bytes have been
+ * written, so a large response costs no more than the cap.
+ * <p>
+ * The buffer grows up to {@code maxBytes} and is reused by every payload encoded on the same
+ * thread; the only per-payload allocation of note is the resulting String.
+ * <p>
+ * {@link #encodeStructured(Object)} produces the same payload as maps, lists and scalars instead,
+ * for storage as an embedded BSON document. The tokens are buffered and read back into those
+ * values without being rendered as JSON text; the cap applies to the estimated JSON size.
+ */
+public final class AuditPayloadEncoder {
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter writer;
+    private final TokenFilter redactingFilter;
+    private final ThreadLocal<CappedBuffer> buffers;
+    private final int maxBytes;
+
+    public AuditPayloadEncoder(ObjectMapper objectMapper, Collection<String> redactedFields, int maxBytes) {
+        this.objectMapper = objectMapper;
+        // The buffer is written once per payload; flushing after the value only adds calls
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        Set<String> names = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        names.addAll(redactedFields);
+        this.redactingFilter = names.isEmpty() ? null : new RedactingFilter(names);
+        this.buffers = ThreadLocal.withInitial(() -> new CappedBuffer(maxBytes));
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Serialize a value as JSON.
+     *
+     * @param value the value to serialize, may be null
+     * @return the stored JSON, its size and whether it was truncated
+     * @throws IOException if the value cannot be serialized
+     */
+    public Payload encode(Object value) throws IOException {
+        CappedBuffer buffer = buffers.get();
+        buffer.reset();
+        try (JsonGenerator generator = createGenerator(buffer)) {
+            writer.writeValue(generator, value);
+        } catch (IOException | RuntimeException ex) {
+            // Jackson may wrap the signal raised at the cap; the buffer knows whether it was raised
+            if (!buffer.truncated) {
+                throw ex;
+            }
+        }
+        return buffer.toPayload();
+    }
+
+    /**
+     * Cap a text that is not serialized, such as a fallback representation, to the same size limit.
+     *
+     * @param text the text
+     * @return the stored text, its size and whether it was truncated
+     */
+    public Payload encodeText(String text) {
+        CappedBuffer buffer = buffers.get();
+        buffer.reset();
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        try {
+            buffer.write(bytes, 0, bytes.length);
+        } catch (CapReachedException ex) {
+            // Expected for long texts
+        }
+        return buffer.toPayload();
+    }
+
+    /**
+     * Convert a value to maps, lists and scalars, as it would be serialized as JSON.
+     * When the cap is reached, the objects and arrays open at that point are closed, so the
+     * stored value is a well-formed prefix of the full one.
+     *
+     * @param value the value to convert, may be null
+     * @return the stored value, its estimated JSON size and whether it was truncated
+     * @throws IOException if the value cannot be serialized
+     */
+    public StructuredPayload encodeStructured(Object value) throws IOException {
+        TokenBuffer buffer = new TokenBuffer(objectMapper, false);
+        CappedTokenGenerator capped = new CappedTokenGenerator(buffer, maxBytes);
+        try (JsonGenerator generator = filtered(capped)) {
+            writer.writeValue(generator, value);
+        } catch (IOException | RuntimeException ex) {
+            if (!capped.truncated) {
+                throw ex;
+            }
+            closeOpenContainers(buffer);
+        }
+        try (JsonParser parser = buffer.asParser()) {
+            Object data = parser.nextToken() == null ? null : objectMapper.readValue(parser, Object.class);
+            return new StructuredPayload(data, capped.size, capped.truncated);
+        }
+    }
+
+    private static void closeOpenContainers(TokenBuffer buffer) throws IOException {
+        for (JsonStreamContext context = buffer.getOutputContext(); !context.inRoot();
+             context = buffer.getOutputContext()) {
+            if (context.inObject()) {
+                buffer.writeEndObject();
+            } else {
+                buffer.writeEndArray();
+            }
+        }
+    }
+
+    private JsonGenerator createGenerator(OutputStream out) throws IOException {
+        return filtered(writer.getFactory().createGenerator(out));
+    }
+
+    private JsonGenerator filtered(JsonGenerator generator) {
+        if (redactingFilter == null) {
+            return generator;
+        }
+        return new FilteringGeneratorDelegate(generator, redactingFilter,
+                TokenFilter.Inclusion.INCLUDE_ALL_AND_PATH, true);
+    }
+
+    /**
+     * An encoded payload.
+     *
+     * @param json the stored JSON, at most the configured number of bytes
+     * @param size the size of the stored JSON in bytes
+     * @param truncated whether serialization stopped at the cap
+     */
+    public record Payload(String json, long size, boolean truncated) {
+    }
+
+    /**
+     * A payload converted to maps, lists and scalars.
+     *
+     * @param data the stored value
+     * @param size the estimated size of the stored value as JSON
+     * @param truncated whether serialization stopped at the cap
+     */
+    public record StructuredPayload(Object data, long size, boolean truncated) {
+    }
+
+    private static final class RedactingFilter extends TokenFilter {
+
+        private final Set<String> names;
+
+        RedactingFilter(Set<String> names) {
+            this.names = names;
+        }
+
+        @Override
+        public TokenFilter includeProperty(String name) {
+            return names.contains(name) ? null : this;
+        }
+
+        @Override
+        public boolean includeEmptyObject(boolean contentsFiltered) {
+            return true;
+        }
+
+        @Override
+        public boolean includeEmptyArray(boolean contentsFiltered) {
+            return true;
+        }
+    }
+
+    private static final class CappedBuffer extends OutputStream {
+
+        private static final int INITIAL_CAPACITY = 1024;
+
+        private final int maxBytes;
+        private byte[] bytes;
+        private int length;
+        private boolean truncated;
+
+        CappedBuffer(int maxBytes) {
+            this.maxBytes = maxBytes;
+            this.bytes = new byte[Math.min(INITIAL_CAPACITY, maxBytes)];
+        }
+
+        void reset() {
+            length = 0;
+            truncated = false;
+        }
+
+        @Override
+        public void write(int b) {
+            if (truncated) {
+                return;
+            }
+            if (length == maxBytes) {
+                truncated = true;
+                throw new CapReachedException();
+            }
+            ensureCapacity(length + 1);
+            bytes[length++] = (byte) b;
+        }
+
+        /**
+         * Store what fits under the cap. Crossing the cap raises {@link CapReachedException} once
+         * to stop serialization; later writes, such as closing brackets written on close, are ignored.
+         */
+        @Override
+        public void write(byte[] b, int off, int len) {
+            if (truncated) {
+                return;
+            }
+            int stored = Math.min(len, maxBytes - length);
+            if (stored > 0) {
+                ensureCapacity(length + stored);
+                System.arraycopy(b, off, bytes, length, stored);
+                length += stored;
+            }
+            if (stored < len) {
+                truncated = true;
+                throw new CapReachedException();
+            }
+        }
+
+        Payload toPayload() {
+            int end = truncated ? completeCharacters(length) : length;
+            return new Payload(new String(bytes, 0, end, StandardCharsets.UTF_8), end, truncated);
+        }
+
+        /**
+         * Drop a multi-byte UTF-8 sequence cut off by the cap, so the stored text does not end in a broken character.
+         */
+        private int completeCharacters(int end) {
+            int lead = end - 1;
+            while (lead >= 0 && lead > end - 4 && (bytes[lead] & 0xC0) == 0x80) {
+                lead--;
+            }
+            if (lead < 0) {
+                return end;
+            }
+            int b = bytes[lead] & 0xFF;
+            int expected = b >= 0xF0 ? 4 : b >= 0xE0 ? 3 : b >= 0xC0 ? 2 : 1;
+            return end - lead < expected ? lead : end;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.min(maxBytes, Math.max(capacity, bytes.length * 2)));
+            }
+        }
+    }
+
+    /**
+     * Tracks the JSON size of the tokens written to a token buffer. A property name that would cross
+     * the cap is not written, and a value that crosses it is kept, so the buffer always ends at a point
+     * where the open objects and arrays can be closed.
+     */
+    private static final class CappedTokenGenerator extends JsonGeneratorDelegate {
+
+        private static final int NUMBER_SIZE = 8;
+
+        private final int maxBytes;
+        private long size;
+        private boolean truncated;
+
+        CappedTokenGenerator(TokenBuffer buffer, int maxBytes) {
+            super(buffer, false);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public void writeFieldName(String name) throws IOException {
+            reserve(name.length() + 3);
+            super.writeFieldName(name);
+        }
+
+        @Override
+        public void writeFieldName(SerializableString name) throws IOException {
+            reserve(name.charLength() + 3);
+            super.writeFieldName(name);
+        }
+
+        @Override
+        public void writeString(String text) throws IOException {
+            super.writeString(text);
+            consume(text == null ? 4 : text.length() + 2);
+        }
+
+        @Override
+        public void writeString(char[] text, int offset, int len) throws IOException {
+            super.writeString(text, offset, len);
+            consume(len + 2);
+        }
+
+        @Override
+        public void writeString(SerializableString text) throws IOException {
+            super.writeString(text);
+            consume(text == null ? 4 : text.charLength() + 2);
+        }
+
+        @Override
+        public void writeNumber(int i) throws IOException {
+            super.writeNumber(i);
+            consume(NUMBER_SIZE);
+        }
+
+        @Override
+        public void writeNumber(long l) throws IOException {
+            super.writeNumber(l);
+            consume(NUMBER_SIZE);
+        }
+
+        @Override
+        public void writeNumber(double d) throws IOException {
+            super.writeNumber(d);
+            consume(NUMBER_SIZE);
+        }
+
+        @Override
+        public void writeNumber(BigDecimal dec) throws IOException {
+            super.writeNumber(dec);
+            consume(NUMBER_SIZE);
+        }
+
+        @Override
+        public void writeNumber(BigInteger v) throws IOException {
+            super.writeNumber(v);
+            consume(NUMBER_SIZE);
+        }
+
+        @Override
+        public void writeBoolean(boolean state) throws IOException {
+            super.writeBoolean(state);
+            consume(5);
+        }
+
+        @Override
+        public void writeNull() throws IOException {
+            super.writeNull();
+            consume(4);
+        }
+
+        private void reserve(int length) {
+            if (size + length > maxBytes) {
+                truncated = true;
+                throw new CapReachedException();
+            }
+            size += length;
+        }
+
+        private void consume(int length) {
+            size += length;
+            if (size > maxBytes) {
+                truncated = true;
+                throw new CapReachedException();
+            }
+        }
+    }
+
+    /**
+     * Raised by the buffer to abandon serialization at the cap; stackless, as it is expected.
+     */
+    private static final class CapReachedException extends RuntimeException {
+
+        CapReachedException() {
+            super("Audit payload cap reached", null, false, false);
+        }
+    }
+}
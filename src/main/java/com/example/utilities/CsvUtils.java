@@ -0,0 +1,70 @@
+package com.example.utilities;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utility class for reading CSV data.
+ */
+public class CsvUtils {
+
+    private CsvUtils() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Split one CSV record into fields (RFC 4180). Fields may be enclosed in double quotes,
+     * in which case they can contain commas, doubled quotes and line breaks.
+     *
+     * @param line the record without its final line terminator
+     * @return the fields
+     * @throws IllegalArgumentException if a quoted field is not terminated
+     */
+    public static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Check whether a CSV record ends inside a quoted field, meaning it continues on the next line.
+     * Doubled quotes inside a quoted field leave the count even, so an odd count means an open quote.
+     *
+     * @param text the record read so far
+     * @return true if a quoted field is still open
+     */
+    public static boolean hasOpenQuote(CharSequence text) {
+        boolean open = false;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '"') {
+                open = !open;
+            }
+        }
+        return open;
+    }
+}
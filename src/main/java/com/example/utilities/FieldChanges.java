@@ -0,0 +1,58 @@
+package com.example.utilities;
+
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+
+import java.beans.PropertyDescriptor;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Utility class for comparing and merging the properties of two beans of the same type.
+ */
+public class FieldChanges {
+
+    private FieldChanges() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Get the names of the readable and writable properties whose values differ.
+     *
+     * @param before the bean before the change
+     * @param after the bean after the change
+     * @param ignored property names to leave out of the comparison
+     * @return the names of the changed properties
+     */
+    public static Set<String> changed(Object before, Object after, Set<String> ignored) {
+        BeanWrapper beforeWrapper = new BeanWrapperImpl(before);
+        BeanWrapper afterWrapper = new BeanWrapperImpl(after);
+        Set<String> changed = new LinkedHashSet<>();
+        for (PropertyDescriptor property : beforeWrapper.getPropertyDescriptors()) {
+            String name = property.getName();
+            if (ignored.contains(name) || property.getWriteMethod() == null || property.getReadMethod() == null) {
+                continue;
+            }
+            if (!Objects.equals(beforeWrapper.getPropertyValue(name), afterWrapper.getPropertyValue(name))) {
+                changed.add(name);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Copy the given properties from one bean to another.
+     *
+     * @param source the bean to copy from
+     * @param target the bean to copy to
+     * @param properties the names of the properties to copy
+     */
+    public static void copy(Object source, Object target, Set<String> properties) {
+        BeanWrapper sourceWrapper = new BeanWrapperImpl(source);
+        BeanWrapper targetWrapper = new BeanWrapperImpl(target);
+        for (String name : properties) {
+            targetWrapper.setPropertyValue(name, sourceWrapper.getPropertyValue(name));
+        }
+    }
+}
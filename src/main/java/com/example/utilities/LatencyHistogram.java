@@ -0,0 +1,145 @@
+package com.example.utilities;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * Thread-safe histogram of latencies in microseconds with logarithmic buckets.
+ * Every bucket covers values within {@link #RELATIVE_ACCURACY} of its representative value,
+ * so percentiles are accurate to about 2% regardless of magnitude. Two histograms are merged
+ * by adding their bucket counts, which makes them safe to aggregate across time buckets and instances.
+ */
+public class LatencyHistogram {
+
+    /**
+     * Maximum relative error of a reported percentile.
+     */
+    public static final double RELATIVE_ACCURACY = 0.02;
+
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+
+    /**
+     * Enough buckets to cover values up to roughly one hour; larger values land in the last bucket.
+     */
+    static final int BUCKET_COUNT = 560;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Record a single latency.
+     *
+     * @param micros the latency in microseconds
+     */
+    public void record(long micros) {
+        long value = Math.max(micros, 0);
+        counts.incrementAndGet(bucketOf(value));
+        count.increment();
+        sum.add(value);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Add the counts of another histogram to this one.
+     *
+     * @param other the histogram to merge
+     */
+    public void merge(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long bucketCount = other.counts.get(i);
+            if (bucketCount > 0) {
+                counts.addAndGet(i, bucketCount);
+            }
+        }
+        count.add(other.getCount());
+        sum.add(other.getSum());
+        max.accumulateAndGet(other.getMax(), Math::max);
+    }
+
+    /**
+     * Add sparse bucket counts, as produced by {@link #forEachBucket}, to this histogram.
+     *
+     * @param bucketCounts the count per bucket index
+     * @param totalCount the number of recorded values
+     * @param totalSum the sum of recorded values in microseconds
+     * @param maxValue the largest recorded value in microseconds
+     */
+    public void merge(Map<String, Long> bucketCounts, long totalCount, long totalSum, long maxValue) {
+        bucketCounts.forEach((index, bucketCount) -> counts.addAndGet(Integer.parseInt(index), bucketCount));
+        count.add(totalCount);
+        sum.add(totalSum);
+        max.accumulateAndGet(maxValue, Math::max);
+    }
+
+    /**
+     * Visit every non-empty bucket.
+     *
+     * @param consumer receives the bucket index and its count
+     */
+    public void forEachBucket(BiConsumer<Integer, Long> consumer) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long bucketCount = counts.get(i);
+            if (bucketCount > 0) {
+                consumer.accept(i, bucketCount);
+            }
+        }
+    }
+
+    /**
+     * Get the value at the given quantile.
+     *
+     * @param quantile the quantile between 0 and 1
+     * @return the estimated latency in microseconds, or 0 if nothing was recorded
+     */
+    public long getValueAtQuantile(double quantile) {
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            total += counts.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(valueOf(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSum() {
+        return sum.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    static int bucketOf(long micros) {
+        if (micros <= 1) {
+            return 0;
+        }
+        return (int) Math.min(Math.ceil(Math.log(micros) / LOG_GAMMA), BUCKET_COUNT - 1);
+    }
+
+    static long valueOf(int bucket) {
+        if (bucket == 0) {
+            return 1;
+        }
+        return Math.round(2 * Math.pow(GAMMA, bucket) / (GAMMA + 1));
+    }
+}
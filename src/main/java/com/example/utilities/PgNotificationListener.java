@@ -0,0 +1,150 @@
+package com.example.utilities;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listens on a PostgreSQL notification channel over a dedicated connection, on its own daemon thread.
+ * The connection is opened outside any pool, so listening never holds a pooled connection.
+ * <p>
+ * Notifications queued while a poll was waiting are handed over together, so a burst of writes
+ * reaches the handler as one batch. A broken connection is reported to the handler and reopened
+ * after a delay; notifications sent while it was down are lost, which the handler learns from
+ * {@link Handler#onDisconnected(Exception)} followed by {@link Handler#onListening()}.
+ */
+public final class PgNotificationListener implements AutoCloseable {
+
+    /**
+     * Receives the events of a listener, always on the listener thread.
+     */
+    public interface Handler {
+
+        /**
+         * Called once the channel is listened on, after startup and after every reconnect.
+         */
+        void onListening();
+
+        /**
+         * Called with the payloads of the notifications received since the previous call, in order.
+         *
+         * @param payloads the notification payloads
+         */
+        void onNotifications(List<String> payloads);
+
+        /**
+         * Called when the connection was lost or could not be opened.
+         *
+         * @param cause the failure
+         */
+        void onDisconnected(Exception cause);
+    }
+
+    /**
+     * Opens the dedicated connection.
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+
+        Connection open() throws SQLException;
+    }
+
+    private final ConnectionFactory connections;
+    private final String channel;
+    private final int pollTimeoutMs;
+    private final long reconnectDelayMs;
+    private final long validateAfterNanos;
+    private final Handler handler;
+    private final Thread thread;
+
+    private volatile boolean running = true;
+
+    /**
+     * Create a listener; it starts with {@link #start()}.
+     *
+     * @param connections opens the dedicated connection
+     * @param channel the channel, a plain SQL identifier
+     * @param pollTimeout how long each poll waits for notifications
+     * @param reconnectDelay the delay before reopening a lost connection
+     * @param handler the event handler
+     */
+    public PgNotificationListener(ConnectionFactory connections, String channel, Duration pollTimeout,
+                                  Duration reconnectDelay, Handler handler) {
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid channel name: " + channel);
+        }
+        this.connections = connections;
+        this.channel = channel;
+        this.pollTimeoutMs = (int) pollTimeout.toMillis();
+        this.reconnectDelayMs = reconnectDelay.toMillis();
+        // An idle connection is checked from time to time, as a silently dropped one never fails a poll
+        this.validateAfterNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(pollTimeoutMs * 20L, 10_000));
+        this.handler = handler;
+        this.thread = new Thread(this::run, "pg-listen-" + channel);
+        this.thread.setDaemon(true);
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        thread.interrupt();
+        try {
+            thread.join(pollTimeoutMs + 1000L);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try (Connection connection = connections.open()) {
+                listen(connection);
+            } catch (SQLException | RuntimeException ex) {
+                if (!running) {
+                    return;
+                }
+                handler.onDisconnected(ex);
+            }
+            try {
+                Thread.sleep(reconnectDelayMs);
+            } catch (InterruptedException ex) {
+                return;
+            }
+        }
+    }
+
+    private void listen(Connection connection) throws SQLException {
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + channel);
+        }
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        handler.onListening();
+
+        long lastActivity = System.nanoTime();
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+            long now = System.nanoTime();
+            if (notifications != null && notifications.length > 0) {
+                handler.onNotifications(Arrays.stream(notifications).map(PGNotification::getParameter).toList());
+                lastActivity = now;
+            } else if (now - lastActivity > validateAfterNanos) {
+                if (!connection.isValid(Math.max(1, pollTimeoutMs / 1000))) {
+                    throw new SQLException("Listening connection is no longer valid");
+                }
+                lastActivity = now;
+            }
+        }
+    }
+}
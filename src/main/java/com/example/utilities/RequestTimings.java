@@ -0,0 +1,180 @@
+package com.example.utilities;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Per-request breakdown of where time was spent, bound to the request thread.
+ * Timings are only collected while a request is being tracked ({@link #start()} has been called
+ * on the current thread); otherwise {@link #current()} returns {@code null} and callers skip
+ * reading the clock altogether, so disabled instrumentation costs a single ThreadLocal lookup.
+ * <p>
+ * Response serialization is measured from {@link #markBodyWrite()}, called right before the message
+ * converter writes the body, until {@link #complete()} once the handler chain has returned. The
+ * {@code Server-Timing} header is sent before the body, so it only reports the phases finished by then.
+ * The audit log is saved by the handler's audit aspect, so its breakdown stops before its own write.
+ */
+public final class RequestTimings {
+
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    /**
+     * Measured phases, in the order they are reported.
+     */
+    public enum Phase {
+        DB("db", true),
+        MAPPING("mapping", true),
+        AUDIT_ENCODE("audit-encode", true),
+        AUDIT_WRITE("audit-write", true),
+        SERIALIZATION("serialization", false);
+
+        private final String metricName;
+        private final boolean beforeBody;
+
+        Phase(String metricName, boolean beforeBody) {
+            this.metricName = metricName;
+            this.beforeBody = beforeBody;
+        }
+
+        public String getMetricName() {
+            return metricName;
+        }
+
+        /**
+         * Whether the phase is over before the response body is written, and so reported in {@code Server-Timing}.
+         *
+         * @return true if the phase ends before the body is written
+         */
+        public boolean isBeforeBody() {
+            return beforeBody;
+        }
+    }
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final long[] phaseNanos = new long[Phase.values().length];
+    private int dbStatements;
+    private long bodyWriteStartNanos;
+
+    private RequestTimings() {
+    }
+
+    /**
+     * Start tracking the current request.
+     *
+     * @return the timings of the current request
+     */
+    public static RequestTimings start() {
+        RequestTimings timings = new RequestTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    /**
+     * Get the timings of the current request.
+     *
+     * @return the timings, or {@code null} if the current request is not tracked
+     */
+    public static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Stop tracking the current request.
+     */
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Add time spent in a phase.
+     *
+     * @param phase the phase
+     * @param nanos the elapsed time in nanoseconds
+     */
+    public void add(Phase phase, long nanos) {
+        phaseNanos[phase.ordinal()] += nanos;
+    }
+
+    /**
+     * Add a JDBC statement execution to the database phase.
+     *
+     * @param nanos the execution time in nanoseconds
+     */
+    public void addStatement(long nanos) {
+        dbStatements++;
+        add(Phase.DB, nanos);
+    }
+
+    /**
+     * Mark the start of the response body write.
+     */
+    public void markBodyWrite() {
+        bodyWriteStartNanos = System.nanoTime();
+    }
+
+    /**
+     * Complete the request once the handler chain has returned, adding the serialization time if a body was written.
+     */
+    public void complete() {
+        if (bodyWriteStartNanos != 0) {
+            add(Phase.SERIALIZATION, System.nanoTime() - bodyWriteStartNanos);
+            bodyWriteStartNanos = 0;
+        }
+    }
+
+    /**
+     * Get the time spent in a phase.
+     *
+     * @param phase the phase
+     * @return the elapsed time in nanoseconds
+     */
+    public long getNanos(Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    public int getDbStatements() {
+        return dbStatements;
+    }
+
+    /**
+     * Get the measured phases in milliseconds, including the total time so far.
+     *
+     * @return the milliseconds per phase name
+     */
+    public Map<String, Double> toMillis() {
+        Map<String, Double> millis = new LinkedHashMap<>();
+        for (Phase phase : Phase.values()) {
+            millis.put(phase.getMetricName(), phaseNanos[phase.ordinal()] / 1_000_000.0);
+        }
+        millis.put("total", (System.nanoTime() - startNanos) / 1_000_000.0);
+        return millis;
+    }
+
+    /**
+     * Format the phases that end before the response body is written as a {@code Server-Timing} header value.
+     *
+     * @return the header value
+     */
+    public String toServerTiming() {
+        StringBuilder header = new StringBuilder(128);
+        for (Phase phase : Phase.values()) {
+            if (!phase.isBeforeBody()) {
+                continue;
+            }
+            appendMetric(header, phase.getMetricName(), phaseNanos[phase.ordinal()]);
+            if (phase == Phase.DB) {
+                header.append(";desc=\"").append(dbStatements).append(" statements\"");
+            }
+            header.append(", ");
+        }
+        appendMetric(header, "total", System.nanoTime() - startNanos);
+        return header.toString();
+    }
+
+    private static void appendMetric(StringBuilder header, String name, long nanos) {
+        header.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0));
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.utilities;
+
+import com.example.exception.ServiceUnavailableException;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits the number of concurrent calls of one class of work.
+ * Up to {@code maxConcurrent} calls run at once; up to {@code maxQueued} more wait, in arrival order,
+ * for at most {@code maxWait}. Calls beyond that are rejected immediately, so a saturated class of work
+ * fails fast instead of holding on to request threads that other classes need.
+ */
+public class SemaphoreBulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final long maxWaitNanos;
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+
+    public SemaphoreBulkhead(String name, int maxConcurrent, int maxQueued, Duration maxWait) {
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    /**
+     * Take a permit, waiting in the queue if none is free. Every successful call must be paired with {@link #release()}.
+     *
+     * @throws ServiceUnavailableException if the queue is full or no permit became free in time
+     */
+    public void acquire() {
+        try {
+            // A zero timeout still honours fairness, unlike tryAcquire()
+            if (permits.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+                return;
+            }
+            if (queued.incrementAndGet() > maxQueued) {
+                queued.decrementAndGet();
+                rejected.increment();
+                throw new ServiceUnavailableException("Too many concurrent " + name + " requests");
+            }
+            try {
+                if (!permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                    rejected.increment();
+                    throw new ServiceUnavailableException("Timed out waiting to run a " + name + " request");
+                }
+            } finally {
+                queued.decrementAndGet();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while waiting to run a " + name + " request", ex);
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getActive() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int getQueued() {
+        return queued.get();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
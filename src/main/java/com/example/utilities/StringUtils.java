@@ -1,5 +1,9 @@
 package com.example.utilities;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.UUID;
 
 /**
@@ -53,4 +57,28 @@ public class StringUtils {
         }
         return str.length() <= maxLength ? str : str.substring(0, maxLength);
     }
+    
+    /**
+     * Compute the SHA-256 digest of a string as lowercase hex.
+     *
+     * @param str the string to hash
+     * @return the 64 character hex digest
+     */
+    public static String sha256Hex(String str) {
+        return sha256Hex(str.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Compute the SHA-256 digest of bytes as lowercase hex.
+     *
+     * @param bytes the bytes to hash
+     * @return the 64 character hex digest
+     */
+    public static String sha256Hex(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
 }
@@ -0,0 +1,191 @@
+package com.example.controller;
+
+import com.example.model.dto.AuditLogFilter;
+import com.example.model.dto.LatencyStats;
+import com.example.model.entity.ApiAuditLog;
+import com.example.repository.nosql.ApiAuditLogRepository;
+import com.example.repository.nosql.ReactiveApiAuditLogRepository;
+import com.example.service.AuditService;
+import com.example.service.AuditTailService;
+import com.example.service.AuditTieringService;
+import com.example.service.LatencyAnalyticsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditLogControllerTest {
+
+    @Mock
+    private ApiAuditLogRepository auditLogRepository;
+
+    @Mock
+    private ReactiveApiAuditLogRepository reactiveAuditLogRepository;
+
+    @Mock
+    private AuditService auditService;
+
+    @Mock
+    private AuditTieringService auditTieringService;
+
+    @Mock
+    private AuditTailService auditTailService;
+
+    @Mock
+    private LatencyAnalyticsService latencyAnalyticsService;
+
+    @InjectMocks
+    private AuditLogController auditLogController;
+
+    private MockMvc mockMvc;
+
+    private ApiAuditLog log1;
+    private ApiAuditLog log2;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(auditLogController).build();
+
+        log1 = ApiAuditLog.builder()
+                .id("a1")
+                .action("get_user_by_id")
+                .status("SUCCESS")
+                .build();
+
+        log2 = ApiAuditLog.builder()
+                .id("a2")
+                .action("get_user_by_id")
+                .status("FAILED")
+                .build();
+    }
+
+    @Test
+    void getAuditLogsByAction_WithJsonAccept_ShouldReturnList() throws Exception {
+        when(auditLogRepository.findByAction("get_user_by_id")).thenReturn(List.of(log1, log2));
+
+        mockMvc.perform(get("/audit-logs/action/get_user_by_id").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id", is("a1")));
+
+        verify(reactiveAuditLogRepository, never()).findByActionOrderByCreatedAtAsc(any());
+    }
+
+    @Test
+    void getAuditLogsByAction_WithAnyAccept_ShouldReturnList() throws Exception {
+        when(auditLogRepository.findByAction("get_user_by_id")).thenReturn(List.of(log1));
+
+        mockMvc.perform(get("/audit-logs/action/get_user_by_id").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void streamAuditLogsByAction_WithNdjsonAccept_ShouldStreamOneDocumentPerLine() throws Exception {
+        when(reactiveAuditLogRepository.findByActionOrderByCreatedAtAsc("get_user_by_id"))
+                .thenReturn(Flux.just(log1, log2));
+
+        MvcResult result = mockMvc.perform(get("/audit-logs/action/get_user_by_id")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.trim().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"id\":\"a1\""));
+        assertTrue(lines[1].contains("\"id\":\"a2\""));
+        verify(auditLogRepository, never()).findByAction(any());
+    }
+
+    @Test
+    void streamAuditLogsByDateRange_WithEventStreamAccept_ShouldStreamEvents() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2025, 1, 2, 0, 0);
+        when(auditTieringService.streamByCreatedAtBetween(start, end))
+                .thenReturn(Flux.just(log1));
+
+        MvcResult result = mockMvc.perform(get("/audit-logs/date-range")
+                        .param("start", "2025-01-01T00:00:00")
+                        .param("end", "2025-01-02T00:00:00")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(content().string(startsWith("data:{\"id\":\"a1\"")));
+    }
+
+    @Test
+    void streamAuditLogs_WithFilters_ShouldStreamNamedEvents() throws Exception {
+        AuditLogFilter filter = AuditLogFilter.builder().action("get_user_by_id").status("FAILED").build();
+        when(auditTailService.subscribe(filter)).thenReturn(Flux.just(
+                ServerSentEvent.builder().event(AuditTailService.DROPPED_EVENT).data(3L).build(),
+                ServerSentEvent.builder().event(AuditTailService.AUDIT_EVENT).id("a2").data(log2).build()));
+
+        MvcResult result = mockMvc.perform(get("/audit-logs/stream")
+                        .param("action", "get_user_by_id")
+                        .param("status", "FAILED")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(content().string(startsWith("event:dropped\ndata:3")))
+                .andExpect(content().string(containsString("id:a2\nevent:audit\ndata:{\"id\":\"a2\"")));
+    }
+
+    @Test
+    void getLatencyStats_ShouldReturnPercentilesForWindow() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2025, 1, 1, 1, 0);
+        LatencyStats stats = LatencyStats.builder()
+                .action("get_user_by_id")
+                .count(100)
+                .p50Ms(4.2)
+                .p99Ms(35.0)
+                .build();
+        when(latencyAnalyticsService.getLatencyStats(start, end)).thenReturn(List.of(stats));
+
+        mockMvc.perform(get("/audit-logs/latency")
+                        .param("start", "2025-01-01T00:00:00")
+                        .param("end", "2025-01-01T01:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].action", is("get_user_by_id")))
+                .andExpect(jsonPath("$[0].p99Ms", is(35.0)));
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.controller;
+
+import com.example.model.entity.User;
+import com.example.support.AbstractQueryBudgetTest;
+import com.example.support.SqlStatementCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement budgets for every {@code /users} endpoint, including the web layer
+ * (open session in view, auditing aspect and serialization).
+ */
+class UserControllerQueryBudgetTest extends AbstractQueryBudgetTest {
+
+    private static final String USER_JSON = """
+            {"firstName":"New","lastName":"User","email":"%s","password":"password123"}""";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void getAllUsers_ShouldUseSingleSelect() throws Exception {
+        givenUser("john.doe@example.com");
+        givenUser("jane.smith@example.com");
+
+        mockMvc.perform(get("/users")).andExpect(status().isOk());
+
+        SqlStatementCounter.assertStatements(1, 0, 0, 0);
+    }
+
+    @Test
+    void getUserById_ShouldUseSingleSelect() throws Exception {
+        User user = givenUser("john.doe@example.com");
+
+        mockMvc.perform(get("/users/" + user.getId())).andExpect(status().isOk());
+
+        SqlStatementCounter.assertStatements(1, 0, 0, 0);
+    }
+
+    @Test
+    void createUser_ShouldInsertUserAndRevision() throws Exception {
+        mockMvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(USER_JSON.formatted("new.user@example.com")))
+                .andExpect(status().isCreated());
+
+        // Revision number from revinfo_seq, then user, revinfo and users_aud inserts
+        SqlStatementCounter.assertStatements(1, 3, 0, 0);
+    }
+
+    @Test
+    void createUser_WithIdempotencyKey_ShouldReplayRetryWithoutTouchingUsers() throws Exception {
+        String body = USER_JSON.formatted("retried.user@example.com");
+        String createdId = mockMvc.perform(post("/users")
+                        .header("Idempotency-Key", "create-retried-user")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        // Idempotency lookup, key claim, revision number, user and Envers inserts, response stored on the claim
+        SqlStatementCounter.assertStatements(2, 4, 1, 0);
+        SqlStatementCounter.reset();
+
+        mockMvc.perform(post("/users")
+                        .header("Idempotency-Key", "create-retried-user")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(content().json(createdId));
+
+        SqlStatementCounter.assertStatements(0, 0, 0, 0);
+
+        mockMvc.perform(post("/users")
+                        .header("Idempotency-Key", "create-retried-user")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(USER_JSON.formatted("other.user@example.com")))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.status", is(422)));
+    }
+
+    @Test
+    void createUser_WithIdempotencyKeyAndOnlyPasswordChanged_ShouldRejectReuse() throws Exception {
+        String body = USER_JSON.formatted("password.user@example.com");
+        mockMvc.perform(post("/users")
+                        .header("Idempotency-Key", "create-password-user")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/users")
+                        .header("Idempotency-Key", "create-password-user")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body.replace("password123", "password456")))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"));
+    }
+
+    @Test
+    void createUser_WithIdempotencyKeyOfAnotherCaller_ShouldNotReplay() throws Exception {
+        mockMvc.perform(post("/users")
+                        .header("Idempotency-Key", "shared-key")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(USER_JSON.formatted("first.caller@example.com")))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/users")
+                        .with(request -> {
+                            request.setRemoteAddr("10.0.0.2");
+                            return request;
+                        })
+                        .header("Idempotency-Key", "shared-key")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(USER_JSON.formatted("second.caller@example.com")))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"))
+                .andExpect(jsonPath("$.email", is("second.caller@example.com")));
+    }
+
+    @Test
+    void updateUser_ShouldSelectOnceAndUpdate() throws Exception {
+        User user = givenUser("john.doe@example.com");
+
+        mockMvc.perform(put("/users/" + user.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(USER_JSON.formatted("updated.user@example.com")))
+                .andExpect(status().isOk());
+
+        // One user lookup, plus the revision number from revinfo_seq
+        SqlStatementCounter.assertStatements(2, 2, 1, 0);
+    }
+
+    @Test
+    void patchUser_ShouldUpdateOnlyPatchedColumn() throws Exception {
+        User user = givenUser("john.doe@example.com");
+
+        mockMvc.perform(patch("/users/" + user.getId())
+                        .contentType("application/merge-patch+json")
+                        .content("{\"lastName\":\"Smith\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lastName", is("Smith")))
+                .andExpect(jsonPath("$.email", is("john.doe@example.com")));
+
+        // One user lookup, plus the revision number from revinfo_seq
+        SqlStatementCounter.assertStatements(2, 2, 1, 0);
+    }
+
+    @Test
+    void patchUser_WithNullRequiredMember_ShouldReturnBadRequestWithoutWriting() throws Exception {
+        User user = givenUser("john.doe@example.com");
+
+        mockMvc.perform(patch("/users/" + user.getId())
+                        .contentType("application/merge-patch+json")
+                        .content("{\"firstName\":null}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.firstName", is("First name is required")));
+
+        SqlStatementCounter.assertStatements(1, 0, 0, 0);
+    }
+
+    @Test
+    void deleteUser_ShouldSelectOnceAndDelete() throws Exception {
+        User user = givenUser("john.doe@example.com");
+
+        mockMvc.perform(delete("/users/" + user.getId())).andExpect(status().isNoContent());
+
+        // One user lookup, plus the revision number from revinfo_seq
+        SqlStatementCounter.assertStatements(2, 2, 0, 1);
+    }
+
+    @Test
+    void getUserById_WithNonExistentId_ShouldUseSingleSelect() throws Exception {
+        mockMvc.perform(get("/users/99")).andExpect(status().isNotFound());
+
+        SqlStatementCounter.assertStatements(1, 0, 0, 0);
+    }
+
+    @Test
+    void getUsersByIds_ShouldUseSingleSelectInRequestOrder() throws Exception {
+        User first = givenUser("john.doe@example.com");
+        User second = givenUser("jane.smith@example.com");
+
+        mockMvc.perform(get("/users").param("ids", second.getId() + ",99," + first.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].user.email", is("jane.smith@example.com")))
+                .andExpect(jsonPath("$[1].id", is(99)))
+                .andExpect(jsonPath("$[1].found", is(false)))
+                .andExpect(jsonPath("$[1].user").doesNotExist())
+                .andExpect(jsonPath("$[2].user.email", is("john.doe@example.com")));
+
+        SqlStatementCounter.assertStatements(1, 0, 0, 0);
+    }
+
+    @Test
+    void lookupUsers_OverLimit_ShouldReturnBadRequestWithoutQuerying() throws Exception {
+        String ids = LongStream.rangeClosed(1, 101)
+                .mapToObj(Long::toString)
+                .collect(Collectors.joining(","));
+
+        mockMvc.perform(post("/users/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[" + ids + "]}"))
+                .andExpect(status().isBadRequest());
+
+        SqlStatementCounter.assertStatements(0, 0, 0, 0);
+    }
+}
@@ -1,18 +1,24 @@
 package com.example.controller;
 
+import com.example.config.SecurityConfig;
+import com.example.exception.InvalidChangeTokenException;
 import com.example.exception.ResourceNotFoundException;
+import com.example.model.dto.UserChange;
+import com.example.model.dto.UserChangesPage;
 import com.example.model.dto.UserDto;
+import com.example.service.UserChangeService;
 import com.example.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Arrays;
@@ -28,19 +34,24 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(UserController.class)
-@ExtendWith(MockitoExtension.class)
+@Import(SecurityConfig.class)
 class UserControllerTest {
     
     @Autowired
     private MockMvc mockMvc;
 
-    @Mock
+    @MockitoBean
     private UserService userService;
-    
 
-    
-    @InjectMocks
-    private UserController userController;
+    @MockitoBean
+    private UserChangeService userChangeService;
+
+    // Required by @EnableJpaAuditing on the application class
+    @MockitoBean
+    private JpaMetamodelMappingContext jpaMetamodelMappingContext;
+
+    @MockitoBean(name = "currentAuditorProvider")
+    private AuditorAware<String> currentAuditorProvider;
 
     @Autowired
     private ObjectMapper objectMapper;
@@ -51,8 +62,6 @@ class UserControllerTest {
 
     @BeforeEach
     void setUp() {
-        // Initialize mocks
-        org.mockito.MockitoAnnotations.openMocks(this);
         testUser1 = UserDto.builder()
                 .id(1L)
                 .firstName("John")
@@ -121,7 +130,7 @@ class UserControllerTest {
 
         mockMvc.perform(post("/users")
                 .contentType(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(newUser)))
+                .content(requestBody(newUser)))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.id", is(3)))
                 .andExpect(jsonPath("$.firstName", is("New")))
@@ -143,12 +152,13 @@ class UserControllerTest {
 
         mockMvc.perform(put("/users/1")
                 .contentType(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(updatedUser)))
+                .content(requestBody(updatedUser)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id", is(1)))
                 .andExpect(jsonPath("$.firstName", is("Updated")))
                 .andExpect(jsonPath("$.lastName", is("User")))
-                .andExpect(jsonPath("$.email", is("updated.user@example.com")));
+                .andExpect(jsonPath("$.email", is("updated.user@example.com")))
+                .andExpect(jsonPath("$.password").doesNotExist());
     }
 
     @Test
@@ -183,7 +193,7 @@ class UserControllerTest {
 
         mockMvc.perform(put("/users/" + nonExistentId)
                 .contentType(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(updatedUser)))
+                .content(requestBody(updatedUser)))
                 .andExpect(status().isNotFound());
     }
     
@@ -209,7 +219,46 @@ class UserControllerTest {
 
         mockMvc.perform(post("/users")
                 .contentType(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(invalidUser)))
+                .content(requestBody(invalidUser)))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Serialize a user as a request body. The password is write-only, so it is added explicitly.
+     */
+    private String requestBody(UserDto user) throws Exception {
+        ObjectNode body = objectMapper.valueToTree(user);
+        return body.put("password", user.getPassword()).toString();
+    }
+
+    @Test
+    void getUserChanges_WithToken_ShouldReturnChangesAndTombstones() throws Exception {
+        UserChangesPage page = UserChangesPage.builder()
+                .changes(List.of(
+                        UserChange.builder().id(1L).revision(7).firstName("John").lastName("Doe")
+                                .email("john.doe@example.com").build(),
+                        UserChange.builder().id(2L).revision(8).deleted(true).build()))
+                .nextToken("OjI")
+                .hasMore(false)
+                .build();
+        when(userChangeService.findChanges("abc", 50)).thenReturn(page);
+
+        mockMvc.perform(get("/users/changes").param("since", "abc").param("size", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(2)))
+                .andExpect(jsonPath("$.changes[0].email", is("john.doe@example.com")))
+                .andExpect(jsonPath("$.changes[1].deleted", is(true)))
+                .andExpect(jsonPath("$.changes[1].email").doesNotExist())
+                .andExpect(jsonPath("$.nextToken", is("OjI")))
+                .andExpect(jsonPath("$.hasMore", is(false)));
+    }
+
+    @Test
+    void getUserChanges_InvalidToken_ShouldReturnBadRequest() throws Exception {
+        when(userChangeService.findChanges("bad", 100))
+                .thenThrow(new InvalidChangeTokenException("Invalid change feed token: bad"));
+
+        mockMvc.perform(get("/users/changes").param("since", "bad"))
                 .andExpect(status().isBadRequest());
     }
 }
@@ -0,0 +1,160 @@
+package com.example.controller;
+
+import com.example.support.AbstractQueryBudgetTest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs imports end to end against H2 and polls the status endpoint until they finish.
+ */
+class UserImportControllerTest extends AbstractQueryBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void importCsv_ShouldImportValidRowsAndReportRejectedOnes() throws Exception {
+        // Given
+        givenUser("taken@example.com");
+        String csv = """
+                email,firstName,lastName,password
+                jane.smith@example.com,Jane,Smith,password123
+                "o'brien, pat"@example,Pat,O'Brien,password123
+                bob.jones@example.com,Bob,,password123
+
+                jane.smith@example.com,Janet,Smith,password123
+                taken@example.com,Tom,Taken,password123
+                "alice.doe@example.com","Alice","Doe, Jr","pass""word1"
+                """;
+
+        // When
+        String location = mockMvc.perform(post("/users/imports").contentType("text/csv").content(csv))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", containsString("/users/imports/")))
+                .andReturn().getResponse().getHeader("Location");
+        JsonNode result = awaitFinished(location);
+
+        // Then
+        assertEquals("COMPLETED", result.get("state").asText());
+        assertEquals(6, result.get("rowsRead").asLong());
+        assertEquals(2, result.get("rowsImported").asLong());
+        assertEquals(4, result.get("rowsRejected").asLong());
+        assertEquals(3, userRepository.count());
+        assertEquals("Doe, Jr", userRepository.findByEmail("alice.doe@example.com").getLastName());
+
+        JsonNode rejections = result.get("rejections");
+        assertEquals(3, rejections.get(0).get("line").asLong());
+        assertEquals("email: Email should be valid", rejections.get(0).get("reason").asText());
+        assertEquals(4, rejections.get(1).get("line").asLong());
+        assertTrue(rejections.get(1).get("reason").asText().contains("lastName: Last name is required"));
+        assertEquals("email: Duplicate email in the import", rejections.get(2).get("reason").asText());
+        assertEquals("email: Email already exists", rejections.get(3).get("reason").asText());
+    }
+
+    @Test
+    void importCsv_WithLineBreakInQuotedField_ShouldImportRowsWithOneRevision() throws Exception {
+        // Given
+        String csv = """
+                firstName,lastName,email,password
+                "Mary
+                Ann",Smith,mary.smith@example.com,password123
+                Bob,"Jo""nes",bob.jones@example.com,password123
+                Pat,"Open,pat.open@example.com,password123
+                """;
+
+        // When
+        String location = mockMvc.perform(post("/users/imports").contentType("text/csv").content(csv))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getHeader("Location");
+        JsonNode result = awaitFinished(location);
+
+        // Then
+        assertEquals(3, result.get("rowsRead").asLong());
+        assertEquals(2, result.get("rowsImported").asLong());
+        assertEquals(1, result.get("rowsRejected").asLong());
+        assertEquals(5, result.get("rejections").get(0).get("line").asLong());
+        assertEquals("Mary\nAnn", userRepository.findByEmail("mary.smith@example.com").getFirstName());
+        assertEquals("Jo\"nes", userRepository.findByEmail("bob.jones@example.com").getLastName());
+
+        // Both users are in the history, added in the same revision
+        Long revisions = jdbcTemplate.queryForObject("""
+                select count(distinct a.rev) from users_aud a join users u on u.id = a.id
+                where a.revtype = 0 and u.email in ('mary.smith@example.com', 'bob.jones@example.com')""", Long.class);
+        Long historyRows = jdbcTemplate.queryForObject("""
+                select count(*) from users_aud a join users u on u.id = a.id
+                where u.email in ('mary.smith@example.com', 'bob.jones@example.com')""", Long.class);
+        assertEquals(1, revisions);
+        assertEquals(2, historyRows);
+    }
+
+    @Test
+    void importNdjson_ShouldRejectMalformedLines() throws Exception {
+        // Given
+        String ndjson = """
+                {"firstName":"Jane","lastName":"Smith","email":"jane.smith@example.com","password":"password123"}
+                {"firstName":"Bob",
+                {"firstName":"Bob","lastName":"Jones","email":"bob.jones@example.com","password":"password123"}
+                """;
+
+        // When
+        String location = mockMvc.perform(post("/users/imports").contentType("application/x-ndjson").content(ndjson))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getHeader("Location");
+        JsonNode result = awaitFinished(location);
+
+        // Then
+        assertEquals(2, result.get("rowsImported").asLong());
+        assertEquals(1, result.get("rowsRejected").asLong());
+        assertEquals(2, result.get("rejections").get(0).get("line").asLong());
+        assertTrue(result.get("rejections").get(0).get("reason").asText().startsWith("Malformed row"));
+    }
+
+    @Test
+    void importCsv_WithoutRequiredColumns_ShouldFailJob() throws Exception {
+        String location = mockMvc.perform(post("/users/imports").contentType("text/csv").content("email,name\n"))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getHeader("Location");
+
+        JsonNode result = awaitFinished(location);
+
+        assertEquals("FAILED", result.get("state").asText());
+        assertTrue(result.get("error").asText().contains("CSV header"));
+    }
+
+    @Test
+    void getImportStatus_WithUnknownJob_ShouldReturnNotFound() throws Exception {
+        mockMvc.perform(get("/users/imports/unknown")).andExpect(status().isNotFound());
+    }
+
+    private JsonNode awaitFinished(String location) throws Exception {
+        String path = location.substring(location.indexOf("/users/imports/"));
+        for (int i = 0; i < 100; i++) {
+            JsonNode status = objectMapper.readTree(mockMvc.perform(get(path))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            String state = status.get("state").asText();
+            if (state.equals("COMPLETED") || state.equals("FAILED")) {
+                return status;
+            }
+            Thread.sleep(100);
+        }
+        return fail("Import did not finish: " + location);
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.exception;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        request = new MockHttpServletRequest("GET", "/api/v1/users/99");
+    }
+
+    @Test
+    void resourceNotFoundException_ShouldNotCaptureStackTrace() {
+        ResourceNotFoundException ex = new ResourceNotFoundException("User not found with id: 99");
+
+        assertEquals(0, ex.getStackTrace().length);
+    }
+
+    @Test
+    void handleResourceNotFoundException_ShouldWriteErrorResponseBody() throws Exception {
+        // When
+        ResponseEntity<byte[]> response = handler.handleResourceNotFoundException(
+                new ResourceNotFoundException("User \"99\" not found"), request);
+
+        // Then
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        ErrorResponse body = objectMapper.readValue(response.getBody(), ErrorResponse.class);
+        assertNotNull(body.getTimestamp());
+        assertEquals(404, body.getStatus());
+        assertEquals("Not Found", body.getError());
+        assertEquals("User \"99\" not found", body.getMessage());
+        assertEquals("/api/v1/users/99", body.getPath());
+    }
+
+    @Test
+    void handleValidationExceptions_ShouldKeepFirstMessagePerField() throws Exception {
+        // Given
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(new Object(), "userDto");
+        bindingResult.addError(new FieldError("userDto", "email", "Email should be valid"));
+        bindingResult.addError(new FieldError("userDto", "password", "Password is required"));
+        bindingResult.addError(new FieldError("userDto", "password", "Password must be at least 8 characters long"));
+        MethodParameter parameter = new MethodParameter(
+                GlobalExceptionHandlerTest.class.getDeclaredMethod("setUp"), -1);
+
+        // When
+        ResponseEntity<byte[]> response = handler.handleValidationExceptions(
+                new MethodArgumentNotValidException(parameter, bindingResult));
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        JsonNode body = objectMapper.readTree(response.getBody());
+        assertEquals(400, body.get("status").asInt());
+        assertEquals("Bad Request", body.get("error").asText());
+        assertEquals("Validation failed", body.get("message").asText());
+        assertEquals(2, body.get("errors").size());
+        assertEquals("Email should be valid", body.get("errors").get("email").asText());
+        assertEquals("Password is required", body.get("errors").get("password").asText());
+    }
+
+    @Test
+    void handleOptimisticLock_ShouldReturnStructuredConflict() throws Exception {
+        // When
+        ResponseEntity<byte[]> response = handler.handleOptimisticLock(request);
+
+        // Then
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        JsonNode body = objectMapper.readTree(response.getBody());
+        assertEquals(409, body.get("status").asInt());
+        assertEquals("Conflict", body.get("error").asText());
+        assertEquals("/api/v1/users/99", body.get("path").asText());
+    }
+
+    @Test
+    void handleConflictingUpdate_ShouldListConflictingFields() throws Exception {
+        // Given
+        ConflictingUpdateException ex = new ConflictingUpdateException(
+                "The user was concurrently updated in the same fields: [lastName, email]", Set.of("lastName", "email"));
+
+        // When
+        ResponseEntity<byte[]> response = handler.handleConflictingUpdate(ex, request);
+
+        // Then
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        JsonNode body = objectMapper.readTree(response.getBody());
+        assertEquals(409, body.get("status").asInt());
+        assertEquals(ex.getMessage(), body.get("message").asText());
+        assertEquals("[\"email\",\"lastName\"]", body.get("fields").toString());
+    }
+}
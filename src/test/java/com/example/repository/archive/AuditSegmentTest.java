@@ -0,0 +1,115 @@
+package com.example.repository.archive;
+
+import com.example.model.entity.ApiAuditLog;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditSegmentTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void scan_ShouldReadBackEveryField() throws IOException {
+        // Given
+        ApiAuditLog full = ApiAuditLog.builder()
+                .id("68ad8f1e2c1b4a5d6e7f8091")
+                .action("update_user")
+                .requestPayload("{\"id\":1}")
+                .responsePayload("{\"id\":1,\"firstName\":\"Zoë\"}")
+                .requestData(new Document("id", 1L).append("tags", List.of("a", "b")))
+                .httpMethod("PUT")
+                .endpoint("/api/v1/users/1")
+                .clientIp("10.0.0.1")
+                .status("SUCCESS")
+                .durationMicros(1234L)
+                .responseSize(-1L)
+                .payloadTruncated(true)
+                .dbStatements(3)
+                .timings(Map.of("db", 1.5))
+                .createdBy("admin")
+                .createdAt(BASE.plusNanos(123_000_000))
+                .timestamp(BASE.plusSeconds(1))
+                .build();
+        ApiAuditLog sparse = ApiAuditLog.builder()
+                .id("plain-id")
+                .createdAt(BASE.plusSeconds(2))
+                .timestamp(null)
+                .build();
+
+        // When
+        AuditSegment segment = AuditSegment.open(write("full.seg", List.of(full, sparse)));
+
+        // Then
+        List<ApiAuditLog> read = segment.scan(BASE.minusSeconds(1), BASE.plusSeconds(3)).toList();
+        assertEquals(List.of(full, sparse), read);
+        assertEquals(2, segment.getRowCount());
+        assertEquals(BASE.plusNanos(123_000_000), segment.getMinCreatedAt());
+        assertEquals(BASE.plusSeconds(2), segment.getMaxCreatedAt());
+    }
+
+    @Test
+    void scan_WithRangeInsideSegment_ShouldReturnOnlyRowsStrictlyBetween() throws IOException {
+        // Given
+        List<ApiAuditLog> logs = new ArrayList<>();
+        for (int i = 0; i < 3 * AuditSegmentWriter.ROW_GROUP_ROWS; i++) {
+            logs.add(ApiAuditLog.builder()
+                    .id("log-" + i)
+                    .action(i % 2 == 0 ? "get_user_by_id" : "create_user")
+                    .status("SUCCESS")
+                    .createdAt(BASE.plusSeconds(i))
+                    .build());
+        }
+        AuditSegment segment = AuditSegment.open(write("range.seg", logs));
+
+        // When
+        List<ApiAuditLog> read = segment.scan(BASE.plusSeconds(1500), BASE.plusSeconds(1600)).toList();
+
+        // Then
+        assertEquals(99, read.size());
+        assertEquals("log-1501", read.getFirst().getId());
+        assertEquals("log-1599", read.getLast().getId());
+        assertEquals("create_user", read.getFirst().getAction());
+        assertTrue(segment.overlaps(BASE.plusSeconds(1500), BASE.plusSeconds(1600)));
+        assertFalse(segment.overlaps(BASE.plusSeconds(4000), BASE.plusSeconds(5000)));
+        List<String> ids = new ArrayList<>();
+        segment.forEachIdBatch(ids::addAll);
+        assertEquals(logs.size(), ids.size());
+    }
+
+    @Test
+    void open_WithUnfinishedSegment_ShouldFail() throws IOException {
+        // Given
+        Path file = directory.resolve("unfinished.seg");
+        AuditSegmentWriter writer = new AuditSegmentWriter(file);
+        writer.append(ApiAuditLog.builder().id("a1").createdAt(BASE).build());
+        Files.copy(directory.resolve("unfinished.seg.tmp"), file);
+
+        // When / Then
+        assertThrows(IOException.class, () -> AuditSegment.open(file));
+        writer.close();
+        assertFalse(Files.exists(directory.resolve("unfinished.seg.tmp")));
+    }
+
+    private Path write(String name, List<ApiAuditLog> logs) throws IOException {
+        try (AuditSegmentWriter writer = new AuditSegmentWriter(directory.resolve(name))) {
+            for (ApiAuditLog log : logs) {
+                writer.append(log);
+            }
+            return writer.finish();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.repository.nosql;
+
+import com.example.config.MongoConfig;
+import com.example.model.entity.ApiAuditLog;
+import com.mongodb.MongoClientSettings;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.Document;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.DefaultMongoTypeMapper;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApiAuditLogCodecTest {
+
+    private final ApiAuditLogCodec codec = new ApiAuditLogCodec();
+
+    private MappingMongoConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        MongoCustomConversions conversions = new MongoConfig().mongoCustomConversions();
+        MongoMappingContext context = new MongoMappingContext();
+        context.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        context.afterPropertiesSet();
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, context);
+        converter.setTypeMapper(new DefaultMongoTypeMapper(null));
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+    }
+
+    @Test
+    void encode_ShouldWriteSameDocumentAsMappingConverter() {
+        // Given
+        ApiAuditLog auditLog = fullAuditLog();
+
+        // When
+        BsonDocument encoded = encode(auditLog);
+
+        // Then
+        Document mapped = new Document();
+        converter.write(auditLog, mapped);
+        assertEquals(mapped.toBsonDocument(BsonDocument.class, MongoClientSettings.getDefaultCodecRegistry()), encoded);
+        assertEquals(LocalDateTime.of(2025, 8, 26, 10, 30, 0, 123_000_000),
+                converter.read(ApiAuditLog.class, mapped).getCreatedAt());
+    }
+
+    @Test
+    void decode_ShouldRestoreEveryField() {
+        // Given
+        ApiAuditLog auditLog = fullAuditLog();
+
+        // When
+        ApiAuditLog decoded = codec.decode(new BsonDocumentReader(encode(auditLog)), DecoderContext.builder().build());
+
+        // Then
+        assertEquals(auditLog, decoded);
+    }
+
+    @Test
+    void encode_WithoutOptionalFields_ShouldOmitThemAndDecodeAsNull() {
+        // Given
+        ApiAuditLog auditLog = ApiAuditLog.builder().action("get_all_users").timestamp(null).build();
+        codec.generateIdIfAbsentFromDocument(auditLog);
+
+        // When
+        BsonDocument encoded = encode(auditLog);
+        ApiAuditLog decoded = codec.decode(new BsonDocumentReader(encoded), DecoderContext.builder().build());
+
+        // Then
+        assertEquals(2, encoded.size());
+        assertTrue(encoded.get("_id").isObjectId());
+        assertEquals(auditLog.getId(), decoded.getId());
+        assertNull(decoded.getTimestamp());
+        assertNull(decoded.getDurationMicros());
+    }
+
+    @Test
+    void encode_WithStructuredPayloads_ShouldEmbedDocumentsLikeMappingConverter() {
+        // Given
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("id", 7L);
+        request.put("userDto", new LinkedHashMap<>(Map.of("email", "jane@example.com")));
+        List<Object> response = List.of(new LinkedHashMap<>(Map.of("id", 7, "active", true)), "x");
+        ApiAuditLog auditLog = ApiAuditLog.builder()
+                .id(new ObjectId().toHexString())
+                .action("update_user")
+                .requestData(request)
+                .responseData(response)
+                .timestamp(null)
+                .build();
+
+        // When
+        BsonDocument encoded = encode(auditLog);
+        ApiAuditLog decoded = codec.decode(new BsonDocumentReader(encoded), DecoderContext.builder().build());
+
+        // Then
+        Document mapped = new Document();
+        converter.write(auditLog, mapped);
+        assertEquals(mapped.toBsonDocument(BsonDocument.class, MongoClientSettings.getDefaultCodecRegistry()), encoded);
+        assertEquals("jane@example.com", encoded.getDocument("requestData").getDocument("userDto").getString("email").getValue());
+        assertEquals(new Document(request).append("userDto", new Document("email", "jane@example.com")),
+                decoded.getRequestData());
+        assertEquals(List.of(new Document(Map.of("id", 7, "active", true)), "x"), decoded.getResponseData());
+    }
+
+    private BsonDocument encode(ApiAuditLog auditLog) {
+        BsonDocument document = new BsonDocument();
+        codec.encode(new BsonDocumentWriter(document), auditLog, EncoderContext.builder().build());
+        return document;
+    }
+
+    private static ApiAuditLog fullAuditLog() {
+        return ApiAuditLog.builder()
+                .id(new ObjectId().toHexString())
+                .action("get_user_by_id")
+                .requestPayload("[1]")
+                .responsePayload("{\"id\":1}")
+                .httpMethod("GET")
+                .endpoint("/api/v1/users/1")
+                .clientIp("127.0.0.1")
+                .status("SUCCESS")
+                .durationMicros(1250L)
+                .responseSize(64L)
+                .payloadTruncated(true)
+                .dbStatements(1)
+                .timings(Map.of("db", 0.8, "serialization", 0.1))
+                .searchTerms(List.of("api", "v1", "users", "1", "id"))
+                .createdBy("SYSTEM")
+                .createdAt(LocalDateTime.of(2025, 8, 26, 10, 30, 0, 123_000_000))
+                .timestamp(LocalDateTime.of(2025, 8, 26, 10, 30, 1))
+                .build();
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.repository.nosql;
+
+import com.example.model.entity.ApiAuditLog;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.CountOptions;
+import com.mongodb.client.model.Filters;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.mongodb.core.CollectionCallback;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ApiAuditLogRepositoryCustomImplTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private MongoCollection<Document> collection;
+
+    @Mock
+    private MongoCollection<ApiAuditLog> logs;
+
+    @Mock
+    private FindIterable<ApiAuditLog> found;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void searchTerms_WithSeveralTerms_ShouldAnchorOnTheRarest() {
+        // Given
+        Map<String, Long> counts = Map.of("doe", 500L, "jane", 10_000L, "42", 3L);
+        when(mongoTemplate.execute(eq(ApiAuditLog.class), any(CollectionCallback.class)))
+                .thenAnswer(invocation -> invocation.<CollectionCallback<?>>getArgument(1).doInCollection(collection));
+        when(collection.withDocumentClass(ApiAuditLog.class)).thenReturn(logs);
+        for (Map.Entry<String, Long> count : counts.entrySet()) {
+            when(collection.countDocuments(eq(Filters.eq("searchTerms", count.getKey())), any(CountOptions.class)))
+                    .thenReturn(count.getValue());
+        }
+        when(logs.find(any(Bson.class))).thenReturn(found);
+        when(found.sort(any())).thenReturn(found);
+        when(found.skip(anyInt())).thenReturn(found);
+        when(found.limit(anyInt())).thenReturn(found);
+        when(found.into(any())).thenReturn(List.of());
+
+        // When
+        Slice<ApiAuditLog> slice = new ApiAuditLogRepositoryCustomImpl(mongoTemplate)
+                .searchTerms(List.of("doe", "jane", "42"), PageRequest.of(0, 20));
+
+        // Then
+        ArgumentCaptor<Bson> filter = ArgumentCaptor.forClass(Bson.class);
+        verify(logs).find(filter.capture());
+        assertEquals(Filters.all("searchTerms", List.of("42", "doe", "jane")).toBsonDocument(),
+                filter.getValue().toBsonDocument());
+        assertFalse(slice.hasNext());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void searchTerms_WithATermNoAuditLogHolds_ShouldReturnAnEmptySlice() {
+        // Given
+        Map<String, Long> counts = Map.of("jane", 10_000L, "zyx", 0L);
+        when(mongoTemplate.execute(eq(ApiAuditLog.class), any(CollectionCallback.class)))
+                .thenAnswer(invocation -> invocation.<CollectionCallback<?>>getArgument(1).doInCollection(collection));
+        when(collection.withDocumentClass(ApiAuditLog.class)).thenReturn(logs);
+        for (Map.Entry<String, Long> count : counts.entrySet()) {
+            when(collection.countDocuments(eq(Filters.eq("searchTerms", count.getKey())), any(CountOptions.class)))
+                    .thenReturn(count.getValue());
+        }
+
+        // When
+        Slice<ApiAuditLog> slice = new ApiAuditLogRepositoryCustomImpl(mongoTemplate)
+                .searchTerms(List.of("jane", "zyx"), PageRequest.of(0, 20));
+
+        // Then
+        assertTrue(slice.getContent().isEmpty());
+        assertFalse(slice.hasNext());
+        verify(logs, never()).find(any(Bson.class));
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.repository.nosql;
+
+import com.example.model.entity.ApiAuditLog;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditSearchTermsTest {
+
+    @Test
+    void of_ShouldKeepEmailsAndIdsWhole() {
+        // Given
+        ApiAuditLog auditLog = ApiAuditLog.builder()
+                .endpoint("/api/v1/users/42")
+                .requestPayload("[{\"email\":\"Jane.Doe@Example.com.\",\"firstName\":\"Jane\"}]")
+                .responsePayload("User not found with id: 42")
+                .build();
+
+        // When
+        List<String> terms = AuditSearchTerms.of(auditLog);
+
+        // Then
+        assertEquals(List.of("42", "jane.doe@example.com", "jane", "user", "not", "found", "with", "id"), terms);
+    }
+
+    @Test
+    void of_WithJsonPayload_ShouldSkipFieldNamesRouteWordsAndLiterals() {
+        // Given
+        ApiAuditLog auditLog = ApiAuditLog.builder()
+                .endpoint("/api/v2/audit-logs/9f1c-42ab/export")
+                .requestPayload(" {\"id\" : 7, \"active\":true, \"note\":null, \"tags\":[\"vip\",\"say \\\"hi\\\"\"]}")
+                .responsePayload("{\"lastName\":\"Doe\",\"firstName\":\"Ja")
+                .build();
+
+        // When
+        List<String> terms = AuditSearchTerms.of(auditLog);
+
+        // Then
+        assertEquals(List.of("9f1c-42ab", "7", "vip", "say", "hi", "doe", "ja"), terms);
+    }
+
+    @Test
+    void of_WithStructuredPayloads_ShouldUseValuesOnly() {
+        // Given
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("id", 7L);
+        request.put("userDto", Map.of("email", "jane@example.com"));
+        ApiAuditLog auditLog = ApiAuditLog.builder()
+                .requestData(request)
+                .responseData(List.of(Map.of("active", true, "uuid", "9f1c-42ab")))
+                .build();
+
+        // When
+        List<String> terms = AuditSearchTerms.of(auditLog);
+
+        // Then
+        assertEquals(List.of("7", "jane@example.com", "9f1c-42ab"), terms);
+    }
+
+    @Test
+    void parse_ShouldMatchStoredTermsAndCapTheirNumber() {
+        // Given
+        String query = "JANE@example.com " + "x ".repeat(5) + String.join(" ",
+                IntStream.range(0, 40).mapToObj(Integer::toString).toList());
+
+        // When
+        List<String> terms = AuditSearchTerms.parse(query);
+
+        // Then
+        assertEquals("jane@example.com", terms.getFirst());
+        assertEquals("x", terms.get(1));
+        assertEquals(AuditSearchTerms.MAX_QUERY_TERMS, terms.size());
+    }
+
+    @Test
+    void parse_ShouldSkipRouteWordsFieldNamesAndLiterals() {
+        // When
+        List<String> terms = AuditSearchTerms.parse("/api/v1/users/42 email:Jane@example.com v2 TRUE null at 12:30");
+
+        // Then
+        assertEquals(List.of("42", "jane@example.com", "at", "12", "30"), terms);
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.service;
+
+import com.example.exception.ServiceUnavailableException;
+import com.example.model.dto.AuditLogFilter;
+import com.example.model.entity.ApiAuditLog;
+import com.example.service.impl.AuditTailServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.BaseSubscriber;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditTailServiceImplTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AuditTailServiceImpl auditTailService;
+
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        auditTailService = new AuditTailServiceImpl(meterRegistry, 1, 2, 60000);
+        client = new Client();
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.dispose();
+    }
+
+    @Test
+    void publish_WithFilter_ShouldOnlyDeliverMatchingAuditLogs() throws InterruptedException {
+        // Given
+        auditTailService.subscribe(AuditLogFilter.builder().status("FAILED").build()).subscribe(client);
+        client.request(10);
+
+        // When
+        auditTailService.publish(auditLog("a1", "SUCCESS"));
+        auditTailService.publish(auditLog("a2", "FAILED"));
+
+        // Then
+        client.await(1);
+        assertEquals(AuditTailService.AUDIT_EVENT, client.events.getFirst().event());
+        assertEquals("a2", client.events.getFirst().id());
+    }
+
+    @Test
+    void publish_SlowSubscriber_ShouldDropOldestAndSignalCount() throws InterruptedException {
+        // Given
+        auditTailService.subscribe(new AuditLogFilter()).subscribe(client);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            auditTailService.publish(auditLog("a" + i, "SUCCESS"));
+        }
+        client.request(3);
+
+        // Then
+        client.await(3);
+        assertEquals(AuditTailService.DROPPED_EVENT, client.events.get(0).event());
+        assertEquals(3L, client.events.get(0).data());
+        assertEquals("a3", client.events.get(1).id());
+        assertEquals("a4", client.events.get(2).id());
+        assertEquals(3.0, meterRegistry.counter("app.audit.tail.dropped").count());
+    }
+
+    @Test
+    void subscribe_OverLimit_ShouldThrowAndFreeSlotOnCancel() {
+        // Given
+        auditTailService.subscribe(new AuditLogFilter()).subscribe(client);
+
+        // When / Then
+        assertThrows(ServiceUnavailableException.class, () -> auditTailService.subscribe(new AuditLogFilter()));
+        client.dispose();
+        assertEquals(0, auditTailService.getSubscriberCount());
+    }
+
+    private static ApiAuditLog auditLog(String id, String status) {
+        return ApiAuditLog.builder().id(id).action("get_user_by_id").status(status).build();
+    }
+
+    /**
+     * Requests nothing until told to, like a client that has stopped reading.
+     */
+    private static class Client extends BaseSubscriber<ServerSentEvent<Object>> {
+
+        private final List<ServerSentEvent<Object>> events = new CopyOnWriteArrayList<>();
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+        }
+
+        @Override
+        protected void hookOnNext(ServerSentEvent<Object> event) {
+            events.add(event);
+        }
+
+        void await(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (events.size() < count && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(count, events.size());
+        }
+    }
+}
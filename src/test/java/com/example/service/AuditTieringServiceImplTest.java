@@ -0,0 +1,150 @@
+package com.example.service;
+
+import com.example.model.entity.ApiAuditLog;
+import com.example.repository.archive.AuditSegmentWriter;
+import com.example.repository.nosql.ApiAuditLogRepository;
+import com.example.repository.nosql.ReactiveApiAuditLogRepository;
+import com.example.service.impl.AuditTieringServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuditTieringServiceImplTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Mock
+    private ApiAuditLogRepository auditLogRepository;
+
+    @Mock
+    private ReactiveApiAuditLogRepository reactiveAuditLogRepository;
+
+    @TempDir
+    Path directory;
+
+    private AuditTieringServiceImpl tieringService;
+
+    @BeforeEach
+    void setUp() {
+        tieringService = newService();
+    }
+
+    @Test
+    void tierColdLogs_ShouldArchiveColdLogsAndDeleteThemFromMongo() throws IOException {
+        // Given
+        when(auditLogRepository.streamDecoded(any(), anyInt())).thenReturn(Stream.of(log("c1", 1), log("c2", 2)));
+
+        // When
+        long moved = tieringService.tierColdLogs();
+
+        // Then
+        assertEquals(2, moved);
+        assertEquals(2, tieringService.getArchivedCount());
+        verify(auditLogRepository).removeAllById(List.of("c1", "c2"));
+        try (Stream<Path> files = Files.list(directory)) {
+            assertTrue(files.allMatch(file -> file.toString().endsWith(".seg")));
+        }
+    }
+
+    @Test
+    void tierColdLogs_WithPendingSegmentFromInterruptedRun_ShouldCompleteIt() throws IOException {
+        // Given
+        try (AuditSegmentWriter writer = new AuditSegmentWriter(directory.resolve("audit-1.pending"))) {
+            writer.append(log("p1", 1));
+            writer.finish();
+        }
+        Files.writeString(directory.resolve("audit-2.pending.tmp"), "half written");
+        tieringService = newService();
+        when(auditLogRepository.streamDecoded(any(), anyInt())).thenReturn(Stream.empty());
+
+        // When
+        tieringService.tierColdLogs();
+
+        // Then
+        verify(auditLogRepository).removeAllById(List.of("p1"));
+        assertTrue(Files.exists(directory.resolve("audit-1.seg")));
+        assertFalse(Files.exists(directory.resolve("audit-2.pending.tmp")));
+        assertEquals(1, tieringService.getArchivedCount());
+    }
+
+    @Test
+    void findByCreatedAtBetween_ShouldMergeSegmentsAndMongoOnce() {
+        // Given
+        when(auditLogRepository.streamDecoded(any(), anyInt())).thenReturn(Stream.of(log("c1", 1), log("c2", 2)));
+        tieringService.tierColdLogs();
+        // c2 was read from MongoDB before its deletion reached it
+        when(auditLogRepository.findByCreatedAtBetween(BASE, BASE.plusDays(1)))
+                .thenReturn(List.of(log("h1", 3), log("c2", 2)));
+
+        // When
+        List<ApiAuditLog> logs = tieringService.findByCreatedAtBetween(BASE, BASE.plusDays(1));
+
+        // Then
+        assertEquals(List.of("c1", "c2", "h1"), logs.stream().map(ApiAuditLog::getId).toList());
+    }
+
+    @Test
+    void streamByCreatedAtBetween_ShouldMergeSegmentsAndMongoInCreationOrder() {
+        // Given
+        when(auditLogRepository.streamDecoded(any(), anyInt()))
+                .thenReturn(Stream.of(log("c1", 1), log("c3", 3)));
+        tieringService.tierColdLogs();
+        when(reactiveAuditLogRepository.findByCreatedAtBetweenOrderByCreatedAtAsc(BASE, BASE.plusDays(1)))
+                .thenReturn(Flux.just(log("h2", 2), log("h4", 4)));
+
+        // When
+        List<ApiAuditLog> logs = tieringService.streamByCreatedAtBetween(BASE, BASE.plusDays(1)).collectList().block();
+
+        // Then
+        assertEquals(List.of("c1", "h2", "c3", "h4"), logs.stream().map(ApiAuditLog::getId).toList());
+    }
+
+    @Test
+    void tierColdLogs_WhenDisabled_ShouldDoNothing() {
+        // Given
+        tieringService = new AuditTieringServiceImpl(auditLogRepository, reactiveAuditLogRepository,
+                false, directory, 30, 100);
+
+        // When
+        long moved = tieringService.tierColdLogs();
+
+        // Then
+        assertEquals(0, moved);
+        verify(auditLogRepository, never()).streamDecoded(any(), anyInt());
+    }
+
+    private AuditTieringServiceImpl newService() {
+        AuditTieringServiceImpl service = new AuditTieringServiceImpl(auditLogRepository, reactiveAuditLogRepository,
+                true, directory, 30, 100);
+        service.loadSegments();
+        return service;
+    }
+
+    private static ApiAuditLog log(String id, int second) {
+        return ApiAuditLog.builder()
+                .id(id)
+                .action("get_user_by_id")
+                .status("SUCCESS")
+                .createdAt(BASE.plusSeconds(second))
+                .build();
+    }
+}
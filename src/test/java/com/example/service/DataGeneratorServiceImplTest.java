@@ -0,0 +1,80 @@
+package com.example.service;
+
+import com.example.model.dto.DataGenerationPlan;
+import com.example.model.dto.DataGenerationResult;
+import com.example.model.dto.UserDto;
+import com.example.support.AbstractQueryBudgetTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the generator against H2, which exercises the batch insert fallback of the COPY path.
+ */
+class DataGeneratorServiceImplTest extends AbstractQueryBudgetTest {
+
+    @Autowired
+    private DataGeneratorService dataGeneratorService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void generate_ShouldWriteUsersWithMatchingHistory() {
+        // Given
+        givenUser("existing.user@example.com");
+        long revisionsBefore = count("SELECT COUNT(*) FROM users_aud");
+
+        // When
+        DataGenerationResult result = dataGeneratorService.generate(DataGenerationPlan.builder()
+                .users(250)
+                .updatesPerUserMean(1.0)
+                .spreadDays(30)
+                .batchSize(100)
+                .threads(3)
+                .seed(7)
+                .build());
+
+        // Then
+        assertFalse(result.isCopyProtocol());
+        assertEquals(250, result.getUsers());
+        assertTrue(result.getRevisions() > 250);
+        assertEquals(251, userRepository.count());
+        assertEquals(result.getRevisions(), count("SELECT COUNT(*) FROM users_aud") - revisionsBefore);
+        assertEquals(0, count("SELECT COUNT(*) FROM users u WHERE u.created_by = 'datagen' AND u.version <> "
+                + "(SELECT COUNT(*) FROM users_aud a WHERE a.id = u.id AND a.revtype = 1)"));
+    }
+
+    @Test
+    void generate_ShouldLeaveIdsFreeForNewUsers() {
+        // Given
+        dataGeneratorService.generate(DataGenerationPlan.builder()
+                .users(120)
+                .updatesPerUserMean(0.5)
+                .spreadDays(1)
+                .batchSize(50)
+                .threads(2)
+                .seed(11)
+                .build());
+
+        // When
+        UserDto created = userService.save(UserDto.builder()
+                .firstName("New")
+                .lastName("User")
+                .email("new.user@example.com")
+                .password("password123")
+                .build());
+
+        // Then
+        assertEquals(count("SELECT MAX(id) FROM users"), created.getId());
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
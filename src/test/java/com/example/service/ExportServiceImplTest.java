@@ -0,0 +1,121 @@
+package com.example.service;
+
+import com.example.model.dto.AuditLogFilter;
+import com.example.model.entity.ApiAuditLog;
+import com.example.repository.nosql.ApiAuditLogRepository;
+import com.example.service.impl.ExportServiceImpl;
+import com.example.support.AbstractQueryBudgetTest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.query.Query;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the user export against H2 with a small segment size, so that it crosses segment boundaries.
+ */
+class ExportServiceImplTest extends AbstractQueryBudgetTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private ApiAuditLogRepository auditLogRepository;
+
+    private ExportServiceImpl exportService;
+
+    @BeforeEach
+    void setUp() {
+        auditLogRepository = mock(ApiAuditLogRepository.class);
+        exportService = new ExportServiceImpl(dataSource, auditLogRepository, objectMapper, 2, 2);
+    }
+
+    @Test
+    void exportUsers_AcrossSegments_ShouldWriteEveryUserOnceWithoutPassword() throws IOException {
+        // Given
+        Long first = givenUser("first.user@example.com").getId();
+        givenUser("second.user@example.com");
+        givenUser("third.user@example.com");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long rows = exportService.exportUsers(out, false);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, rows);
+        assertEquals(3, lines.length);
+        JsonNode user = objectMapper.readTree(lines[0]);
+        assertEquals(first, user.get("id").asLong());
+        assertEquals("first.user@example.com", user.get("email").asText());
+        assertEquals(0, user.get("version").asLong());
+        assertTrue(user.get("createdAt").isTextual());
+        assertFalse(user.has("password"));
+        assertEquals("third.user@example.com", objectMapper.readTree(lines[2]).get("email").asText());
+    }
+
+    @Test
+    void exportUsers_WithGzip_ShouldWriteCompressedLines() throws IOException {
+        // Given
+        givenUser("john.doe@example.com");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        exportService.exportUsers(out, true);
+
+        // Then
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertTrue(body.endsWith("\n"));
+            assertEquals("john.doe@example.com", objectMapper.readTree(body).get("email").asText());
+        }
+    }
+
+    @Test
+    void exportAuditLogs_WithFilter_ShouldStreamMatchingCriteria() throws IOException {
+        // Given
+        ApiAuditLog auditLog = ApiAuditLog.builder().id("a1").action("get_user_by_id").status("FAILED").build();
+        when(auditLogRepository.streamDecoded(any(Query.class), eq(2))).thenReturn(Stream.of(auditLog, auditLog));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long rows = exportService.exportAuditLogs(AuditLogFilter.builder()
+                .action("get_user_by_id")
+                .status("FAILED")
+                .start(LocalDateTime.of(2025, 1, 1, 0, 0))
+                .build(), out, false);
+
+        // Then
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(auditLogRepository).streamDecoded(query.capture(), eq(2));
+        String criteria = query.getValue().getQueryObject().toString();
+        assertTrue(criteria.contains("action=get_user_by_id"));
+        assertTrue(criteria.contains("status=FAILED"));
+        assertTrue(criteria.contains("$gt"));
+        assertFalse(criteria.contains("$lt"));
+        assertEquals(2, rows);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("a1", objectMapper.readTree(lines[1]).get("id").asText());
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.service;
+
+import com.example.model.dto.HealthReport;
+import com.example.service.impl.HealthServiceImpl;
+import com.mongodb.client.MongoDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.LivenessState;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HealthServiceImplTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private DatabaseMetaData metaData;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private AuditService auditService;
+
+    @Mock
+    private ApplicationAvailability applicationAvailability;
+
+    private HealthServiceImpl healthService;
+
+    @BeforeEach
+    void setUp() {
+        healthService = new HealthServiceImpl(dataSource, mongoTemplate, auditService, applicationAvailability,
+                60_000, 200, 200, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        healthService.shutdown();
+    }
+
+    @Test
+    void liveness_ShouldNotProbeDependencies() {
+        // Given
+        when(applicationAvailability.getLivenessState()).thenReturn(LivenessState.CORRECT);
+
+        // When
+        HealthReport report = healthService.liveness();
+
+        // Then
+        assertTrue(report.isUp());
+        verifyNoInteractions(dataSource, mongoTemplate, auditService);
+    }
+
+    @Test
+    void readiness_BeforeWarmUp_ShouldBeDown() {
+        // When
+        HealthReport report = healthService.readiness();
+
+        // Then
+        assertFalse(report.isUp());
+        assertTrue(report.getChecks().containsKey("warmUp"));
+        verifyNoInteractions(dataSource, mongoTemplate);
+    }
+
+    @Test
+    void readiness_AfterWarmUp_ShouldServeCachedProbeResults() throws SQLException {
+        // Given
+        givenHealthyDatasource();
+        when(mongoTemplate.getDb()).thenReturn(mock(MongoDatabase.class));
+        when(applicationAvailability.getReadinessState()).thenReturn(ReadinessState.ACCEPTING_TRAFFIC);
+        healthService.warmUp();
+
+        // When
+        HealthReport first = healthService.readiness();
+        HealthReport second = healthService.readiness();
+
+        // Then
+        assertTrue(first.isUp());
+        assertSame(first, second);
+        assertEquals("UP", first.getChecks().get("datasource").getStatus());
+        assertEquals("UP", first.getChecks().get("mongo").getStatus());
+        assertEquals("UP", first.getChecks().get("auditPipeline").getStatus());
+        verify(dataSource, times(1)).getConnection();
+        verify(mongoTemplate, times(1)).executeCommand(anyString());
+    }
+
+    @Test
+    void warmUp_WithHangingMongo_ShouldReportTimeoutWithoutWaitingForIt() throws SQLException {
+        // Given
+        givenHealthyDatasource();
+        when(mongoTemplate.executeCommand(anyString())).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return null;
+        });
+        when(applicationAvailability.getReadinessState()).thenReturn(ReadinessState.ACCEPTING_TRAFFIC);
+
+        // When
+        long start = System.nanoTime();
+        healthService.warmUp();
+        HealthReport report = healthService.readiness();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // Then
+        assertFalse(report.isUp());
+        assertEquals("UP", report.getChecks().get("datasource").getStatus());
+        assertEquals("DOWN", report.getChecks().get("mongo").getStatus());
+        assertTrue(elapsedMs < 2_000, "probe round took " + elapsedMs + " ms");
+    }
+
+    @Test
+    void readiness_WithAuditBacklogAboveThreshold_ShouldBeDown() throws SQLException {
+        // Given
+        givenHealthyDatasource();
+        when(mongoTemplate.getDb()).thenReturn(mock(MongoDatabase.class));
+        when(auditService.getPendingWriteCount()).thenReturn(11);
+        when(applicationAvailability.getReadinessState()).thenReturn(ReadinessState.ACCEPTING_TRAFFIC);
+        healthService.warmUp();
+
+        // When
+        HealthReport report = healthService.readiness();
+
+        // Then
+        assertFalse(report.isUp());
+        assertEquals("DOWN", report.getChecks().get("auditPipeline").getStatus());
+    }
+
+    private void givenHealthyDatasource() throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.isValid(anyInt())).thenReturn(true);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getDatabaseProductName()).thenReturn("PostgreSQL");
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.service;
+
+import com.example.exception.IdempotencyKeyInProgressException;
+import com.example.exception.IdempotencyKeyReuseException;
+import com.example.model.dto.IdempotentResponse;
+import com.example.model.entity.IdempotencyRecord;
+import com.example.repository.IdempotencyRecordRepository;
+import com.example.service.impl.IdempotencyServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceImplTest {
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Mock
+    private CoalescingService coalescingService;
+
+    private IdempotencyServiceImpl idempotencyService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        idempotencyService = newService(100);
+        lenient().when(coalescingService.coalesce(anyString(), any(), any()))
+                .thenAnswer(invocation -> ((Supplier<Object>) invocation.getArgument(2)).get());
+    }
+
+    @Test
+    void execute_WithNewKey_ShouldClaimKeyThenRunActionAndStoreResponse() {
+        // Given
+        when(idempotencyRecordRepository.findById("key")).thenReturn(Optional.empty());
+
+        // When
+        IdempotentResponse response = idempotencyService.execute("key", "request", () -> created("{\"id\":1}"));
+
+        // Then
+        assertEquals(201, response.getStatus());
+        ArgumentCaptor<IdempotencyRecord> claim = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(idempotencyRecordRepository).save(claim.capture());
+        assertEquals("request", claim.getValue().getRequestHash());
+        assertEquals(IdempotencyRecord.IN_PROGRESS, claim.getValue().getStatus());
+        assertTrue(claim.getValue().isNew());
+        verify(idempotencyRecordRepository).complete(eq("key"), eq(claim.getValue().getCreatedAt()), eq(201),
+                eq("{\"id\":1}"), any());
+    }
+
+    @Test
+    void execute_WithKeyClaimedByAnotherInstance_ShouldWaitForItsResponse() {
+        // Given
+        when(idempotencyRecordRepository.save(any())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(idempotencyRecordRepository.findById("key"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(record(IdempotencyRecord.IN_PROGRESS, null)))
+                .thenReturn(Optional.of(record(201, "{\"id\":7}")));
+
+        // When
+        IdempotentResponse response = idempotencyService.execute("key", "request", () -> fail("should not run"));
+
+        // Then
+        assertEquals("{\"id\":7}", new String(response.getBody(), StandardCharsets.UTF_8));
+        verify(idempotencyRecordRepository, never()).complete(any(), any(), anyInt(), any(), any());
+    }
+
+    @Test
+    void execute_WithKeyStillRunningOnAnotherInstance_ShouldThrowConflict() {
+        // Given
+        idempotencyService = new IdempotencyServiceImpl(idempotencyRecordRepository, coalescingService,
+                24, 600_000, 100, 60_000, 0, 0);
+        when(idempotencyRecordRepository.save(any())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(idempotencyRecordRepository.findById("key"))
+                .thenReturn(Optional.of(record(IdempotencyRecord.IN_PROGRESS, null)));
+
+        // When & Then
+        assertThrows(IdempotencyKeyInProgressException.class,
+                () -> idempotencyService.execute("key", "request", () -> fail("should not run")));
+    }
+
+    @Test
+    void execute_WithRetriedKey_ShouldReplayFromMemoryWithoutRunningAction() {
+        // Given
+        when(idempotencyRecordRepository.findById("key")).thenReturn(Optional.empty());
+        AtomicInteger runs = new AtomicInteger();
+        idempotencyService.execute("key", "request", () -> {
+            runs.incrementAndGet();
+            return created("{\"id\":1}");
+        });
+
+        // When
+        IdempotentResponse replayed = idempotencyService.execute("key", "request", () -> {
+            runs.incrementAndGet();
+            return created("{\"id\":2}");
+        });
+
+        // Then
+        assertEquals(1, runs.get());
+        assertEquals("{\"id\":1}", new String(replayed.getBody(), StandardCharsets.UTF_8));
+        verify(idempotencyRecordRepository, times(1)).findById("key");
+    }
+
+    @Test
+    void execute_WithKeyStoredByAnotherInstance_ShouldReplayFromDatabase() {
+        // Given
+        when(idempotencyRecordRepository.findById("key")).thenReturn(Optional.of(record(201, "{\"id\":7}")));
+
+        // When
+        IdempotentResponse response = idempotencyService.execute("key", "request", () -> fail("should not run"));
+
+        // Then
+        assertEquals(201, response.getStatus());
+        assertEquals("{\"id\":7}", new String(response.getBody(), StandardCharsets.UTF_8));
+        verify(idempotencyRecordRepository, never()).save(any());
+    }
+
+    @Test
+    void execute_WithKeyReusedForDifferentPayload_ShouldThrowException() {
+        // Given
+        when(idempotencyRecordRepository.findById("key")).thenReturn(Optional.empty());
+        idempotencyService.execute("key", "request", () -> created("{\"id\":1}"));
+
+        // When & Then
+        assertThrows(IdempotencyKeyReuseException.class,
+                () -> idempotencyService.execute("key", "other-request", () -> created("{\"id\":2}")));
+    }
+
+    @Test
+    void execute_WithFullCache_ShouldEvictLeastRecentlyUsedKey() {
+        // Given
+        idempotencyService = newService(2);
+        when(idempotencyRecordRepository.findById(anyString())).thenReturn(Optional.empty());
+        idempotencyService.execute("hot", "request", () -> created("{\"id\":1}"));
+        idempotencyService.execute("cold", "request", () -> created("{\"id\":2}"));
+        idempotencyService.execute("hot", "request", () -> fail("should be cached"));
+
+        // When
+        idempotencyService.execute("new", "request", () -> created("{\"id\":3}"));
+        idempotencyService.execute("hot", "request", () -> fail("should be cached"));
+
+        // Then
+        verify(idempotencyRecordRepository, times(1)).findById("hot");
+        idempotencyService.execute("cold", "request", () -> created("{\"id\":2}"));
+        verify(idempotencyRecordRepository, times(2)).findById("cold");
+    }
+
+    @Test
+    void execute_WithFailedAction_ShouldReleaseClaimWithoutStoringResponse() {
+        // Given
+        when(idempotencyRecordRepository.findById("key")).thenReturn(Optional.empty());
+
+        // When
+        assertThrows(IllegalStateException.class, () -> idempotencyService.execute("key", "request", () -> {
+            throw new IllegalStateException("insert failed");
+        }));
+
+        // Then
+        verify(idempotencyRecordRepository).release(eq("key"), any());
+        verify(idempotencyRecordRepository, never()).complete(any(), any(), anyInt(), any(), any());
+        verify(coalescingService).coalesce(eq(CoalescingService.IDEMPOTENCY), eq("key"), any());
+    }
+
+    private IdempotencyServiceImpl newService(int cacheMaxEntries) {
+        return new IdempotencyServiceImpl(idempotencyRecordRepository, coalescingService,
+                24, 600_000, cacheMaxEntries, 60_000, 5_000, 1);
+    }
+
+    private static IdempotencyRecord record(int status, String body) {
+        return IdempotencyRecord.builder()
+                .keyHash("key")
+                .requestHash("request")
+                .status(status)
+                .responseBody(body)
+                .expiresAt(LocalDateTime.now().plusHours(1))
+                .build();
+    }
+
+    private static IdempotentResponse created(String body) {
+        return IdempotentResponse.builder()
+                .requestHash("request")
+                .status(201)
+                .body(body.getBytes(StandardCharsets.UTF_8))
+                .build();
+    }
+}
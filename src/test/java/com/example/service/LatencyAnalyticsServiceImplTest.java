@@ -0,0 +1,103 @@
+package com.example.service;
+
+import com.example.model.dto.LatencyStats;
+import com.example.model.entity.ApiLatencyHistogram;
+import com.example.service.impl.LatencyAnalyticsServiceImpl;
+import com.example.utilities.LatencyHistogram;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LatencyAnalyticsServiceImplTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @InjectMocks
+    private LatencyAnalyticsServiceImpl latencyAnalyticsService;
+
+    @Test
+    void getLatencyStats_ShouldMergeStoredAndUnflushedMinutes() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        ApiLatencyHistogram stored = ApiLatencyHistogram.builder()
+                .action("get_user_by_id")
+                .bucketStart(now.minusMinutes(5).truncatedTo(ChronoUnit.MINUTES))
+                .count(1)
+                .sumMicros(400_000)
+                .maxMicros(400_000)
+                .counts(Map.of(String.valueOf(bucketOf(400_000)), 1L))
+                .build();
+        when(mongoTemplate.find(any(Query.class), eq(ApiLatencyHistogram.class))).thenReturn(List.of(stored));
+        for (int i = 0; i < 99; i++) {
+            latencyAnalyticsService.record("get_user_by_id", TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        latencyAnalyticsService.record("create_user", TimeUnit.MILLISECONDS.toNanos(20));
+
+        // When
+        List<LatencyStats> stats = latencyAnalyticsService.getLatencyStats(now.minusHours(1), now.plusMinutes(1));
+
+        // Then
+        assertEquals(2, stats.size());
+        assertEquals("create_user", stats.get(0).getAction());
+        LatencyStats getUser = stats.get(1);
+        assertEquals(100, getUser.getCount());
+        assertEquals(10, getUser.getP50Ms(), 0.2);
+        assertEquals(400, getUser.getMaxMs(), 0.001);
+        assertEquals(10, getUser.getP99Ms(), 0.2);
+    }
+
+    @Test
+    void flush_ShouldIncrementStoredHistogramsAndDropThemFromMemory() {
+        // Given
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ApiLatencyHistogram.class))
+                .thenReturn(bulkOperations);
+        latencyAnalyticsService.record("get_all_users", TimeUnit.MILLISECONDS.toNanos(3));
+
+        // When
+        latencyAnalyticsService.shutdown();
+
+        // Then
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(bulkOperations).upsert(any(Query.class), update.capture());
+        verify(bulkOperations).execute();
+        Document increments = (Document) update.getValue().getUpdateObject().get("$inc");
+        assertEquals(1L, increments.get("count"));
+        assertEquals(3_000L, increments.get("sumMicros"));
+
+        when(mongoTemplate.find(any(Query.class), eq(ApiLatencyHistogram.class))).thenReturn(List.of());
+        LocalDateTime now = LocalDateTime.now();
+        assertTrue(latencyAnalyticsService.getLatencyStats(now.minusHours(1), now.plusMinutes(1)).isEmpty());
+    }
+
+    private static int bucketOf(long micros) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(micros);
+        int[] bucket = new int[1];
+        histogram.forEachBucket((index, count) -> bucket[0] = index);
+        return bucket[0];
+    }
+}
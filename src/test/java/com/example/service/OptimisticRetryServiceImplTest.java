@@ -0,0 +1,79 @@
+package com.example.service;
+
+import com.example.service.impl.OptimisticRetryServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptimisticRetryServiceImplTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void execute_WithTransientConflict_ShouldRetryAndCount() {
+        // Given
+        OptimisticRetryService retryService = new OptimisticRetryServiceImpl(meterRegistry, true, 3, 1, 5);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        String result = retryService.execute("user_update", attempt -> {
+            attempts.incrementAndGet();
+            if (attempt < 3) {
+                throw conflict();
+            }
+            return "updated";
+        });
+
+        // Then
+        assertEquals("updated", result);
+        assertEquals(3, attempts.get());
+        assertEquals(2, count("retried"));
+        assertEquals(1, count("succeeded_after_retry"));
+    }
+
+    @Test
+    void execute_WithPersistentConflict_ShouldGiveUpAfterMaxAttempts() {
+        // Given
+        OptimisticRetryService retryService = new OptimisticRetryServiceImpl(meterRegistry, true, 3, 1, 5);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When & Then
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> retryService.execute("user_update", attempt -> {
+            attempts.incrementAndGet();
+            throw conflict();
+        }));
+        assertEquals(3, attempts.get());
+        assertEquals(1, count("exhausted"));
+    }
+
+    @Test
+    void execute_WhenDisabled_ShouldRunOnce() {
+        // Given
+        OptimisticRetryService retryService = new OptimisticRetryServiceImpl(meterRegistry, false, 3, 1, 5);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When & Then
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> retryService.execute("user_update", attempt -> {
+            attempts.incrementAndGet();
+            throw conflict();
+        }));
+        assertEquals(1, attempts.get());
+        assertNull(meterRegistry.find("app.optimistic_retry.calls").counter());
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("app.optimistic_retry.calls")
+                .tag("operation", "user_update")
+                .tag("outcome", outcome)
+                .counter().count();
+    }
+
+    private static ObjectOptimisticLockingFailureException conflict() {
+        return new ObjectOptimisticLockingFailureException("User", 1L);
+    }
+}
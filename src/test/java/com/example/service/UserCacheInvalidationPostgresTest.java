@@ -0,0 +1,101 @@
+package com.example.service;
+
+import com.example.model.dto.UserDto;
+import com.example.service.impl.UserCacheServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures cross-node invalidation latency with two cache instances, each with its own listening
+ * connection, against a local PostgreSQL server. Runs only when one is given:
+ * {@code mvn test -Dtest=UserCacheInvalidationPostgresTest -Dtest.postgres.url=jdbc:postgresql://localhost:5432/restapi}
+ * (credentials from {@code test.postgres.username} and {@code test.postgres.password}, default postgres).
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "test.postgres.url", matches = "jdbc:postgresql:.+")
+class UserCacheInvalidationPostgresTest {
+
+    private static final int ROUNDS = 200;
+    private static final long MAX_P99_MILLIS = 100;
+
+    private final UserCacheServiceImpl nodeA = node();
+    private final UserCacheServiceImpl nodeB = node();
+
+    @AfterEach
+    void tearDown() {
+        nodeA.shutdown();
+        nodeB.shutdown();
+    }
+
+    @Test
+    void invalidate_OnOneNode_ShouldEvictOnTheOther() throws InterruptedException {
+        // Given
+        nodeA.startListening();
+        nodeB.startListening();
+        awaitListening(nodeA);
+        awaitListening(nodeB);
+        long[] delays = new long[ROUNDS];
+
+        // When
+        for (int i = 0; i < ROUNDS; i++) {
+            long id = 1000L + i;
+            nodeA.get(id, () -> user(id));
+            assertEquals(1, nodeA.size());
+            long start = System.nanoTime();
+            nodeB.invalidate(id);
+            while (nodeA.size() > 0) {
+                assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5), "Not evicted within 5 s");
+                Thread.onSpinWait();
+            }
+            delays[i] = System.nanoTime() - start;
+        }
+
+        // Then
+        Arrays.sort(delays);
+        long p99 = delays[ROUNDS * 99 / 100];
+        log.info("Invalidation latency over {} rounds: p50 {} µs, p99 {} µs, max {} µs", ROUNDS,
+                TimeUnit.NANOSECONDS.toMicros(delays[ROUNDS / 2]), TimeUnit.NANOSECONDS.toMicros(p99),
+                TimeUnit.NANOSECONDS.toMicros(delays[ROUNDS - 1]));
+        assertTrue(p99 < TimeUnit.MILLISECONDS.toNanos(MAX_P99_MILLIS),
+                "p99 invalidation latency " + TimeUnit.NANOSECONDS.toMillis(p99) + " ms exceeds " + MAX_P99_MILLIS + " ms");
+    }
+
+    private static void awaitListening(UserCacheServiceImpl node) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            node.get(0L, () -> user(0L));
+            if (node.size() > 0) {
+                node.invalidate(0L);
+                return;
+            }
+            Thread.sleep(20);
+        }
+        fail("Node did not start listening");
+    }
+
+    private static UserDto user(Long id) {
+        return UserDto.builder().id(id).email("user" + id + "@example.com").build();
+    }
+
+    private static UserCacheServiceImpl node() {
+        DataSourceProperties properties = new DataSourceProperties();
+        properties.setUrl(System.getProperty("test.postgres.url"));
+        properties.setUsername(System.getProperty("test.postgres.username", "postgres"));
+        properties.setPassword(System.getProperty("test.postgres.password", "postgres"));
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(properties.getUrl(),
+                properties.getUsername(), properties.getPassword()));
+        return new UserCacheServiceImpl(jdbcTemplate, properties, new SimpleMeterRegistry(),
+                true, 10_000, 60_000, 500, 1000, 1000);
+    }
+}
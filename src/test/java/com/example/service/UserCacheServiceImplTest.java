@@ -0,0 +1,109 @@
+package com.example.service;
+
+import com.example.model.dto.UserDto;
+import com.example.service.impl.UserCacheServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserCacheServiceImplTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void get_AfterLocalInvalidation_ShouldLoadAgain() {
+        // Given
+        UserCacheServiceImpl cache = userCache("jdbc:h2:mem:testdb");
+        cache.get(1L, loader(1L));
+
+        // When
+        UserDto cached = cache.get(1L, loader(1L));
+        cache.invalidate(1L);
+        cache.get(1L, loader(1L));
+
+        // Then
+        assertEquals(1L, cached.getId());
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void get_WhenInvalidatedDuringLoad_ShouldNotCache() {
+        // Given
+        UserCacheServiceImpl cache = userCache("jdbc:h2:mem:testdb");
+
+        // When
+        cache.get(1L, () -> {
+            cache.invalidate(1L);
+            return loader(1L).get();
+        });
+
+        // Then
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void onNotifications_ShouldEvictNotifiedUsersAndBypassCacheWhileDisconnected() {
+        // Given
+        UserCacheServiceImpl cache = userCache("jdbc:postgresql://localhost:5432/restapi");
+        cache.get(1L, loader(1L));
+        assertEquals(0, cache.size());
+        cache.onListening();
+        cache.get(1L, loader(1L));
+        cache.get(2L, loader(2L));
+
+        // When
+        cache.onNotifications(List.of("other-node|" + System.currentTimeMillis() + "|1"));
+
+        // Then
+        assertEquals(1, cache.size());
+        cache.onDisconnected(new IllegalStateException("connection reset"));
+        assertEquals(0, cache.size());
+        cache.get(2L, loader(2L));
+        cache.get(2L, loader(2L));
+        assertEquals(0, cache.size());
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    void getAll_WithSomeCached_ShouldLoadOnlyMissesInOneCall() {
+        // Given
+        UserCacheServiceImpl cache = userCache("jdbc:h2:mem:testdb");
+        cache.get(1L, loader(1L));
+        List<Set<Long>> batches = new ArrayList<>();
+
+        // When
+        Map<Long, UserDto> users = cache.getAll(List.of(1L, 2L, 3L), missing -> {
+            batches.add(missing);
+            return Map.of(2L, loader(2L).get());
+        });
+
+        // Then
+        assertEquals(Set.of(1L, 2L), users.keySet());
+        assertEquals(List.of(Set.of(2L, 3L)), batches);
+        assertEquals(2, cache.size());
+    }
+
+    private Supplier<UserDto> loader(Long id) {
+        return () -> {
+            loads.incrementAndGet();
+            return UserDto.builder().id(id).email("user" + id + "@example.com").build();
+        };
+    }
+
+    private static UserCacheServiceImpl userCache(String url) {
+        DataSourceProperties properties = new DataSourceProperties();
+        properties.setUrl(url);
+        return new UserCacheServiceImpl(null, properties, new SimpleMeterRegistry(),
+                true, 100, 60_000, 500, 1000, 1000);
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.service;
+
+import com.example.exception.InvalidChangeTokenException;
+import com.example.model.dto.UserChange;
+import com.example.model.dto.UserChangesPage;
+import com.example.model.entity.User;
+import com.example.service.impl.UserChangeServiceImpl;
+import com.example.support.AbstractQueryBudgetTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Reads the user change feed from the Envers revisions written to H2, with a page size of two and no settle window.
+ */
+class UserChangeServiceImplTest extends AbstractQueryBudgetTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UserChangeServiceImpl userChangeService;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        userChangeService = new UserChangeServiceImpl(jdbcTemplate, 2, 0, true);
+        userChangeService.createIndex();
+        // Skip the revisions left by other tests
+        token = readAll(null).nextToken;
+    }
+
+    @Test
+    void findChanges_CreateUpdateDelete_ShouldReplayToLatestStatesWithTombstones() {
+        // Given
+        User kept = givenUser("kept.user@example.com");
+        User deleted = givenUser("deleted.user@example.com");
+        kept.setFirstName("Johnny");
+        userRepository.saveAndFlush(kept);
+        userRepository.delete(deleted);
+        userRepository.flush();
+
+        // When
+        Feed feed = readAll(token);
+
+        // Then
+        Map<Long, UserChange> replica = new HashMap<>();
+        for (UserChange change : feed.changes) {
+            if (change.isDeleted()) {
+                replica.remove(change.getId());
+            } else {
+                replica.put(change.getId(), change);
+            }
+        }
+        assertEquals(1, replica.size());
+        assertEquals("Johnny", replica.get(kept.getId()).getFirstName());
+        UserChange tombstone = feed.changes.getLast();
+        assertTrue(tombstone.isDeleted());
+        assertEquals(deleted.getId(), tombstone.getId());
+        assertNull(tombstone.getEmail());
+        assertTrue(feed.pages > 1);
+    }
+
+    @Test
+    void findChanges_WithYoungLowerRevision_ShouldNotPassItUntilItSettles() {
+        // Given a lower revision written just now and a higher one stamped earlier by a node whose clock is behind
+        UserChangeServiceImpl settling = new UserChangeServiceImpl(jdbcTemplate, 10, 60_000, false);
+        long now = System.currentTimeMillis();
+        long low = givenRevision(now, 900_001L, "young.user@example.com");
+        long high = givenRevision(now - 120_000, 900_002L, "skewed.user@example.com");
+
+        try {
+            // When
+            UserChangesPage held = settling.findChanges(token, 10);
+            jdbcTemplate.update("update revinfo set revtstmp = ? where rev = ?", now - 120_000, low);
+            UserChangesPage settled = settling.findChanges(held.getNextToken(), 10);
+
+            // Then
+            assertTrue(held.getChanges().stream().noneMatch(change -> change.getRevision() >= low));
+            assertEquals(List.of(low, high), settled.getChanges().stream().map(UserChange::getRevision).toList());
+        } finally {
+            jdbcTemplate.update("delete from users_aud where rev in (?, ?)", low, high);
+            jdbcTemplate.update("delete from revinfo where rev in (?, ?)", low, high);
+        }
+    }
+
+    @Test
+    void findChanges_AtEnd_ShouldReturnSameTokenWithoutChanges() {
+        // When
+        UserChangesPage page = userChangeService.findChanges(token, 10);
+
+        // Then
+        assertTrue(page.getChanges().isEmpty());
+        assertFalse(page.isHasMore());
+        assertEquals(token, page.getNextToken());
+    }
+
+    @Test
+    void findChanges_InvalidToken_ShouldThrow() {
+        // When / Then
+        assertThrows(InvalidChangeTokenException.class, () -> userChangeService.findChanges("not-a-token", 10));
+    }
+
+    /**
+     * Draw a revision from the Envers sequence and record the creation of a user under it.
+     */
+    private long givenRevision(long timestamp, long userId, String email) {
+        long rev = jdbcTemplate.queryForObject("select next value for revinfo_seq", Long.class);
+        jdbcTemplate.update("insert into revinfo (rev, revtstmp) values (?, ?)", rev, timestamp);
+        jdbcTemplate.update("insert into users_aud (id, rev, revtype, first_name, last_name, email, password)"
+                + " values (?, ?, 0, 'Jane', 'Doe', ?, 'password123')", userId, rev, email);
+        return rev;
+    }
+
+    private Feed readAll(String since) {
+        List<UserChange> changes = new ArrayList<>();
+        int pages = 0;
+        UserChangesPage page;
+        do {
+            page = userChangeService.findChanges(since, 10);
+            changes.addAll(page.getChanges());
+            since = page.getNextToken();
+            pages++;
+        } while (page.isHasMore());
+        return new Feed(changes, since, pages);
+    }
+
+    private record Feed(List<UserChange> changes, String nextToken, int pages) {
+    }
+}
@@ -1,24 +1,32 @@
 package com.example.service;
 
+import com.example.exception.ConflictingUpdateException;
 import com.example.exception.ResourceNotFoundException;
 import com.example.mapper.UserMapper;
 import com.example.model.dto.UserDto;
+import com.example.model.dto.UserSummary;
 import com.example.model.entity.User;
 import com.example.repository.UserRepository;
 import com.example.service.impl.UserServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +38,18 @@ public class UserServiceImplTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private CoalescingService coalescingService;
+
+    @Mock
+    private UserCacheService userCacheService;
+
+    @Mock
+    private OptimisticRetryService optimisticRetryService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -40,6 +60,15 @@ public class UserServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(coalescingService.coalesce(anyString(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(2).get());
+        lenient().when(userCacheService.get(any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+        lenient().when(optimisticRetryService.execute(anyString(), any()))
+                .thenAnswer(invocation -> invocation.<IntFunction<?>>getArgument(1).apply(1));
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
         user1 = User.builder()
                 .id(1L)
                 .firstName("John")
@@ -74,10 +103,11 @@ public class UserServiceImplTest {
     @Test
     void findAll_ShouldReturnAllUsers() {
         // Given
-        List<User> users = Arrays.asList(user1, user2);
-        when(userRepository.findAll()).thenReturn(users);
-        when(userMapper.toDto(user1)).thenReturn(userDto1);
-        when(userMapper.toDto(user2)).thenReturn(userDto2);
+        UserSummary summary1 = new UserSummary(1L, "John", "Doe", "john.doe@example.com");
+        UserSummary summary2 = new UserSummary(2L, "Jane", "Smith", "jane.smith@example.com");
+        when(userRepository.findAllSummaries()).thenReturn(List.of(summary1, summary2));
+        when(userMapper.toDto(summary1)).thenReturn(userDto1);
+        when(userMapper.toDto(summary2)).thenReturn(userDto2);
 
         // When
         List<UserDto> result = userService.findAll();
@@ -86,15 +116,17 @@ public class UserServiceImplTest {
         assertEquals(2, result.size());
         assertEquals("John", result.get(0).getFirstName());
         assertEquals("Jane", result.get(1).getFirstName());
-        verify(userRepository).findAll();
-        verify(userMapper, times(2)).toDto(any(User.class));
+        verify(userRepository).findAllSummaries();
+        verify(userRepository, never()).findAll();
+        verify(userMapper, times(2)).toDto(any(UserSummary.class));
     }
 
     @Test
     void findById_WithExistingId_ShouldReturnUser() {
         // Given
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user1));
-        when(userMapper.toDto(user1)).thenReturn(userDto1);
+        UserSummary summary = new UserSummary(1L, "John", "Doe", "john.doe@example.com");
+        when(userRepository.findSummaryById(1L)).thenReturn(Optional.of(summary));
+        when(userMapper.toDto(summary)).thenReturn(userDto1);
 
         // When
         UserDto result = userService.findById(1L);
@@ -103,18 +135,18 @@ public class UserServiceImplTest {
         assertNotNull(result);
         assertEquals(1L, result.getId());
         assertEquals("John", result.getFirstName());
-        verify(userRepository).findById(1L);
-        verify(userMapper).toDto(user1);
+        verify(userRepository).findSummaryById(1L);
+        verify(userRepository, never()).findById(any());
     }
 
     @Test
     void findById_WithNonExistingId_ShouldThrowException() {
         // Given
-        when(userRepository.findById(99L)).thenReturn(Optional.empty());
+        when(userRepository.findSummaryById(99L)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(ResourceNotFoundException.class, () -> userService.findById(99L));
-        verify(userRepository).findById(99L);
+        verify(userRepository).findSummaryById(99L);
         verify(userMapper, never()).toDto(any(User.class));
     }
 
@@ -176,14 +208,6 @@ public class UserServiceImplTest {
                 .password("newpassword")
                 .build();
 
-        User updatedUser = User.builder()
-                .id(1L)
-                .firstName("Updated")
-                .lastName("User")
-                .email("updated.user@example.com")
-                .password("newpassword")
-                .build();
-
         UserDto updatedUserDto = UserDto.builder()
                 .id(1L)
                 .firstName("Updated")
@@ -192,9 +216,7 @@ public class UserServiceImplTest {
                 .build();
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(user1));
-        when(userMapper.toEntity(updateUserDto)).thenReturn(updatedUser);
-        when(userRepository.save(updatedUser)).thenReturn(updatedUser);
-        when(userMapper.toDto(updatedUser)).thenReturn(updatedUserDto);
+        when(userMapper.toDto(user1)).thenReturn(updatedUserDto);
 
         // When
         UserDto result = userService.update(1L, updateUserDto);
@@ -204,9 +226,53 @@ public class UserServiceImplTest {
         assertEquals(1L, result.getId());
         assertEquals("Updated", result.getFirstName());
         verify(userRepository).findById(1L);
-        verify(userMapper).toEntity(updateUserDto);
-        verify(userRepository).save(updatedUser);
-        verify(userMapper).toDto(updatedUser);
+        verify(userMapper).updateEntityFromDto(updateUserDto, user1);
+        verify(userRepository, never()).save(any(User.class));
+        verify(userMapper, times(2)).toDto(user1);
+        verify(userCacheService).invalidate(1L);
+    }
+
+    @Test
+    void update_AfterConflictOnOtherFields_ShouldApplyOwnChangesToLatestUser() {
+        // Given
+        UserDto requested = UserDto.builder()
+                .firstName("Johnny").lastName("Doe").email("john.doe@example.com").password("password123")
+                .build();
+        User latest = User.builder()
+                .id(1L).firstName("John").lastName("Doe").email("john.d@example.com").password("password123")
+                .build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user1), Optional.of(latest));
+        when(userMapper.toDto(user1)).thenReturn(dto(user1));
+        when(userMapper.toDto(latest)).thenReturn(dto(latest));
+        retryOnceAfterConflict();
+
+        // When
+        userService.update(1L, requested);
+
+        // Then
+        ArgumentCaptor<UserDto> applied = ArgumentCaptor.forClass(UserDto.class);
+        verify(userMapper).updateEntityFromDto(applied.capture(), eq(latest));
+        assertEquals("Johnny", applied.getValue().getFirstName());
+        assertEquals("john.d@example.com", applied.getValue().getEmail());
+    }
+
+    @Test
+    void update_AfterConflictOnSameField_ShouldThrowException() {
+        // Given
+        UserDto requested = UserDto.builder()
+                .firstName("Johnny").lastName("Doe").email("john.doe@example.com").password("password123")
+                .build();
+        User latest = User.builder()
+                .id(1L).firstName("Jonathan").lastName("Doe").email("john.doe@example.com").password("password123")
+                .build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user1), Optional.of(latest));
+        when(userMapper.toDto(user1)).thenReturn(dto(user1));
+        when(userMapper.toDto(latest)).thenReturn(dto(latest));
+        retryOnceAfterConflict();
+
+        // When & Then
+        assertThrows(ConflictingUpdateException.class, () -> userService.update(1L, requested));
+        verify(userMapper, never()).updateEntityFromDto(any(UserDto.class), eq(latest));
     }
 
     @Test
@@ -224,8 +290,9 @@ public class UserServiceImplTest {
         // When & Then
         assertThrows(ResourceNotFoundException.class, () -> userService.update(99L, updateUserDto));
         verify(userRepository).findById(99L);
-        verify(userMapper, never()).toEntity(any(UserDto.class));
+        verify(userMapper, never()).updateEntityFromDto(any(UserDto.class), any(User.class));
         verify(userRepository, never()).save(any(User.class));
+        verify(userCacheService, never()).invalidate(any());
     }
 
     @Test
@@ -238,7 +305,8 @@ public class UserServiceImplTest {
 
         // Then
         verify(userRepository).findById(1L);
-        verify(userRepository).deleteById(1L);
+        verify(userRepository).delete(user1);
+        verify(userCacheService).invalidate(1L);
     }
 
     @Test
@@ -249,6 +317,27 @@ public class UserServiceImplTest {
         // When & Then
         assertThrows(ResourceNotFoundException.class, () -> userService.delete(99L));
         verify(userRepository).findById(99L);
-        verify(userRepository, never()).deleteById(anyLong());
+        verify(userRepository, never()).delete(any(User.class));
+    }
+
+    /**
+     * Run the update attempt twice, as the retry service does after a version conflict on the first attempt.
+     */
+    private void retryOnceAfterConflict() {
+        doAnswer(invocation -> {
+            IntFunction<?> attempt = invocation.getArgument(1);
+            attempt.apply(1);
+            return attempt.apply(2);
+        }).when(optimisticRetryService).execute(anyString(), any());
+    }
+
+    private static UserDto dto(User user) {
+        return UserDto.builder()
+                .id(user.getId())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .email(user.getEmail())
+                .password(user.getPassword())
+                .build();
     }
 }
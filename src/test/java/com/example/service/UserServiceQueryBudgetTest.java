@@ -0,0 +1,153 @@
+package com.example.service;
+
+import com.example.exception.ResourceNotFoundException;
+import com.example.model.dto.UserDto;
+import com.example.model.entity.User;
+import com.example.support.AbstractQueryBudgetTest;
+import com.example.support.SqlStatementCounter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Statement budgets for every {@link UserService} method.
+ * Writes include the Envers revision and audit row inserts.
+ */
+class UserServiceQueryBudgetTest extends AbstractQueryBudgetTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void findAll_ShouldUseSingleSelect() {
+        // Given
+        givenUser("john.doe@example.com");
+        givenUser("jane.smith@example.com");
+
+        // When
+        assertEquals(2, userService.findAll().size());
+
+        // Then
+        SqlStatementCounter.assertStatements(1, 0, 0, 0);
+    }
+
+    @Test
+    void findById_ShouldUseSingleSelect() {
+        // Given
+        User user = givenUser("john.doe@example.com");
+
+        // When
+        userService.findById(user.getId());
+
+        // Then
+        SqlStatementCounter.assertStatements(1, 0, 0, 0);
+    }
+
+    @Test
+    void findById_ShouldNotSelectPasswordOrAuditColumns() {
+        // Given
+        User user = givenUser("john.doe@example.com");
+
+        // When
+        UserDto found = userService.findById(user.getId());
+
+        // Then
+        String select = SqlStatementCounter.statements("select").get(0).toLowerCase(Locale.ROOT);
+        assertFalse(select.contains("password"));
+        assertFalse(select.contains("version"));
+        assertNull(found.getPassword());
+        assertEquals("john.doe@example.com", found.getEmail());
+    }
+
+    @Test
+    void save_ShouldInsertUserAndRevision() {
+        // When
+        userService.save(newUser("new.user@example.com"));
+
+        // Then
+        // Revision number from revinfo_seq, then user, revinfo and users_aud inserts
+        SqlStatementCounter.assertStatements(1, 3, 0, 0);
+    }
+
+    @Test
+    void update_ShouldSelectOnceAndUpdate() {
+        // Given
+        User user = givenUser("john.doe@example.com");
+
+        // When
+        UserDto updated = userService.update(user.getId(), newUser("updated.user@example.com"));
+
+        // Then
+        assertEquals("updated.user@example.com", updated.getEmail());
+        // One user lookup, plus the revision number from revinfo_seq
+        SqlStatementCounter.assertStatements(2, 2, 1, 0);
+    }
+
+    @Test
+    void patch_ShouldUpdateOnlyChangedColumns() throws Exception {
+        // Given
+        User user = givenUser("john.doe@example.com");
+
+        // When
+        UserDto patched = userService.patch(user.getId(), objectMapper.readTree("{\"firstName\":\"Johnny\"}"));
+
+        // Then
+        assertEquals("Johnny", patched.getFirstName());
+        assertEquals("john.doe@example.com", patched.getEmail());
+        // One user lookup, plus the revision number from revinfo_seq
+        SqlStatementCounter.assertStatements(2, 2, 1, 0);
+        String update = SqlStatementCounter.statements("update").get(0).toLowerCase();
+        assertTrue(update.contains("first_name"), update);
+        assertFalse(update.contains("email"), update);
+        assertFalse(update.contains("password"), update);
+    }
+
+    @Test
+    void patch_WithoutChanges_ShouldNotWrite() throws Exception {
+        // Given
+        User user = givenUser("john.doe@example.com");
+
+        // When
+        userService.patch(user.getId(), objectMapper.readTree("{\"firstName\":\"John\",\"id\":42}"));
+
+        // Then
+        SqlStatementCounter.assertStatements(1, 0, 0, 0);
+        assertEquals(user.getVersion(), userRepository.findById(user.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void delete_ShouldSelectOnceAndDelete() {
+        // Given
+        User user = givenUser("john.doe@example.com");
+
+        // When
+        userService.delete(user.getId());
+
+        // Then
+        // One user lookup, plus the revision number from revinfo_seq
+        SqlStatementCounter.assertStatements(2, 2, 0, 1);
+    }
+
+    @Test
+    void findById_WithNonExistingId_ShouldUseSingleSelect() {
+        assertThrows(ResourceNotFoundException.class, () -> userService.findById(99L));
+
+        SqlStatementCounter.assertStatements(1, 0, 0, 0);
+    }
+
+    private static UserDto newUser(String email) {
+        return UserDto.builder()
+                .firstName("New")
+                .lastName("User")
+                .email(email)
+                .password("password123")
+                .build();
+    }
+}
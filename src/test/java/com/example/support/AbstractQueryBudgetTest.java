@@ -0,0 +1,64 @@
+package com.example.support;
+
+import com.example.model.entity.User;
+import com.example.repository.UserRepository;
+import com.example.service.AuditService;
+import com.example.service.HealthService;
+import com.example.service.LatencyAnalyticsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+/**
+ * Base class for integration tests asserting SQL statement budgets against H2.
+ * MongoDB backed services are mocked so only JPA statements are exercised.
+ * Subclasses share one application context.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public abstract class AbstractQueryBudgetTest {
+
+    @Autowired
+    protected UserRepository userRepository;
+
+    @MockitoBean
+    protected AuditService auditService;
+
+    @MockitoBean
+    protected LatencyAnalyticsService latencyAnalyticsService;
+
+    @MockitoBean
+    protected HealthService healthService;
+
+    @BeforeEach
+    void resetStatements() {
+        SqlStatementCounter.reset();
+    }
+
+    @AfterEach
+    void deleteUsers() {
+        userRepository.deleteAllInBatch();
+    }
+
+    /**
+     * Insert a user outside of the measured operation and reset the statement count.
+     *
+     * @param email the email of the user
+     * @return the persisted user
+     */
+    protected User givenUser(String email) {
+        User user = userRepository.saveAndFlush(User.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email(email)
+                .password("password123")
+                .build());
+        SqlStatementCounter.reset();
+        return user;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Hibernate {@link StatementInspector} that records every SQL statement prepared by the
+ * session factory, so tests can assert exact statement budgets per operation.
+ * Enabled for the {@code test} profile through
+ * {@code spring.jpa.properties.hibernate.session_factory.statement_inspector}.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+
+    /**
+     * Forget all statements recorded so far.
+     */
+    public static void reset() {
+        STATEMENTS.clear();
+    }
+
+    /**
+     * Assert the number of statements of each kind recorded since the last {@link #reset()}.
+     * The failure message lists the recorded statements.
+     *
+     * @param selects the expected number of SELECT statements
+     * @param inserts the expected number of INSERT statements
+     * @param updates the expected number of UPDATE statements
+     * @param deletes the expected number of DELETE statements
+     */
+    public static void assertStatements(int selects, int inserts, int updates, int deletes) {
+        String expected = format(selects, inserts, updates, deletes);
+        String actual = format(count("select"), count("insert"), count("update"), count("delete"));
+        assertEquals(expected, actual, () -> "Unexpected SQL statements:\n" + String.join("\n", STATEMENTS));
+        assertEquals(selects + inserts + updates + deletes, STATEMENTS.size(),
+                () -> "Unexpected SQL statements:\n" + String.join("\n", STATEMENTS));
+    }
+
+    /**
+     * Get the statements of one kind recorded since the last {@link #reset()}.
+     *
+     * @param kind the leading SQL keyword, such as {@code update}
+     * @return the matching statements in execution order
+     */
+    public static List<String> statements(String kind) {
+        return STATEMENTS.stream()
+                .filter(sql -> isKind(sql, kind))
+                .toList();
+    }
+
+    private static long count(String kind) {
+        return STATEMENTS.stream()
+                .filter(sql -> isKind(sql, kind))
+                .count();
+    }
+
+    private static boolean isKind(String sql, String kind) {
+        return sql.stripLeading().toLowerCase(Locale.ROOT).startsWith(kind);
+    }
+
+    private static String format(long selects, long inserts, long updates, long deletes) {
+        return String.format("select=%d, insert=%d, update=%d, delete=%d", selects, inserts, updates, deletes);
+    }
+}
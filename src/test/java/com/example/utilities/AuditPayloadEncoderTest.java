@@ -0,0 +1,111 @@
+package com.example.utilities;
+
+import com.example.model.dto.UserDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditPayloadEncoderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void encode_WithRedactedFields_ShouldDropThemAtAnyDepth() throws IOException {
+        // Given
+        AuditPayloadEncoder encoder = new AuditPayloadEncoder(objectMapper, List.of("password", "apiKey"), 1024);
+        Object[] args = {
+                7L,
+                objectMapper.readTree("{\"firstName\":\"Jane\",\"Password\":\"secret123\",\"nested\":{\"apikey\":\"k\"}}"),
+                Map.of("items", List.of(Map.of("password", "p", "tags", List.of()), Map.of()))
+        };
+
+        // When
+        AuditPayloadEncoder.Payload payload = encoder.encode(args);
+
+        // Then
+        assertEquals("[7,{\"firstName\":\"Jane\",\"nested\":{}},{\"items\":[{\"tags\":[]},{}]}]", payload.json());
+        assertFalse(payload.truncated());
+        assertEquals(payload.json().length(), payload.size());
+    }
+
+    @Test
+    void encode_AboveCap_ShouldKeepPrefixAndStop() throws IOException {
+        // Given
+        AuditPayloadEncoder encoder = new AuditPayloadEncoder(objectMapper, List.of("password"), 64);
+        List<UserDto> users = List.of(
+                UserDto.builder().id(1L).firstName("John").lastName("Doe").email("john.doe@example.com").build(),
+                UserDto.builder().id(2L).firstName("Jane").lastName("Smith").email("jane.smith@example.com").build());
+        String full = objectMapper.writeValueAsString(users);
+
+        // When
+        AuditPayloadEncoder.Payload payload = encoder.encode(users);
+
+        // Then
+        assertTrue(payload.truncated());
+        assertEquals(64, payload.size());
+        assertEquals(full.substring(0, 64), payload.json());
+
+        // The thread-local buffer is reused without leaking the previous payload
+        assertEquals("null", encoder.encode(null).json());
+    }
+
+    @Test
+    void encodeStructured_WithRedactedFields_ShouldConvertWithoutThem() throws IOException {
+        // Given
+        AuditPayloadEncoder encoder = new AuditPayloadEncoder(objectMapper, List.of("password"), 1024);
+        Map<String, Object> args = new LinkedHashMap<>();
+        args.put("id", 7L);
+        args.put("userDto", Map.of("email", "jane@example.com", "Password", "secret123"));
+
+        // When
+        AuditPayloadEncoder.StructuredPayload payload = encoder.encodeStructured(args);
+
+        // Then
+        Map<?, ?> data = assertInstanceOf(Map.class, payload.data());
+        assertEquals(7L, data.get("id"));
+        Map<?, ?> user = assertInstanceOf(Map.class, data.get("userDto"));
+        assertEquals("jane@example.com", user.get("email"));
+        assertFalse(user.containsKey("Password"));
+        assertFalse(payload.truncated());
+    }
+
+    @Test
+    void encodeStructured_AboveCap_ShouldCloseOpenContainers() throws IOException {
+        // Given
+        AuditPayloadEncoder encoder = new AuditPayloadEncoder(objectMapper, List.of("password"), 64);
+        List<UserDto> users = List.of(
+                UserDto.builder().id(1L).firstName("John").lastName("Doe").email("john.doe@example.com").build(),
+                UserDto.builder().id(2L).firstName("Jane").lastName("Smith").email("jane.smith@example.com").build());
+
+        // When
+        AuditPayloadEncoder.StructuredPayload payload = encoder.encodeStructured(users);
+
+        // Then
+        assertTrue(payload.truncated());
+        List<?> data = assertInstanceOf(List.class, payload.data());
+        assertEquals(1, data.size());
+        Map<?, ?> first = assertInstanceOf(Map.class, data.get(0));
+        assertEquals("john.doe@example.com", first.get("email"));
+        assertFalse(first.containsKey("createdAt"));
+    }
+
+    @Test
+    void encodeText_CuttingMultiByteCharacter_ShouldDropIncompleteCharacter() {
+        // Given
+        AuditPayloadEncoder encoder = new AuditPayloadEncoder(objectMapper, List.of(), 4);
+
+        // When
+        AuditPayloadEncoder.Payload payload = encoder.encodeText("abcéd");
+
+        // Then
+        assertTrue(payload.truncated());
+        assertEquals("abc", payload.json());
+        assertEquals(3, payload.size());
+    }
+}
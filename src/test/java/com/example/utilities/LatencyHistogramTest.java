@@ -0,0 +1,67 @@
+package com.example.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void getValueAtQuantile_ShouldBeWithinRelativeAccuracy() {
+        // Given
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 10_000; micros++) {
+            histogram.record(micros);
+        }
+
+        // When / Then
+        assertWithinAccuracy(5_000, histogram.getValueAtQuantile(0.50));
+        assertWithinAccuracy(9_900, histogram.getValueAtQuantile(0.99));
+        assertEquals(10_000, histogram.getMax());
+        assertEquals(10_000, histogram.getCount());
+    }
+
+    @Test
+    void merge_WithSparseBucketCounts_ShouldMatchMergingTheHistogram() {
+        // Given
+        LatencyHistogram minute1 = new LatencyHistogram();
+        LatencyHistogram minute2 = new LatencyHistogram();
+        for (int i = 0; i < 90; i++) {
+            minute1.record(2_000);
+        }
+        for (int i = 0; i < 10; i++) {
+            minute2.record(250_000);
+        }
+        Map<String, Long> stored = new HashMap<>();
+        minute2.forEachBucket((bucket, count) -> stored.put(String.valueOf(bucket), count));
+
+        LatencyHistogram direct = new LatencyHistogram();
+        direct.merge(minute1);
+        direct.merge(minute2);
+
+        // When
+        LatencyHistogram fromStored = new LatencyHistogram();
+        fromStored.merge(minute1);
+        fromStored.merge(stored, minute2.getCount(), minute2.getSum(), minute2.getMax());
+
+        // Then
+        assertEquals(100, fromStored.getCount());
+        assertEquals(direct.getValueAtQuantile(0.95), fromStored.getValueAtQuantile(0.95));
+        assertWithinAccuracy(2_000, fromStored.getValueAtQuantile(0.50));
+        assertWithinAccuracy(250_000, fromStored.getValueAtQuantile(0.95));
+        assertEquals(250_000, fromStored.getMax());
+    }
+
+    @Test
+    void getValueAtQuantile_WithNoValues_ShouldReturnZero() {
+        assertEquals(0, new LatencyHistogram().getValueAtQuantile(0.99));
+    }
+
+    private static void assertWithinAccuracy(long expected, long actual) {
+        assertEquals(expected, actual, expected * LatencyHistogram.RELATIVE_ACCURACY,
+                "expected " + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.utilities;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestTimingsTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestTimings.clear();
+    }
+
+    @Test
+    void current_WithoutStart_ShouldReturnNull() {
+        assertNull(RequestTimings.current());
+    }
+
+    @Test
+    void toServerTiming_ShouldReportEveryPhaseAndStatementCount() {
+        // Given
+        RequestTimings timings = RequestTimings.start();
+        timings.addStatement(1_500_000);
+        timings.addStatement(500_000);
+        timings.add(RequestTimings.Phase.MAPPING, 250_000);
+
+        // When
+        String header = RequestTimings.current().toServerTiming();
+        Map<String, Double> millis = timings.toMillis();
+
+        // Then
+        assertTrue(header.startsWith("db;dur=2.000;desc=\"2 statements\", mapping;dur=0.250, "
+                + "audit-encode;dur=0.000, audit-write;dur=0.000, total;dur="), header);
+        assertEquals(2, timings.getDbStatements());
+        assertEquals(2.0, millis.get("db"));
+        assertTrue(millis.containsKey("total"));
+    }
+
+    @Test
+    void complete_AfterBodyWrite_ShouldAddSerialization() throws InterruptedException {
+        // Given
+        RequestTimings timings = RequestTimings.start();
+        timings.markBodyWrite();
+        Thread.sleep(2);
+
+        // When
+        timings.complete();
+
+        // Then
+        assertTrue(timings.toMillis().get("serialization") >= 1.0);
+        assertTrue(timings.getNanos(RequestTimings.Phase.SERIALIZATION) >= 1_000_000);
+        assertFalse(timings.toServerTiming().contains("serialization"));
+    }
+}
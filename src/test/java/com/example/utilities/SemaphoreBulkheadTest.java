@@ -0,0 +1,89 @@
+package com.example.utilities;
+
+import com.example.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SemaphoreBulkheadTest {
+
+    @Test
+    void acquire_WithFreePermit_ShouldRunImmediately() {
+        // Given
+        SemaphoreBulkhead bulkhead = new SemaphoreBulkhead("crud", 2, 0, Duration.ZERO);
+
+        // When
+        bulkhead.acquire();
+
+        // Then
+        assertEquals(1, bulkhead.getActive());
+        bulkhead.release();
+        assertEquals(0, bulkhead.getActive());
+        assertEquals(0, bulkhead.getRejected());
+    }
+
+    @Test
+    void acquire_WithFullQueue_ShouldRejectImmediately() {
+        // Given
+        SemaphoreBulkhead bulkhead = new SemaphoreBulkhead("audit", 1, 0, Duration.ofSeconds(5));
+        bulkhead.acquire();
+
+        // When / Then
+        long start = System.nanoTime();
+        assertThrows(ServiceUnavailableException.class, bulkhead::acquire);
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        assertEquals(1, bulkhead.getRejected());
+    }
+
+    @Test
+    void acquire_WhenNoPermitIsReleasedInTime_ShouldTimeOut() {
+        // Given
+        SemaphoreBulkhead bulkhead = new SemaphoreBulkhead("health", 1, 1, Duration.ofMillis(50));
+        bulkhead.acquire();
+
+        // When / Then
+        assertThrows(ServiceUnavailableException.class, bulkhead::acquire);
+        assertEquals(0, bulkhead.getQueued());
+        assertEquals(1, bulkhead.getRejected());
+    }
+
+    @Test
+    void acquire_WhenPermitIsReleasedWhileQueued_ShouldRun() throws Exception {
+        // Given
+        SemaphoreBulkhead bulkhead = new SemaphoreBulkhead("crud", 1, 1, Duration.ofSeconds(5));
+        bulkhead.acquire();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            CountDownLatch acquired = new CountDownLatch(1);
+            Future<?> waiter = executor.submit(() -> {
+                bulkhead.acquire();
+                acquired.countDown();
+                bulkhead.release();
+            });
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (bulkhead.getQueued() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertEquals(1, bulkhead.getQueued());
+
+            // When
+            bulkhead.release();
+
+            // Then
+            assertTrue(acquired.await(5, TimeUnit.SECONDS));
+            waiter.get(5, TimeUnit.SECONDS);
+            assertEquals(0, bulkhead.getQueued());
+            assertEquals(0, bulkhead.getRejected());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
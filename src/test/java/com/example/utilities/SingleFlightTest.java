@@ -0,0 +1,151 @@
+package com.example.utilities;
+
+import com.example.exception.ResourceNotFoundException;
+import com.example.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+
+    @Test
+    void execute_WithConcurrentCallsForSameKey_ShouldRunLoaderOnce() throws Exception {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            Future<String> leader = executor.submit(() -> singleFlight.execute(1L, Duration.ofSeconds(5), () -> {
+                loads.incrementAndGet();
+                leaderStarted.countDown();
+                await(release);
+                return "user-1";
+            }));
+            assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+            Future<String> follower1 = executor.submit(() -> singleFlight.execute(1L, Duration.ofSeconds(5), () -> {
+                loads.incrementAndGet();
+                return "unexpected";
+            }));
+            Future<String> follower2 = executor.submit(() -> singleFlight.execute(1L, Duration.ofSeconds(5), () -> {
+                loads.incrementAndGet();
+                return "unexpected";
+            }));
+            waitForCoalesced(2);
+
+            // When
+            release.countDown();
+
+            // Then
+            assertEquals("user-1", leader.get(5, TimeUnit.SECONDS));
+            assertEquals("user-1", follower1.get(5, TimeUnit.SECONDS));
+            assertEquals("user-1", follower2.get(5, TimeUnit.SECONDS));
+            assertEquals(1, loads.get());
+            assertEquals(1, singleFlight.getExecutions());
+            assertEquals(2, singleFlight.getCoalesced());
+            assertEquals(0, singleFlight.getInFlight());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_WithCompletedCall_ShouldNotCacheResult() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        singleFlight.execute(1L, Duration.ofSeconds(1), () -> "user-" + loads.incrementAndGet());
+        String result = singleFlight.execute(1L, Duration.ofSeconds(1), () -> "user-" + loads.incrementAndGet());
+
+        // Then
+        assertEquals("user-2", result);
+        assertEquals(2, singleFlight.getExecutions());
+        assertEquals(0, singleFlight.getCoalesced());
+    }
+
+    @Test
+    void execute_WhenLoaderFails_ShouldPropagateSameExceptionToWaiters() throws Exception {
+        // Given
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            Future<String> leader = executor.submit(() -> singleFlight.execute(99L, Duration.ofSeconds(5), () -> {
+                leaderStarted.countDown();
+                await(release);
+                throw new ResourceNotFoundException("User not found with id: 99");
+            }));
+            assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+            Future<String> follower = executor.submit(() -> singleFlight.execute(99L, Duration.ofSeconds(5), () -> "unexpected"));
+            waitForCoalesced(1);
+
+            // When
+            release.countDown();
+
+            // Then
+            Exception leaderFailure = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+            Exception followerFailure = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(ResourceNotFoundException.class, leaderFailure.getCause());
+            assertInstanceOf(ResourceNotFoundException.class, followerFailure.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_WhenWaiterDeadlinePasses_ShouldTimeOutOnlyThatWaiter() throws Exception {
+        // Given
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<String> leader = executor.submit(() -> singleFlight.execute(1L, Duration.ofSeconds(5), () -> {
+                leaderStarted.countDown();
+                await(release);
+                return "user-1";
+            }));
+            assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+            // When & Then
+            assertThrows(ServiceUnavailableException.class,
+                    () -> singleFlight.execute(1L, Duration.ofMillis(20), () -> "unexpected"));
+            assertEquals(1, singleFlight.getTimeouts());
+
+            release.countDown();
+            assertEquals("user-1", leader.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void waitForCoalesced(long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (singleFlight.getCoalesced() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, singleFlight.getCoalesced());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
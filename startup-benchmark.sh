@@ -0,0 +1,74 @@
+#!/usr/bin/env bash
+# Compares startup time and first request latency of the plain jar, the AOT + CDS build
+# and (when present) the GraalVM native image.
+#
+# Build the artifacts first:
+#   mvn -Pcds package                 -> target/*.jar and target/cds/
+#   mvn -Pnative native:compile       -> target/spring-boot-rest-api-template (optional)
+#
+# PostgreSQL and MongoDB must be reachable with the settings in application.properties.
+# Usage: ./startup-benchmark.sh [runs]
+
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${PORT:-8080}"
+URL="http://localhost:${PORT}/api/v1/health"
+NAME="spring-boot-rest-api-template-0.0.1-SNAPSHOT"
+JAR="target/${NAME}.jar"
+CDS_JAR="target/cds/${NAME}.jar"
+CDS_ARCHIVE="target/cds/application.jsa"
+NATIVE="target/spring-boot-rest-api-template"
+
+now_ms() {
+    date +%s%3N
+}
+
+# Starts the command, waits for the first successful response and prints
+# "<ms until first response> <ms of the first request>".
+measure() {
+    local start pid ready first
+    start=$(now_ms)
+    "$@" --server.port="${PORT}" > /dev/null 2>&1 &
+    pid=$!
+    until curl -s -o /dev/null "${URL}" 2> /dev/null; do
+        if ! kill -0 "${pid}" 2> /dev/null; then
+            echo "Application exited before accepting requests" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    ready=$(( $(now_ms) - start ))
+    first=$(curl -s -o /dev/null -w '%{time_total}' "http://localhost:${PORT}/api/v1/users")
+    kill "${pid}"
+    wait "${pid}" 2> /dev/null || true
+    echo "${ready} $(awk -v t="${first}" 'BEGIN { printf "%.0f", t * 1000 }')"
+}
+
+report() {
+    local label=$1
+    shift
+    local total_ready=0 total_first=0 result
+    for _ in $(seq "${RUNS}"); do
+        result=$(measure "$@")
+        total_ready=$(( total_ready + ${result% *} ))
+        total_first=$(( total_first + ${result#* } ))
+    done
+    printf "%-12s startup %6d ms   first /users request %5d ms\n" \
+        "${label}" $(( total_ready / RUNS )) $(( total_first / RUNS ))
+}
+
+echo "Average over ${RUNS} runs"
+report "jar" java -jar "${JAR}"
+
+if [[ -f "${CDS_ARCHIVE}" ]]; then
+    report "aot+cds" java -XX:SharedArchiveFile="${CDS_ARCHIVE}" -Dspring.aot.enabled=true -jar "${CDS_JAR}"
+else
+    echo "Skipping aot+cds: ${CDS_ARCHIVE} not found (run mvn -Pcds package)"
+fi
+
+if [[ -x "${NATIVE}" ]]; then
+    report "native" "${NATIVE}"
+else
+    echo "Skipping native: ${NATIVE} not found (run mvn -Pnative native:compile)"
+fi